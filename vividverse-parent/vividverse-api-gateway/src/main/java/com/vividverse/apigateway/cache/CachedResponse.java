@@ -0,0 +1,10 @@
+package com.vividverse.apigateway.cache;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+// A stored upstream response: status, the end-to-end headers worth replaying, body bytes and its strong ETag
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, Duration timeToLive) {
+}
@@ -0,0 +1,125 @@
+package com.vividverse.apigateway.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Shared store behind the ResponseCache route filter. Caffeine bounds it by the total
+ * size of the stored bodies (W-TinyLFU) and expires each entry after the TTL of the
+ * route that stored it. Writes through the gateway evict by path; a generation counter
+ * keeps a GET that was in flight during a write from storing what it read before the write.
+ * Hit/miss counters are published as "cache.*" metrics, plus the hit ratio and bytes held.
+ */
+@Component
+public class ResponseCache {
+
+    // Rough per-entry bookkeeping on top of the body, so tiny responses still count
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    /**
+     * Identifies a cached GET: the route plus the raw path and query
+     */
+    public record Key(String routeId, String path, String query) {
+    }
+
+    private final Cache<Key, CachedResponse> responses;
+    private final long maxEntryBytes;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(@Value("${vividverse.gateway.cache.max-size:32MB}") DataSize maxSize,
+                         @Value("${vividverse.gateway.cache.max-entry-size:512KB}") DataSize maxEntrySize,
+                         MeterRegistry meterRegistry) {
+        this.responses = Caffeine.newBuilder()
+                                 .maximumWeight(maxSize.toBytes())
+                                 .weigher((Key key, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD_BYTES)
+                                 .expireAfter(new Expiry<Key, CachedResponse>() {
+                                     @Override
+                                     public long expireAfterCreate(Key key, CachedResponse response, long currentTime) {
+                                         return response.timeToLive().toNanos();
+                                     }
+
+                                     @Override
+                                     public long expireAfterUpdate(Key key, CachedResponse response, long currentTime, long currentDuration) {
+                                         return response.timeToLive().toNanos();
+                                     }
+
+                                     @Override
+                                     public long expireAfterRead(Key key, CachedResponse response, long currentTime, long currentDuration) {
+                                         return currentDuration;
+                                     }
+                                 })
+                                 .recordStats()
+                                 .build();
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gatewayResponses");
+        Gauge.builder("gateway.cache.hit.ratio", responses, cache -> cache.stats().hitRate())
+             .description("Share of cacheable GETs answered from the gateway response cache")
+             .register(meterRegistry);
+        Gauge.builder("gateway.cache.bytes", responses, ResponseCache::weightedSize)
+             .description("Bytes held by the gateway response cache, including per-entry overhead")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+    }
+
+    private static double weightedSize(Cache<Key, CachedResponse> cache) {
+        cache.cleanUp(); // Apply pending writes and evictions so the reading is current
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    public CachedResponse get(Key key) {
+        return responses.getIfPresent(key);
+    }
+
+    /**
+     * @return a token to pass to put; taken before a GET is forwarded
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return whether a body of this size may be stored at all
+     */
+    public boolean fits(long bodyBytes) {
+        return bodyBytes <= maxEntryBytes;
+    }
+
+    /**
+     * Stores a response unless a write was seen since the GET that produced it was forwarded
+     * @param generation the value of generation() when the GET was forwarded
+     */
+    public void put(Key key, CachedResponse response, long generation) {
+        if (generation != this.generation.get() || !fits(response.body().length)) {
+            return;
+        }
+        responses.put(key, response);
+        // An eviction may have run between the check and the put
+        if (generation != this.generation.get()) {
+            responses.invalidate(key);
+        }
+    }
+
+    /**
+     * Drops every entry of the route for the written path and for its parent collection,
+     * e.g. /posts/{id} and /posts, whatever their query strings
+     */
+    public void evict(String routeId, String path) {
+        generation.incrementAndGet();
+        int slash = path.lastIndexOf('/');
+        String parent = slash > 0 ? path.substring(0, slash) : null;
+        responses.asMap().keySet().removeIf(key -> key.routeId().equals(routeId)
+            && (key.path().equals(path) || key.path().equals(parent)));
+    }
+}
@@ -0,0 +1,12 @@
+package com.vividverse.apigateway.config;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+import com.vividverse.apigateway.loadbalancer.LeastOutstandingLoadBalancerConfiguration;
+
+// Every lb:// route is balanced by least outstanding requests over health-checked instances
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LeastOutstandingLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
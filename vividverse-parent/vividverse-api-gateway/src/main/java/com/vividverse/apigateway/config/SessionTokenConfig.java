@@ -0,0 +1,25 @@
+package com.vividverse.apigateway.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.vividverse.apigateway.security.SessionTokenVerifier;
+import com.vividverse.common.security.SessionKeyFile;
+
+@Configuration
+public class SessionTokenConfig {
+
+    @Bean
+    SessionTokenVerifier sessionTokenVerifier(
+            @Value("${vividverse.auth.token-key-file:${user.home}/.vividverse/session-token.key}") Path keyFile,
+            @Value("${vividverse.auth.create-missing-key:false}") boolean createMissingKey)
+            throws IOException {
+        // Same key file as user-service, which signs the tokens
+        return new SessionTokenVerifier(SessionKeyFile.loadOrCreate(keyFile, createMissingKey), Clock.systemUTC());
+    }
+}
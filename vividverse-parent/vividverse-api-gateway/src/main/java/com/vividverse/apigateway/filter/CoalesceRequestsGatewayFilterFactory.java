@@ -0,0 +1,231 @@
+package com.vividverse.apigateway.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Route filter that collapses identical in-flight GET/HEAD requests into one upstream call
+ * ("single flight"): "filters[1]=CoalesceRequests=Accept" makes requests with the same
+ * method, path, query and Accept header wait for the first one, and all of them receive its
+ * status, headers and body. The first request is forwarded as usual; the shared result is
+ * buffered only up to vividverse.gateway.coalesce.max-body-size. If the first request fails,
+ * is cancelled or its response cannot be shared (Set-Cookie, too large), the waiters are
+ * forwarded individually. Like the response cache, it must only be used on routes whose
+ * answer does not depend on who asks, unless the identity header is listed as a vary header.
+ */
+@Component
+public class CoalesceRequestsGatewayFilterFactory extends AbstractGatewayFilterFactory<CoalesceRequestsGatewayFilterFactory.Config> {
+
+    public static final String COALESCED_HEADER = "X-Coalesced";
+
+    // Per-exchange headers that must not be copied from the first request's response
+    private static final List<String> UNSHARED_HEADERS = List.of(
+        HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, "Keep-Alive",
+        HttpHeaders.VARY, HttpHeaders.ETAG, ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER);
+
+    /**
+     * Identifies requests that may share one upstream call
+     */
+    record Key(String routeId, HttpMethod method, String path, String query, List<List<String>> varyValues) {
+    }
+
+    record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private final Map<Key, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long maxBodyBytes;
+    private final Counter leaders;
+    private final Counter followers;
+
+    public CoalesceRequestsGatewayFilterFactory(@Value("${vividverse.gateway.coalesce.max-body-size:1MB}") DataSize maxBodySize,
+                                                MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.maxBodyBytes = maxBodySize.toBytes();
+        this.leaders = Counter.builder("gateway.coalesce.requests")
+                              .description("Coalescable requests forwarded upstream")
+                              .tag("role", "leader")
+                              .register(meterRegistry);
+        this.followers = Counter.builder("gateway.coalesce.requests")
+                                .description("Requests answered with the response of an identical in-flight request")
+                                .tag("role", "follower")
+                                .register(meterRegistry);
+        Gauge.builder("gateway.coalesce.in.flight", inFlight, Map::size)
+             .description("Distinct requests currently awaiting an upstream response")
+             .register(meterRegistry);
+    }
+
+    @Override
+    public ShortcutType shortcutType() {
+        return ShortcutType.GATHER_LIST;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("varyHeaders");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Ahead of NettyWriteResponseFilter, so the body it writes goes through the sharing decorator
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            HttpMethod method = request.getMethod();
+            if (!(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)) || isStreaming(request)) {
+                return chain.filter(exchange);
+            }
+
+            Key key = key(exchange, config);
+            Sinks.One<SharedResponse> flight = Sinks.one();
+            Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                // Wait for the first request; go upstream alone if it ends without a shareable response
+                return existing.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isEmpty()) {
+                            return chain.filter(exchange);
+                        }
+                        followers.increment();
+                        return write(exchange.getResponse(), shared.get());
+                    });
+            }
+
+            leaders.increment();
+            SharingResponse response = new SharingResponse(exchange.getResponse(), key, flight);
+            return chain.filter(exchange.mutate().response(response).build())
+                        .doFinally(signal -> response.release());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private static Key key(ServerWebExchange exchange, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        List<List<String>> varyValues = new ArrayList<>(config.getVaryHeaders().size());
+        for (String header : config.getVaryHeaders()) {
+            List<String> values = request.getHeaders().get(header);
+            varyValues.add(values == null ? List.of() : List.copyOf(values));
+        }
+        String query = request.getURI().getRawQuery();
+        return new Key(route == null ? "" : route.getId(), request.getMethod(), request.getURI().getRawPath(),
+                       query == null ? "" : query, varyValues);
+    }
+
+    // Streamed responses (SSE, NDJSON) are not buffered for sharing, nor counted by UpstreamTrackingFilter
+    static boolean isStreaming(ServerHttpRequest request) {
+        for (MediaType accepted : request.getHeaders().getAccept()) {
+            if (MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(accepted)
+                    || MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(accepted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * Captures the first request's response and hands it to the waiting requests while writing it on
+     */
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final Key key;
+        private final Sinks.One<SharedResponse> flight;
+
+        SharingResponse(ServerHttpResponse delegate, Key key, Sinks.One<SharedResponse> flight) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            long contentLength = headers.getContentLength();
+            if (headers.containsKey(HttpHeaders.SET_COOKIE) || contentLength > maxBodyBytes) {
+                release();
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body)
+                .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                .flatMap(joined -> {
+                    if (joined.readableByteCount() > maxBodyBytes) {
+                        release();
+                        return super.writeWith(Mono.just(joined));
+                    }
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    HttpHeaders shared = new HttpHeaders();
+                    headers.forEach((name, values) -> {
+                        if (UNSHARED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)
+                                && !name.toLowerCase(Locale.ROOT).startsWith("access-control-")) {
+                            shared.put(name, List.copyOf(values));
+                        }
+                    });
+                    inFlight.remove(key, flight);
+                    flight.tryEmitValue(new SharedResponse(getStatusCode(), HttpHeaders.readOnlyHttpHeaders(shared), bytes));
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+        }
+
+        // Lets the waiters go upstream themselves; no-op once the response was shared
+        void release() {
+            inFlight.remove(key, flight);
+            flight.tryEmitEmpty();
+        }
+    }
+
+    public static class Config {
+
+        // Request headers whose values must also match for two requests to share a response
+        private List<String> varyHeaders = List.of(HttpHeaders.ACCEPT);
+
+        public List<String> getVaryHeaders() {
+            return varyHeaders;
+        }
+
+        public void setVaryHeaders(List<String> varyHeaders) {
+            this.varyHeaders = varyHeaders;
+        }
+    }
+}
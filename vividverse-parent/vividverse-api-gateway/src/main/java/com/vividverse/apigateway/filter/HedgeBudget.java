@@ -0,0 +1,50 @@
+package com.vividverse.apigateway.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedges at a share of a route's requests: every hedgeable request adds a fraction of a
+ * token, up to a small burst, and every hedge spends a whole one. When an upstream slows down
+ * for everybody, hedging stops at that share instead of doubling the load on it.
+ */
+final class HedgeBudget {
+
+    private static final long TOKEN = 1_000;
+
+    private final AtomicLong balance;
+    private final long deposit;
+    private final long capacity;
+
+    /**
+     * @param percent hedges allowed per 100 hedgeable requests
+     * @param burst hedges allowed at once after a quiet period; the budget starts full
+     */
+    HedgeBudget(double percent, int burst) {
+        if (!(percent >= 0 && percent <= 100) || burst < 1) {
+            throw new IllegalArgumentException("Invalid hedge budget configuration");
+        }
+        this.deposit = Math.round(percent / 100 * TOKEN);
+        this.capacity = burst * TOKEN;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    void deposit() {
+        if (balance.get() < capacity) {
+            balance.getAndUpdate(current -> Math.min(capacity, current + deposit));
+        }
+    }
+
+    /**
+     * @return whether a hedge may be sent; spends a token if so
+     */
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
@@ -0,0 +1,304 @@
+package com.vividverse.apigateway.filter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+/**
+ * Route filter that hedges slow GET/HEAD requests: "filters[n]=Hedge=95,20ms" sends a second,
+ * identical request once the first has taken longer than the route's recent p95 (but at least
+ * 20ms), and answers with whichever gets its response headers first; the other is cancelled.
+ * Until enough latencies were seen, requests are not hedged. The percentile is taken over the
+ * first attempts only, timed from the start of the request whether they won or not, so fast
+ * hedges do not drag down the delay. Hedges are limited to a budget, by default 10% of
+ * hedgeable requests with bursts of 10 ("Hedge=95,20ms,10"). Each attempt runs the rest of the
+ * chain on its own copy of the exchange attributes and response headers, and only the winner's
+ * are copied back, so the body is streamed by NettyWriteResponseFilter as usual. It must
+ * therefore come after that filter, i.e. use the default position-based order, and should be
+ * listed after CircuitBreaker and Retry so they see one outcome per hedged request.
+ */
+@Component
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public HedgeGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("percentile", "minDelay", "budget");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        LatencyWindow window = new LatencyWindow(config.getPercentile(), config.getMinSamples());
+        HedgeBudget budget = new HedgeBudget(config.getBudget(), config.getBudgetBurst());
+        long minDelayNanos = config.getMinDelay().toNanos();
+        String route = config.getRouteId() == null ? "" : config.getRouteId();
+        TimeGauge.builder("gateway.hedge.delay", window, TimeUnit.NANOSECONDS, w -> Math.max(0, w.percentileNanos()))
+                 .description("Latency after which a second request is sent")
+                 .tag("route", route)
+                 .register(meterRegistry);
+        Counter unhedged = outcomeCounter(route, "unhedged");
+        Counter primaryWon = outcomeCounter(route, "primary");
+        Counter hedgeWon = outcomeCounter(route, "hedge");
+        Counter throttled = Counter.builder("gateway.hedge.throttled")
+                                   .description("Hedges not sent because the route's hedge budget was spent")
+                                   .tag("route", route)
+                                   .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+                return chain.filter(exchange);
+            }
+            budget.deposit();
+            long percentile = window.percentileNanos();
+            if (percentile < 0) {
+                long start = System.nanoTime();
+                return chain.filter(exchange).doOnSuccess(done -> {
+                    window.record(System.nanoTime() - start);
+                    unhedged.increment();
+                });
+            }
+            Duration delay = Duration.ofNanos(Math.max(percentile, minDelayNanos));
+            AtomicBoolean hedged = new AtomicBoolean();
+            return race(exchange, chain, delay, hedged, window, () -> {
+                    if (budget.tryWithdraw()) {
+                        return true;
+                    }
+                    throttled.increment();
+                    return false;
+                })
+                .doOnNext(winner -> {
+                    winner.adoptInto(exchange);
+                    (!hedged.get() ? unhedged : winner.hedge ? hedgeWon : primaryWon).increment();
+                })
+                .then();
+        };
+    }
+
+    /**
+     * Emits the first attempt to get a response; fails only once every started attempt failed
+     */
+    private Mono<Attempt> race(ServerWebExchange exchange, GatewayFilterChain chain, Duration delay,
+                               AtomicBoolean hedged, LatencyWindow window, BooleanSupplier mayHedge) {
+        AtomicReference<Attempt> winner = new AtomicReference<>();
+        AtomicInteger running = new AtomicInteger();
+        long start = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable recordPrimary = () -> {
+            if (recorded.compareAndSet(false, true)) {
+                window.record(System.nanoTime() - start);
+            }
+        };
+        Mono<Attempt> primary = attempt(new Attempt(exchange, false), chain, winner, running, recordPrimary)
+            // Cancelled because the hedge answered first: the time so far is a lower bound of its latency
+            .doOnCancel(() -> {
+                if (winner.get() != null) {
+                    recordPrimary.run();
+                }
+            });
+        Mono<Attempt> hedge = Mono.delay(delay)
+            .then(Mono.defer(() -> {
+                if (!mayHedge.getAsBoolean()) {
+                    return Mono.<Attempt>never();
+                }
+                hedged.set(true);
+                return attempt(new Attempt(exchange, true), chain, winner, running, () -> { });
+            }));
+        return Mono.firstWithSignal(primary, hedge);
+    }
+
+    private Mono<Attempt> attempt(Attempt attempt, GatewayFilterChain chain, AtomicReference<Attempt> winner,
+                                  AtomicInteger running, Runnable onResponse) {
+        return Mono.defer(() -> {
+            running.incrementAndGet();
+            return chain.filter(attempt)
+                .doOnSuccess(done -> onResponse.run())
+                .then(Mono.fromSupplier(() -> attempt))
+                .flatMap(done -> {
+                    if (!winner.compareAndSet(null, done)) {
+                        // Lost a photo finish: the response arrived but will never be read
+                        done.release();
+                        return Mono.<Attempt>never();
+                    }
+                    return Mono.just(done);
+                })
+                // Defer to the other attempt while it is still running; the last failure is reported
+                .onErrorResume(error -> running.decrementAndGet() > 0 ? Mono.never() : Mono.error(error));
+        });
+    }
+
+    private Counter outcomeCounter(String route, String outcome) {
+        return Counter.builder("gateway.hedge.requests")
+                      .description("Hedgeable requests by which attempt answered")
+                      .tag("route", route)
+                      .tag("outcome", outcome)
+                      .register(meterRegistry);
+    }
+
+    /**
+     * One upstream attempt: shares the request, but has its own attributes, status and response
+     * headers so that concurrent attempts do not see each other's routing state
+     */
+    static final class Attempt extends ServerWebExchangeDecorator {
+
+        private final boolean hedge;
+        private final Map<String, Object> attributes;
+        private final AttemptResponse response;
+
+        Attempt(ServerWebExchange exchange, boolean hedge) {
+            super(exchange);
+            this.hedge = hedge;
+            this.attributes = new ConcurrentHashMap<>(exchange.getAttributes());
+            this.response = new AttemptResponse(exchange.getResponse());
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public ServerHttpResponse getResponse() {
+            return response;
+        }
+
+        void adoptInto(ServerWebExchange exchange) {
+            exchange.getAttributes().putAll(attributes);
+            ServerHttpResponse target = exchange.getResponse();
+            if (response.status != null) {
+                target.setStatusCode(response.status);
+            }
+            target.getHeaders().addAll(response.headers);
+        }
+
+        void release() {
+            if (attributes.get(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR) instanceof Connection connection) {
+                connection.dispose();
+            }
+        }
+    }
+
+    private static final class AttemptResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private volatile HttpStatusCode status;
+
+        AttemptResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public boolean setRawStatusCode(Integer value) {
+            return setStatusCode(value == null ? null : HttpStatusCode.valueOf(value));
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    public static class Config implements HasRouteId {
+
+        private double percentile = 95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private int minSamples = 100;
+        private double budget = 10;
+        private int budgetBurst = 10;
+        private String routeId;
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public double getBudget() {
+            return budget;
+        }
+
+        public void setBudget(double budget) {
+            this.budget = budget;
+        }
+
+        public int getBudgetBurst() {
+            return budgetBurst;
+        }
+
+        public void setBudgetBurst(int budgetBurst) {
+            this.budgetBurst = budgetBurst;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
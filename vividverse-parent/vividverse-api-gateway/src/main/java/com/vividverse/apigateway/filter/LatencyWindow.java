@@ -0,0 +1,58 @@
+package com.vividverse.apigateway.filter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The most recent latencies of one route in a fixed ring. The percentile is recomputed
+ * every few samples by the recording thread, so reading it costs one volatile load.
+ */
+final class LatencyWindow {
+
+    static final int SIZE = 1024;
+    private static final int REFRESH_EVERY = 32;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong recorded = new AtomicLong();
+    private final double quantile;
+    private final int minSamples;
+    private volatile long percentileNanos = -1;
+
+    /**
+     * @param percentile e.g. 95 for the p95
+     * @param minSamples samples needed before a percentile is reported
+     */
+    LatencyWindow(double percentile, int minSamples) {
+        if (!(percentile > 0 && percentile <= 100) || minSamples < 1) {
+            throw new IllegalArgumentException("Invalid latency window configuration");
+        }
+        this.quantile = percentile / 100;
+        this.minSamples = minSamples;
+    }
+
+    void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % SIZE), nanos);
+        long count = index + 1;
+        if (count >= minSamples && (count % REFRESH_EVERY == 0 || count == minSamples)) {
+            refresh((int) Math.min(count, SIZE));
+        }
+    }
+
+    /**
+     * @return the configured percentile of the recent latencies, or -1 until minSamples were recorded
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void refresh(int size) {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        percentileNanos = copy[Math.max(0, (int) Math.ceil(quantile * size) - 1)];
+    }
+}
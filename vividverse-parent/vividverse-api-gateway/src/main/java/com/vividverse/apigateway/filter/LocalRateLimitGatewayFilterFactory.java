@@ -0,0 +1,128 @@
+package com.vividverse.apigateway.filter;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+
+import com.vividverse.apigateway.security.TokenBucketLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Route filter that rate-limits each client with an in-memory token bucket:
+ * "filters[0]=LocalRateLimit=20,40" refills 20 tokens per second up to a burst of 40.
+ * Clients are keyed by the verified X-User-Id when SessionTokenFilter set one, otherwise
+ * by remote address; each route has its own buckets. Rejected requests get 429 with
+ * Retry-After, and every answer carries X-RateLimit-Remaining.
+ */
+@Component
+public class LocalRateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<LocalRateLimitGatewayFilterFactory.Config> {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    // Right after SessionTokenFilter has verified the identity, ahead of caching and routing
+    public static final int ORDER = SessionTokenFilter.ORDER + 1;
+
+    private final long maxKeys;
+    private final MeterRegistry meterRegistry;
+
+    public LocalRateLimitGatewayFilterFactory(@Value("${vividverse.gateway.rate-limit.max-keys:100000}") long maxKeys,
+                                              MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.maxKeys = maxKeys;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("replenishRate", "burstCapacity");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(config.getReplenishRate(), config.getBurstCapacity(), maxKeys);
+        String route = config.getRouteId() == null ? "" : config.getRouteId();
+        Counter allowed = Counter.builder("gateway.ratelimit.requests")
+                                 .description("Requests checked by the local rate limiter")
+                                 .tag("route", route)
+                                 .tag("result", "allowed")
+                                 .register(meterRegistry);
+        Counter rejected = Counter.builder("gateway.ratelimit.requests")
+                                  .description("Requests checked by the local rate limiter")
+                                  .tag("route", route)
+                                  .tag("result", "rejected")
+                                  .register(meterRegistry);
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            TokenBucketLimiter.Decision decision = limiter.tryAcquire(clientKey(exchange.getRequest()));
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().set(REMAINING_HEADER, Long.toString(decision.remaining()));
+            if (decision.allowed()) {
+                allowed.increment();
+                return chain.filter(exchange);
+            }
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return response.setComplete();
+        }, ORDER);
+    }
+
+    // Identity headers from clients are stripped by SessionTokenFilter, so X-User-Id is always verified here
+    static String clientKey(ServerHttpRequest request) {
+        String userId = request.getHeaders().getFirst(SessionTokenFilter.USER_ID_HEADER);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return "ip:unknown";
+        }
+        return remote.getAddress() == null ? "ip:" + remote.getHostString() : "ip:" + remote.getAddress().getHostAddress();
+    }
+
+    public static class Config implements HasRouteId {
+
+        private double replenishRate = 10;
+        private int burstCapacity = 20;
+        private String routeId;
+
+        public double getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(double replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.vividverse.apigateway.filter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.vividverse.apigateway.cache.CachedResponse;
+import com.vividverse.apigateway.cache.ResponseCache;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Route filter that answers repeated GETs from the shared {@link ResponseCache}:
+ * "filters[0]=ResponseCache=5s" caches the route's 200 responses for five seconds.
+ * Responses carry a strong ETag over the exact body bytes, and a matching If-None-Match
+ * gets 304 whether the entry was cached or just fetched. PUT, PATCH, POST and DELETE
+ * through the route evict the written path and its parent collection before and after
+ * they are forwarded. The responses are shared by every caller of the route, so it
+ * must only be used where the upstream answer does not depend on who asks.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // End-to-end headers replayed from a cached response; CORS and hop-by-hop headers belong to each exchange
+    private static final List<String> REPLAYED_HEADERS = List.of(
+        HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CACHE_CONTROL,
+        HttpHeaders.LAST_MODIFIED, HttpHeaders.EXPIRES);
+
+    private final ResponseCache cache;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Ahead of NettyWriteResponseFilter, so the body it writes goes through the caching decorator
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "" : route.getId();
+            String path = request.getURI().getRawPath();
+            HttpMethod method = request.getMethod();
+
+            if (HttpMethod.GET.equals(method)) {
+                String query = request.getURI().getRawQuery();
+                ResponseCache.Key key = new ResponseCache.Key(routeId, path, query == null ? "" : query);
+                String requestCacheControl = request.getHeaders().getCacheControl();
+                // "Cache-Control: no-cache" from the client (e.g. a hard reload) skips the lookup but still refreshes the entry
+                if (requestCacheControl == null || !requestCacheControl.contains("no-cache")) {
+                    CachedResponse cached = cache.get(key);
+                    if (cached != null) {
+                        return writeCached(exchange, cached);
+                    }
+                }
+                CachingResponse response = new CachingResponse(exchange, key, config.getTimeToLive(), cache.generation());
+                return chain.filter(exchange.mutate().response(response).build());
+            }
+            if (HttpMethod.PUT.equals(method) || HttpMethod.PATCH.equals(method)
+                    || HttpMethod.POST.equals(method) || HttpMethod.DELETE.equals(method)) {
+                cache.evict(routeId, path);
+                // Again once the write is done: a GET forwarded meanwhile may have read the old row
+                return chain.filter(exchange).doFinally(signal -> cache.evict(routeId, path));
+            }
+            return chain.filter(exchange);
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private static Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.setETag(cached.etag());
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        if (matches(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    // If-None-Match uses the weak comparison: W/"x" matches "x"
+    static boolean matches(ServerHttpRequest request, String etag) {
+        List<String> candidates;
+        try {
+            candidates = request.getHeaders().getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return false; // Malformed header: just send the full response
+        }
+        for (String candidate : candidates) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(tag) || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    private static boolean storable(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != HttpStatus.OK.value()
+                || headers.containsKey(HttpHeaders.SET_COOKIE) || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    /**
+     * Buffers a cacheable upstream body, stores it, and writes it on with its ETag (or a 304)
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final ResponseCache.Key key;
+        private final Duration timeToLive;
+        private final long generation;
+
+        CachingResponse(ServerWebExchange exchange, ResponseCache.Key key, Duration timeToLive, long generation) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.timeToLive = timeToLive;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            long contentLength = headers.getContentLength();
+            if (!storable(status, headers) || (contentLength >= 0 && !cache.fits(contentLength))) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body)
+                .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                .flatMap(joined -> {
+                    if (!cache.fits(joined.readableByteCount())) {
+                        return super.writeWith(Mono.just(joined));
+                    }
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    String etag = etag(bytes);
+                    HttpHeaders replayed = new HttpHeaders();
+                    REPLAYED_HEADERS.forEach(name -> {
+                        List<String> values = headers.get(name);
+                        if (values != null) {
+                            replayed.put(name, List.copyOf(values));
+                        }
+                    });
+                    cache.put(key, new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(replayed), bytes, etag, timeToLive), generation);
+
+                    headers.setETag(etag);
+                    headers.set(CACHE_STATUS_HEADER, "MISS");
+                    if (matches(exchange.getRequest(), etag)) {
+                        setStatusCode(HttpStatus.NOT_MODIFIED);
+                        headers.remove(HttpHeaders.CONTENT_LENGTH);
+                        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                        return setComplete();
+                    }
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+        }
+    }
+
+    public static class Config {
+
+        private Duration timeToLive = Duration.ofSeconds(5);
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.vividverse.apigateway.filter;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.vividverse.apigateway.loadbalancer.UpstreamInstances;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts each load-balanced request against the instance it was sent to, from routing until
+ * the response headers arrive, and records whether it failed (error, timeout or 5xx). Runs
+ * right after the load balancer picked the instance. Cancelled requests, such as the losing
+ * attempt of a hedged request, are released without counting as failures. Streaming requests
+ * (SSE, NDJSON) are not counted: an SSE upstream sends its headers with the first event, which
+ * may be many minutes away, so each open stream would make its instance look busy for as long
+ * as the client listens.
+ */
+@Component
+public class UpstreamTrackingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    private final UpstreamInstances upstreams;
+
+    public UpstreamTrackingFilter(UpstreamInstances upstreams) {
+        this.upstreams = upstreams;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer() || CoalesceRequestsGatewayFilterFactory.isStreaming(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+        UpstreamInstances.InstanceState instance = upstreams.state(chosen.getServer());
+        instance.start();
+        return chain.filter(exchange)
+            .doFinally(signal -> instance.finish(switch (signal) {
+                case ON_COMPLETE -> isServerError(exchange.getResponse().getStatusCode())
+                    ? UpstreamInstances.Outcome.FAILURE
+                    : UpstreamInstances.Outcome.SUCCESS;
+                case ON_ERROR -> UpstreamInstances.Outcome.FAILURE;
+                default -> UpstreamInstances.Outcome.CANCELLED;
+            }));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private static boolean isServerError(HttpStatusCode status) {
+        return status != null && status.is5xxServerError();
+    }
+}
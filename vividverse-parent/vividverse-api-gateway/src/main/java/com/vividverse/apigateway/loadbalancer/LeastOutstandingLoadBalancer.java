@@ -0,0 +1,58 @@
+package com.vividverse.apigateway.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Picks two random instances of a service and sends the request to the one with fewer
+ * requests in flight ("power of two choices"). That steers traffic away from slow or stuck
+ * instances, whose requests pile up, without the herding of always picking the global
+ * minimum. Instances come from the health-checked instance list, minus ejected outliers.
+ */
+public class LeastOutstandingLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> instanceSuppliers;
+    private final UpstreamInstances upstreams;
+
+    public LeastOutstandingLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> instanceSuppliers, UpstreamInstances upstreams) {
+        this.instanceSuppliers = instanceSuppliers;
+        this.upstreams = upstreams;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = instanceSuppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        List<ServiceInstance> eligible = upstreams.eligible(instances);
+        if (eligible.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (eligible.size() == 1) {
+            return new DefaultResponse(eligible.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(eligible.size());
+        int second = random.nextInt(eligible.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = eligible.get(first);
+        ServiceInstance b = eligible.get(second);
+        return new DefaultResponse(upstreams.state(a).inFlight() <= upstreams.state(b).inFlight() ? a : b);
+    }
+}
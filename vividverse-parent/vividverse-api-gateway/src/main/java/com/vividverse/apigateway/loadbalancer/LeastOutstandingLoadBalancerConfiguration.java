@@ -0,0 +1,34 @@
+package com.vividverse.apigateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer beans, created in each service's own child context (hence no
+ * {@code @Configuration}, which would put them in the main context). Instances come from
+ * discovery, i.e. spring.cloud.discovery.client.simple.instances, and are actively health
+ * checked with spring.cloud.loadbalancer.health-check.* settings.
+ */
+public class LeastOutstandingLoadBalancerConfiguration {
+
+    @Bean
+    ServiceInstanceListSupplier healthCheckedInstances(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                                         .withDiscoveryClient()
+                                         .withHealthChecks()
+                                         .build(context);
+    }
+
+    @Bean
+    ReactorLoadBalancer<ServiceInstance> leastOutstandingLoadBalancer(Environment environment,
+                                                                      LoadBalancerClientFactory clientFactory,
+                                                                      UpstreamInstances upstreams) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastOutstandingLoadBalancer(clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), upstreams);
+    }
+}
@@ -0,0 +1,144 @@
+package com.vividverse.apigateway.loadbalancer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Load and passive health of every upstream instance as seen by this gateway. Requests in
+ * flight let the balancer pick the less busy of two instances; after a run of consecutive
+ * failures (errors, timeouts or 5xx) an instance is ejected for a while, longer each time it
+ * is ejected again before a success. If more than max-percent of a service's instances are
+ * ejected, ejection is ignored for that service rather than piling all traffic on the rest.
+ * Active health checks are done separately, by the load balancer's instance list.
+ */
+@Component
+public class UpstreamInstances {
+
+    public enum Outcome { SUCCESS, FAILURE, CANCELLED }
+
+    private final Map<String, InstanceState> states = new ConcurrentHashMap<>();
+    private final int consecutiveFailures;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectionPercent;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public UpstreamInstances(@Value("${vividverse.gateway.lb.ejection.consecutive-failures:5}") int consecutiveFailures,
+                             @Value("${vividverse.gateway.lb.ejection.base-time:30s}") Duration baseEjectionTime,
+                             @Value("${vividverse.gateway.lb.ejection.max-time:5m}") Duration maxEjectionTime,
+                             @Value("${vividverse.gateway.lb.ejection.max-percent:50}") int maxEjectionPercent,
+                             MeterRegistry meterRegistry) {
+        this(consecutiveFailures, baseEjectionTime, maxEjectionTime, maxEjectionPercent, meterRegistry, System::nanoTime);
+    }
+
+    UpstreamInstances(int consecutiveFailures, Duration baseEjectionTime, Duration maxEjectionTime, int maxEjectionPercent,
+                      MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.consecutiveFailures = consecutiveFailures;
+        this.baseEjectionNanos = baseEjectionTime.toNanos();
+        this.maxEjectionNanos = maxEjectionTime.toNanos();
+        this.maxEjectionPercent = maxEjectionPercent;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    public InstanceState state(ServiceInstance instance) {
+        return states.computeIfAbsent(instance.getServiceId() + "@" + instance.getUri(), key -> register(instance));
+    }
+
+    /**
+     * @return the instances that may receive traffic: all but the ejected ones, unless too many are ejected
+     */
+    public List<ServiceInstance> eligible(List<ServiceInstance> instances) {
+        List<ServiceInstance> available = instances.stream().filter(instance -> !state(instance).isEjected()).toList();
+        int ejected = instances.size() - available.size();
+        if (ejected == 0 || ejected > instances.size() * maxEjectionPercent / 100) {
+            return instances;
+        }
+        return available;
+    }
+
+    private InstanceState register(ServiceInstance instance) {
+        Tags tags = Tags.of("service", instance.getServiceId(), "instance", instance.getHost() + ":" + instance.getPort());
+        InstanceState state = new InstanceState(Counter.builder("gateway.lb.ejections")
+                                                       .description("Times an upstream instance was ejected after consecutive failures")
+                                                       .tags(tags)
+                                                       .register(meterRegistry));
+        Gauge.builder("gateway.lb.in.flight", state, InstanceState::inFlight)
+             .description("Requests in flight to an upstream instance")
+             .tags(tags)
+             .register(meterRegistry);
+        Gauge.builder("gateway.lb.ejected", state, s -> s.isEjected() ? 1 : 0)
+             .description("Whether an upstream instance is currently ejected")
+             .tags(tags)
+             .register(meterRegistry);
+        return state;
+    }
+
+    public final class InstanceState {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final Counter ejectionCounter;
+        private int ejections; // Guarded by this
+        private volatile long ejectedUntil;
+        private volatile boolean ejected;
+
+        private InstanceState(Counter ejectionCounter) {
+            this.ejectionCounter = ejectionCounter;
+        }
+
+        public int inFlight() {
+            return inFlight.get();
+        }
+
+        public boolean isEjected() {
+            return ejected && nanoClock.getAsLong() - ejectedUntil < 0;
+        }
+
+        public void start() {
+            inFlight.incrementAndGet();
+        }
+
+        public void finish(Outcome outcome) {
+            inFlight.decrementAndGet();
+            if (outcome == Outcome.SUCCESS) {
+                failures.set(0);
+                if (ejected && !isEjected()) {
+                    synchronized (this) {
+                        ejections = 0;
+                        ejected = false;
+                    }
+                }
+            } else if (outcome == Outcome.FAILURE && failures.incrementAndGet() >= consecutiveFailures) {
+                eject();
+            }
+        }
+
+        private synchronized void eject() {
+            if (isEjected()) {
+                return;
+            }
+            failures.set(0);
+            ejections++;
+            ejectedUntil = nanoClock.getAsLong() + Math.min(baseEjectionNanos * ejections, maxEjectionNanos);
+            ejected = true;
+            ejectionCounter.increment();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.vividverse.apigateway.security;
+
+import java.util.UUID;
+
+// Identity carried by a verified session token
+public record SessionIdentity(UUID userId, String displayName, long expiresAtEpochSecond) {
+}
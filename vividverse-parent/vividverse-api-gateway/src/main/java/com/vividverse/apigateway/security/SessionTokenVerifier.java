@@ -0,0 +1,91 @@
+package com.vividverse.apigateway.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.vividverse.common.security.SessionKeyFile;
+
+/**
+ * Verifies the HMAC-SHA256 session tokens issued by user-service on login, locally and
+ * without a call back to user-service. A token is base64url(payload) + "." +
+ * base64url(signature), the payload being a version byte, the user id (16 bytes), the
+ * expiry in epoch seconds (8 bytes) and the UTF-8 display name.
+ */
+public class SessionTokenVerifier {
+
+    static final byte VERSION = 1;
+    static final String ALGORITHM = "HmacSHA256";
+    private static final int FIXED_PAYLOAD_BYTES = 1 + 16 + 8;
+    private static final int MAX_TOKEN_LENGTH = 1024;
+
+    private final SecretKeySpec key;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokenVerifier(byte[] key, Clock clock) {
+        if (key.length < SessionKeyFile.KEY_BYTES) {
+            throw new IllegalArgumentException("Session token key must be at least " + SessionKeyFile.KEY_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(key, ALGORITHM);
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac); // One Mac per event-loop thread
+    }
+
+    /**
+     * Checks the signature and expiry of a token
+     * @param token the encoded token
+     * @return the identity it carries, or null if the token is malformed, forged or expired
+     */
+    public SessionIdentity verify(String token) {
+        if (token == null || token.length() > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (payload.length < FIXED_PAYLOAD_BYTES || payload[0] != VERSION) {
+            return null;
+        }
+        // Constant-time comparison so the signature cannot be guessed byte by byte
+        if (!MessageDigest.isEqual(macs.get().doFinal(payload), signature)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        UUID userId = new UUID(buffer.getLong(), buffer.getLong());
+        long expiresAt = buffer.getLong();
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            return null;
+        }
+        String displayName = new String(payload, FIXED_PAYLOAD_BYTES, payload.length - FIXED_PAYLOAD_BYTES,
+                                         StandardCharsets.UTF_8);
+        return new SessionIdentity(userId, displayName, expiresAt);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.vividverse.apigateway.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory token buckets per client key, without Redis. Each bucket is a single AtomicLong
+ * holding its "theoretical arrival time" (the GCRA form of a token bucket): a request is
+ * allowed while that time stays within burstCapacity emission intervals of now, and is
+ * updated with one CAS, so checks never lock. Buckets live in a size-bounded Caffeine
+ * cache and expire once idle for as long as a full refill takes, after which a new
+ * bucket is indistinguishable from the old one.
+ */
+public class TokenBucketLimiter {
+
+    /**
+     * @param remaining tokens left after this request (0 when rejected)
+     * @param retryAfterNanos how long until a token is available, 0 when allowed
+     */
+    public record Decision(boolean allowed, long remaining, long retryAfterNanos) {
+    }
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param replenishRate tokens added per second
+     * @param burstCapacity bucket size: requests allowed at once after an idle period
+     * @param maxKeys most buckets kept; the least valuable are evicted beyond that
+     */
+    public TokenBucketLimiter(double replenishRate, int burstCapacity, long maxKeys) {
+        this(replenishRate, burstCapacity, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(double replenishRate, int burstCapacity, long maxKeys, LongSupplier nanoClock) {
+        if (!(replenishRate > 0) || burstCapacity < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Invalid rate limit configuration");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / replenishRate));
+        this.toleranceNanos = emissionIntervalNanos * burstCapacity;
+        this.buckets = Caffeine.newBuilder()
+                               .maximumSize(maxKeys)
+                               .expireAfterAccess(Duration.ofNanos(toleranceNanos))
+                               .build();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token from the key's bucket if one is available
+     * @param key the client key, e.g. "user:{id}" or "ip:{address}"
+     */
+    public Decision tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long excess = next - now - toleranceNanos;
+            if (excess > 0) {
+                return new Decision(false, 0, excess);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return new Decision(true, (toleranceNanos - (next - now)) / emissionIntervalNanos, 0);
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,167 @@
+package com.vividverse.apigateway;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.vividverse.apigateway.filter.CoalesceRequestsGatewayFilterFactory;
+import com.vividverse.apigateway.filter.HedgeGatewayFilterFactory;
+import com.vividverse.apigateway.filter.LocalRateLimitGatewayFilterFactory;
+import com.vividverse.apigateway.filter.ResponseCacheGatewayFilterFactory;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * The routes exactly as application.properties defines them, unlike the other gateway tests,
+ * which replace them. Only the service instances are pointed at a local stub, so a route or
+ * filter that goes missing from the configuration, or is shadowed by another route definition
+ * with the same id, fails here.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConfiguredRoutesTest {
+
+    private static final Map<String, AtomicInteger> upstreamCalls = new ConcurrentHashMap<>();
+
+    private static DisposableServer stub;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RouteLocator routeLocator;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        stub = stub();
+        String stubUri = "http://localhost:" + stub.port();
+        for (String service : List.of("user-service", "post-service", "comment-service")) {
+            registry.add("spring.cloud.discovery.client.simple.instances." + service + "[0].uri", () -> stubUri);
+        }
+        registry.add("vividverse.auth.token-key-file", () -> System.getProperty("java.io.tmpdir") + "/vividverse-test/session-token.key");
+        registry.add("vividverse.auth.create-missing-key", () -> "true");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.disposeNow();
+    }
+
+    @Test
+    void testEachConfiguredRouteIsDefinedOnce() {
+        List<String> routeIds = routeLocator.getRoutes().map(Route::getId).collectList().block();
+
+        assertEquals(routeIds.stream().distinct().count(), routeIds.size(), "Duplicate route ids: " + routeIds);
+        assertTrue(routeIds.containsAll(List.of("user_service_route", "post_service_route", "comment_service_route")));
+    }
+
+    @Test
+    void testPostRouteCachesResponses() {
+        assertTrue(hasFilter("post_service_route", ResponseCacheGatewayFilterFactory.class));
+    }
+
+    @Test
+    void testTimelineIsCachedByPostRoute() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+
+        ResponseEntity<String> first = client.get().uri("/posts?size=10").retrieve().toEntity(String.class).block(Duration.ofSeconds(10));
+        ResponseEntity<String> second = client.get().uri("/posts?size=10").retrieve().toEntity(String.class).block(Duration.ofSeconds(10));
+
+        assertEquals("timeline", first.getBody());
+        assertEquals("MISS", first.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("timeline", second.getBody());
+        assertEquals("HIT", second.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals(1, upstreamCalls.get("/posts").get());
+    }
+
+    @Test
+    void testPostAndCommentRoutesCoalesceRequests() {
+        assertTrue(hasFilter("post_service_route", CoalesceRequestsGatewayFilterFactory.class));
+        assertTrue(hasFilter("comment_service_route", CoalesceRequestsGatewayFilterFactory.class));
+    }
+
+    @Test
+    void testEveryServiceRouteIsRateLimited() {
+        for (String routeId : List.of("user_service_route", "user_auth_route", "post_service_route", "comment_service_route")) {
+            assertTrue(hasFilter(routeId, LocalRateLimitGatewayFilterFactory.class), routeId);
+        }
+    }
+
+    @Test
+    void testPostAndCommentRoutesHedgeSlowReads() {
+        assertTrue(hasFilter("post_service_route", HedgeGatewayFilterFactory.class));
+        assertTrue(hasFilter("comment_service_route", HedgeGatewayFilterFactory.class));
+    }
+
+    @Test
+    void testLoginIsRateLimitedByAuthRoute() {
+        // user_auth_route allows bursts of 10 per client, then one request per 2s
+        WebClient client = WebClient.create("http://localhost:" + port);
+        List<HttpStatusCode> statuses = new ArrayList<>();
+
+        for (int i = 0; i < 11; i++) {
+            statuses.add(client.post().uri("/users/login")
+                               .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                               .block(Duration.ofSeconds(10)));
+        }
+
+        assertEquals(HttpStatus.OK, statuses.get(0));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, statuses.get(10));
+        assertEquals(10, upstreamCalls.get("/users/login").get());
+    }
+
+    // Route filters built by a factory are lambdas declared inside it, possibly wrapped for ordering
+    private boolean hasFilter(String routeId, Class<?> factory) {
+        Route route = routeLocator.getRoutes().filter(r -> r.getId().equals(routeId)).blockFirst();
+        assertNotNull(route, "No route " + routeId);
+        for (GatewayFilter filter : route.getFilters()) {
+            GatewayFilter delegate = filter instanceof OrderedGatewayFilter ordered ? ordered.getDelegate() : filter;
+            if (delegate.getClass().getName().startsWith(factory.getName() + "$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // One stub answers for every service: health checks succeed and each call is counted by path
+    private static DisposableServer stub() {
+        return HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes
+                .get("/actuator/health", (request, response) -> response
+                    .header("Content-Type", "application/json")
+                    .sendString(Mono.just("{\"status\":\"UP\"}")))
+                .get("/posts", (request, response) -> {
+                    upstreamCalls.computeIfAbsent("/posts", path -> new AtomicInteger()).incrementAndGet();
+                    return response.sendString(Mono.just("timeline"));
+                })
+                .post("/users/login", (request, response) -> {
+                    upstreamCalls.computeIfAbsent("/users/login", path -> new AtomicInteger()).incrementAndGet();
+                    return response.sendString(Mono.just("token"));
+                }))
+            .bindNow();
+    }
+}
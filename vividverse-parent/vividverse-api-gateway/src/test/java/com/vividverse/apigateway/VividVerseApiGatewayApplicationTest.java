@@ -2,8 +2,12 @@ package com.vividverse.apigateway;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.filter.headers.XForwardedHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.TestPropertySource;
@@ -18,7 +22,9 @@ import org.springframework.test.context.TestPropertySource;
     "spring.cloud.gateway.routes[1].predicates[0]=Path=/posts/**",
     "spring.cloud.gateway.routes[2].id=comment_service_route",
     "spring.cloud.gateway.routes[2].uri=http://localhost:8083",
-    "spring.cloud.gateway.routes[2].predicates[0]=Path=/comments/**"
+    "spring.cloud.gateway.routes[2].predicates[0]=Path=/comments/**",
+    "vividverse.auth.token-key-file=${java.io.tmpdir}/vividverse-test/session-token.key",
+    "vividverse.auth.create-missing-key=true"
 })
 class VividVerseApiGatewayApplicationTest {
 
@@ -30,10 +36,20 @@ class VividVerseApiGatewayApplicationTest {
 
     @Test
     void testRouteLocatorBeanExists(ApplicationContext context) {
-        // Test that the RouteLocator bean is created
-        assertTrue(context.containsBean("customRouteLocator"));
+        // Test that the RouteLocator bean is created and each configured route is defined once
         RouteLocator routeLocator = context.getBean(RouteLocator.class);
         assertNotNull(routeLocator);
+        List<String> routeIds = routeLocator.getRoutes().map(Route::getId).collectList().block();
+        assertEquals(List.of("comment_service_route", "post_service_route", "user_service_route"),
+                     routeIds.stream().sorted().toList());
+    }
+
+    @Test
+    void testClientSuppliedForwardedForIsReplaced(ApplicationContext context) {
+        // Upstream services throttle by X-Forwarded-For, so clients must not be able to prepend to it
+        XForwardedHeadersFilter forwardedHeaders = context.getBean(XForwardedHeadersFilter.class);
+        assertTrue(forwardedHeaders.isForEnabled());
+        assertFalse(forwardedHeaders.isForAppend());
     }
 
     @Test
@@ -0,0 +1,186 @@
+package com.vividverse.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class CoalesceRequestsGatewayFilterFactoryTest {
+
+    private static final Route ROUTE = Route.async()
+        .id("post_service_route")
+        .uri("http://localhost:8082")
+        .predicate(exchange -> true)
+        .build();
+    private static final String BODY = "{\"id\":\"1\",\"title\":\"Trending\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new CoalesceRequestsGatewayFilterFactory(DataSize.ofKilobytes(64), meterRegistry)
+            .apply(new CoalesceRequestsGatewayFilterFactory.Config());
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void testConcurrentIdenticalGetsShareOneUpstreamCall() {
+        List<MockServerWebExchange> exchanges = exchanges(5, () -> MockServerHttpRequest.get("/posts/1"));
+
+        runConcurrently(exchanges, slowUpstream(HttpStatus.OK, null));
+
+        assertEquals(1, upstreamCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+            assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+        }
+        assertEquals(4, exchanges.stream()
+            .filter(exchange -> "true".equals(exchange.getResponse().getHeaders().getFirst(CoalesceRequestsGatewayFilterFactory.COALESCED_HEADER)))
+            .count());
+        assertEquals(1.0, meterRegistry.get("gateway.coalesce.requests").tag("role", "leader").counter().count());
+        assertEquals(4.0, meterRegistry.get("gateway.coalesce.requests").tag("role", "follower").counter().count());
+    }
+
+    @Test
+    void testErrorStatusIsSharedToo() {
+        List<MockServerWebExchange> exchanges = exchanges(3, () -> MockServerHttpRequest.get("/posts/404"));
+
+        runConcurrently(exchanges, slowUpstream(HttpStatus.NOT_FOUND, null));
+
+        assertEquals(1, upstreamCalls.get());
+        exchanges.forEach(exchange -> assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode()));
+    }
+
+    @Test
+    void testDifferentVaryHeaderValuesAreNotCoalesced() {
+        List<MockServerWebExchange> exchanges = List.of(
+            exchange(MockServerHttpRequest.get("/posts/1").accept(MediaType.APPLICATION_JSON)),
+            exchange(MockServerHttpRequest.get("/posts/1").accept(MediaType.APPLICATION_XML)));
+
+        runConcurrently(exchanges, slowUpstream(HttpStatus.OK, null));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testDifferentQueriesAreNotCoalesced() {
+        List<MockServerWebExchange> exchanges = List.of(
+            exchange(MockServerHttpRequest.get("/posts?after=&size=10")),
+            exchange(MockServerHttpRequest.get("/posts?after=&size=20")));
+
+        runConcurrently(exchanges, slowUpstream(HttpStatus.OK, null));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testWritesAreNeverCoalesced() {
+        List<MockServerWebExchange> exchanges = exchanges(3, () -> MockServerHttpRequest.post("/posts"));
+
+        runConcurrently(exchanges, slowUpstream(HttpStatus.CREATED, null));
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void testStreamingRequestsAreNotCoalesced() {
+        List<MockServerWebExchange> exchanges = exchanges(2,
+            () -> MockServerHttpRequest.get("/comments/post/1").accept(MediaType.APPLICATION_NDJSON));
+
+        runConcurrently(exchanges, slowUpstream(HttpStatus.OK, null));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testWaitersGoUpstreamWhenFirstRequestFails() {
+        List<MockServerWebExchange> exchanges = exchanges(3, () -> MockServerHttpRequest.get("/posts/1"));
+        GatewayFilterChain failingOnce = exchange -> upstreamCalls.get() == 0
+            ? Mono.delay(Duration.ofMillis(50)).then(Mono.fromRunnable(upstreamCalls::incrementAndGet))
+                  .then(Mono.error(new IllegalStateException("connection reset")))
+            : slowUpstream(HttpStatus.OK, null).filter(exchange);
+
+        Flux.fromIterable(exchanges)
+            .flatMap(exchange -> filter.filter(exchange, failingOnce).onErrorResume(e -> Mono.empty()))
+            .blockLast(Duration.ofSeconds(5));
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(BODY, exchanges.get(1).getResponse().getBodyAsString().block());
+        assertEquals(BODY, exchanges.get(2).getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testResponsesSettingCookiesAreNotShared() {
+        List<MockServerWebExchange> exchanges = exchanges(3, () -> MockServerHttpRequest.get("/posts/1"));
+
+        runConcurrently(exchanges, slowUpstream(HttpStatus.OK, "session=abc"));
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void testSequentialRequestsEachGoUpstream() {
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), slowUpstream(HttpStatus.OK, null)).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), slowUpstream(HttpStatus.OK, null)).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0.0, meterRegistry.get("gateway.coalesce.in.flight").gauge().value());
+    }
+
+    private void runConcurrently(List<MockServerWebExchange> exchanges, GatewayFilterChain chain) {
+        Flux.fromIterable(exchanges)
+            .flatMap(exchange -> filter.filter(exchange, chain))
+            .blockLast(Duration.ofSeconds(5));
+    }
+
+    private static List<MockServerWebExchange> exchanges(int count, Supplier<MockServerHttpRequest.BaseBuilder<?>> request) {
+        return IntStream.range(0, count).mapToObj(i -> exchange(request.get())).toList();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        return exchange;
+    }
+
+    // Upstream that answers after 50ms, long enough for the other requests to arrive meanwhile
+    private GatewayFilterChain slowUpstream(HttpStatus status, String cookie) {
+        return exchange -> Mono.delay(Duration.ofMillis(50)).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            if (cookie != null) {
+                response.getHeaders().add(HttpHeaders.SET_COOKIE, cookie);
+            }
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+}
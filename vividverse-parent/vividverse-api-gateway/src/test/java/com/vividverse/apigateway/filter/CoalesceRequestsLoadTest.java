@@ -0,0 +1,102 @@
+package com.vividverse.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fires waves of identical GET /posts/{id} requests at growing duplicate concurrency against
+ * an upstream that takes 20ms, and checks the upstream request rate stays at one call per
+ * wave while the client request rate grows with the concurrency. The upstream holds its
+ * response until every request of the wave has reached the filter, so a slow machine setting
+ * up a wave of 1000 cannot let the first call finish before the last duplicates join it.
+ */
+class CoalesceRequestsLoadTest {
+
+    private static final int WAVES = 20;
+    private static final int[] CONCURRENCY = {1, 10, 100, 1_000};
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(20);
+    private static final byte[] BODY = "{\"id\":\"1\",\"title\":\"Trending\",\"content\":\"...\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final Route ROUTE = Route.async()
+        .id("post_service_route")
+        .uri("http://localhost:8082")
+        .predicate(exchange -> true)
+        .build();
+
+    @Test
+    void testUpstreamRateStaysFlatAsDuplicatesGrow() {
+        GatewayFilter filter = new CoalesceRequestsGatewayFilterFactory(DataSize.ofMegabytes(1), new SimpleMeterRegistry())
+            .apply(new CoalesceRequestsGatewayFilterFactory.Config());
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        AtomicReference<Sinks.Empty<Void>> waveJoined = new AtomicReference<>();
+        GatewayFilterChain upstream = exchange -> waveJoined.get().asMono()
+            .then(Mono.delay(UPSTREAM_LATENCY))
+            .then(Mono.defer(() -> {
+                upstreamCalls.incrementAndGet();
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY)));
+            }));
+
+        for (int concurrency : CONCURRENCY) {
+            upstreamCalls.set(0);
+            AtomicInteger answered = new AtomicInteger();
+            long start = System.nanoTime();
+            for (int wave = 0; wave < WAVES; wave++) {
+                Sinks.Empty<Void> joined = Sinks.empty();
+                waveJoined.set(joined);
+                AtomicInteger arrived = new AtomicInteger();
+                Flux.range(0, concurrency)
+                    .map(i -> exchange())
+                    .flatMap(exchange -> {
+                        // The filter leads or joins the in-flight call when invoked, before it is subscribed
+                        Mono<Void> forwarded = filter.filter(exchange, upstream);
+                        if (arrived.incrementAndGet() == concurrency) {
+                            joined.tryEmitEmpty();
+                        }
+                        return forwarded.then(Mono.fromRunnable(() -> {
+                            if (exchange.getResponse().getStatusCode() == HttpStatus.OK) {
+                                answered.incrementAndGet();
+                            }
+                        }));
+                    }, concurrency)
+                    .blockLast(Duration.ofSeconds(10));
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("concurrency %5d: client %9.0f req/s, upstream %6.0f req/s (%d upstream calls for %d requests)%n",
+                concurrency, answered.get() / seconds, upstreamCalls.get() / seconds, upstreamCalls.get(), concurrency * WAVES);
+
+            assertEquals(concurrency * WAVES, answered.get());
+            assertEquals(WAVES, upstreamCalls.get(), "one upstream call per wave at concurrency " + concurrency);
+        }
+    }
+
+    private static MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts/1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        return exchange;
+    }
+}
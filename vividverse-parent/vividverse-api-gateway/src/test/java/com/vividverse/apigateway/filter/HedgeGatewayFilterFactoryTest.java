@@ -0,0 +1,267 @@
+package com.vividverse.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Mono;
+
+class HedgeGatewayFilterFactoryTest {
+
+    private static final int MIN_SAMPLES = 32;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+    private Deque<Function<ServerWebExchange, Mono<Void>>> upstreams;
+
+    @BeforeEach
+    void setUp() {
+        filter = newFilter(config -> { });
+        upstreamCalls = new AtomicInteger();
+        upstreams = new ArrayDeque<>();
+    }
+
+    @Test
+    void testNoHedgingUntilEnoughLatenciesAreKnown() {
+        upstreams.add(respond(Duration.ofMillis(200), HttpStatus.OK, "slow"));
+
+        MockServerWebExchange exchange = get();
+        filter.filter(exchange, upstream()).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("slow", exchange.getResponse().getHeaders().getFirst("X-Upstream"));
+    }
+
+    @Test
+    void testSlowRequestIsHedgedAndFasterAttemptWins() {
+        warmUp();
+        upstreams.add(respond(Duration.ofSeconds(5), HttpStatus.OK, "slow"));
+        upstreams.add(respond(Duration.ZERO, HttpStatus.OK, "fast"));
+
+        MockServerWebExchange exchange = get();
+        long start = System.nanoTime();
+        filter.filter(exchange, upstream()).block(Duration.ofSeconds(2));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(2, upstreamCalls.get());
+        assertTrue(elapsedMillis >= 50 && elapsedMillis < 1_000, "Took " + elapsedMillis + "ms");
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("fast", exchange.getResponse().getHeaders().getFirst("X-Upstream"));
+        assertEquals(URI.create("http://upstream/fast"), exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR));
+        assertEquals(1.0, outcome("hedge"));
+    }
+
+    @Test
+    void testFastRequestIsNotHedged() {
+        warmUp();
+        double unhedgedBefore = outcome("unhedged");
+        upstreams.add(respond(Duration.ofMillis(5), HttpStatus.OK, "first"));
+
+        MockServerWebExchange exchange = get();
+        filter.filter(exchange, upstream()).block();
+        Mono.delay(Duration.ofMillis(100)).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("first", exchange.getResponse().getHeaders().getFirst("X-Upstream"));
+        assertEquals(unhedgedBefore + 1, outcome("unhedged"));
+    }
+
+    @Test
+    void testPrimaryAnsweringFirstAfterHedgeWins() {
+        warmUp();
+        upstreams.add(respond(Duration.ofMillis(100), HttpStatus.OK, "first"));
+        upstreams.add(respond(Duration.ofSeconds(5), HttpStatus.OK, "second"));
+
+        MockServerWebExchange exchange = get();
+        filter.filter(exchange, upstream()).block(Duration.ofSeconds(2));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("first", exchange.getResponse().getHeaders().getFirst("X-Upstream"));
+        assertEquals(1.0, outcome("primary"));
+    }
+
+    @Test
+    void testFailureBeforeHedgeIsReportedImmediately() {
+        warmUp();
+        upstreams.add(exchange -> Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT)));
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+            () -> filter.filter(get(), upstream()).block(Duration.ofSeconds(2)));
+        Mono.delay(Duration.ofMillis(100)).block();
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, error.getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testPrimaryFailureAfterHedgeDefersToHedge() {
+        warmUp();
+        upstreams.add(exchange -> Mono.delay(Duration.ofMillis(100)).then(Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY))));
+        upstreams.add(respond(Duration.ofMillis(200), HttpStatus.OK, "second"));
+
+        MockServerWebExchange exchange = get();
+        filter.filter(exchange, upstream()).block(Duration.ofSeconds(2));
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("second", exchange.getResponse().getHeaders().getFirst("X-Upstream"));
+    }
+
+    @Test
+    void testBothAttemptsFailingReportsLastFailure() {
+        warmUp();
+        upstreams.add(exchange -> Mono.delay(Duration.ofMillis(100)).then(Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY))));
+        upstreams.add(exchange -> Mono.delay(Duration.ofMillis(100)).then(Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT))));
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+            () -> filter.filter(get(), upstream()).block(Duration.ofSeconds(2)));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, error.getStatusCode());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testNonIdempotentRequestsAreNeverHedged() {
+        warmUp();
+        upstreams.add(respond(Duration.ofMillis(200), HttpStatus.CREATED, "created"));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/posts"));
+        filter.filter(exchange, upstream()).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.CREATED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testPrimaryLatencyCountsWhenHedgeWins() {
+        filter = newFilter(config -> config.setBudget(100));
+        warmUp();
+
+        // Hedges answer at once, primaries would take 300ms: only the primaries' time may move the delay
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            upstreams.add(respond(Duration.ofMillis(300), HttpStatus.OK, "slow"));
+            upstreams.add(respond(Duration.ZERO, HttpStatus.OK, "fast"));
+            filter.filter(get(), upstream()).block(Duration.ofSeconds(2));
+        }
+
+        assertEquals(MIN_SAMPLES, outcome("hedge"));
+        double delayMillis = meterRegistry.get("gateway.hedge.delay").tag("route", "post_service_route")
+                                          .timeGauge().value(TimeUnit.MILLISECONDS);
+        assertTrue(delayMillis >= 50, "Hedge delay " + delayMillis + "ms");
+    }
+
+    @Test
+    void testHedgesStopWhenBudgetIsSpent() {
+        filter = newFilter(config -> config.setBudgetBurst(1));
+        warmUp();
+        upstreams.add(respond(Duration.ofMillis(300), HttpStatus.OK, "slow"));
+        upstreams.add(respond(Duration.ZERO, HttpStatus.OK, "fast"));
+        filter.filter(get(), upstream()).block(Duration.ofSeconds(2));
+        upstreamCalls.set(0);
+
+        // The one token went to the first hedge; a tenth of a token has come back since
+        upstreams.add(respond(Duration.ofMillis(300), HttpStatus.OK, "slow"));
+        MockServerWebExchange exchange = get();
+        filter.filter(exchange, upstream()).block(Duration.ofSeconds(2));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("slow", exchange.getResponse().getHeaders().getFirst("X-Upstream"));
+        assertEquals(1.0, meterRegistry.get("gateway.hedge.throttled").counter().count());
+    }
+
+    @Test
+    void testHedgeBudgetRefillsWithRequests() {
+        HedgeBudget budget = new HedgeBudget(10, 1);
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    void testLatencyWindowReportsPercentile() {
+        LatencyWindow window = new LatencyWindow(95, 100);
+        for (int i = 1; i <= 99; i++) {
+            window.record(i);
+        }
+        assertEquals(-1, window.percentileNanos());
+
+        window.record(100);
+
+        assertEquals(95, window.percentileNanos());
+    }
+
+    // Fast responses until the filter has a p95 to hedge after (far below the 50ms floor);
+    // upstream calls are counted from zero again afterwards
+    private void warmUp() {
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            upstreams.add(respond(Duration.ZERO, HttpStatus.OK, "warm-up"));
+            filter.filter(get(), upstream()).block();
+        }
+        upstreamCalls.set(0);
+    }
+
+    private GatewayFilter newFilter(Consumer<HedgeGatewayFilterFactory.Config> customizer) {
+        meterRegistry = new SimpleMeterRegistry();
+        HedgeGatewayFilterFactory.Config config = new HedgeGatewayFilterFactory.Config();
+        config.setMinDelay(Duration.ofMillis(50));
+        config.setMinSamples(MIN_SAMPLES);
+        config.setRouteId("post_service_route");
+        customizer.accept(config);
+        return new HedgeGatewayFilterFactory(meterRegistry).apply(config);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("gateway.hedge.requests").tag("route", "post_service_route").tag("outcome", outcome).counter().count();
+    }
+
+    private static MockServerWebExchange get() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/posts/1"));
+    }
+
+    // Stands in for RouteToRequestUrlFilter and NettyRoutingFilter: sets routing attributes, status and headers
+    private static Function<ServerWebExchange, Mono<Void>> respond(Duration latency, HttpStatus status, String name) {
+        return exchange -> Mono.delay(latency).then(Mono.fromRunnable(() -> {
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("http://upstream/" + name));
+            exchange.getResponse().setStatusCode(status);
+            exchange.getResponse().getHeaders().add("X-Upstream", name);
+        }));
+    }
+
+    private GatewayFilterChain upstream() {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            Function<ServerWebExchange, Mono<Void>> next;
+            synchronized (upstreams) {
+                next = upstreams.poll();
+            }
+            return next == null ? Mono.error(new IllegalStateException("Unexpected upstream call")) : next.apply(exchange);
+        };
+    }
+}
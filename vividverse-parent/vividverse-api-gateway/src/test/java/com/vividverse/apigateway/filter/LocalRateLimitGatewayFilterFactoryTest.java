@@ -0,0 +1,113 @@
+package com.vividverse.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Mono;
+
+class LocalRateLimitGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        LocalRateLimitGatewayFilterFactory.Config config = new LocalRateLimitGatewayFilterFactory.Config();
+        config.setReplenishRate(0.5);
+        config.setBurstCapacity(2);
+        config.setRouteId("user_auth_route");
+        filter = new LocalRateLimitGatewayFilterFactory(1_000, meterRegistry).apply(config);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void testRequestsBeyondBurstGet429WithRetryAfter() {
+        MockServerWebExchange first = exchange("10.0.0.1", null);
+        MockServerWebExchange second = exchange("10.0.0.1", null);
+        MockServerWebExchange third = exchange("10.0.0.1", null);
+
+        filter.filter(first, upstream()).block();
+        filter.filter(second, upstream()).block();
+        filter.filter(third, upstream()).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("1", first.getResponse().getHeaders().getFirst(LocalRateLimitGatewayFilterFactory.REMAINING_HEADER));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+        assertEquals("2", third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("0", third.getResponse().getHeaders().getFirst(LocalRateLimitGatewayFilterFactory.REMAINING_HEADER));
+    }
+
+    @Test
+    void testClientsAreLimitedIndependently() {
+        filter.filter(exchange("10.0.0.1", null), upstream()).block();
+        filter.filter(exchange("10.0.0.1", null), upstream()).block();
+        MockServerWebExchange otherClient = exchange("10.0.0.2", null);
+
+        filter.filter(otherClient, upstream()).block();
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(HttpStatus.OK, otherClient.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testAuthenticatedUserIsKeyedByIdAcrossAddresses() {
+        filter.filter(exchange("10.0.0.1", "user-1"), upstream()).block();
+        filter.filter(exchange("10.0.0.2", "user-1"), upstream()).block();
+        MockServerWebExchange third = exchange("10.0.0.3", "user-1");
+        MockServerWebExchange anonymous = exchange("10.0.0.1", null);
+
+        filter.filter(third, upstream()).block();
+        filter.filter(anonymous, upstream()).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+        assertEquals(HttpStatus.OK, anonymous.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testRunsRightAfterSessionTokenFilter() {
+        assertEquals(SessionTokenFilter.ORDER + 1, ((OrderedGatewayFilter) filter).getOrder());
+    }
+
+    @Test
+    void testOutcomesAreCountedPerRoute() {
+        for (int i = 0; i < 3; i++) {
+            filter.filter(exchange("10.0.0.1", null), upstream()).block();
+        }
+
+        assertEquals(2.0, meterRegistry.get("gateway.ratelimit.requests").tag("route", "user_auth_route").tag("result", "allowed").counter().count());
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.requests").tag("route", "user_auth_route").tag("result", "rejected").counter().count());
+    }
+
+    private static MockServerWebExchange exchange(String address, String userId) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.post("/users/login")
+            .remoteAddress(new InetSocketAddress(address, 52_000));
+        if (userId != null) {
+            request.header(SessionTokenFilter.USER_ID_HEADER, userId);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private GatewayFilterChain upstream() {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+    }
+}
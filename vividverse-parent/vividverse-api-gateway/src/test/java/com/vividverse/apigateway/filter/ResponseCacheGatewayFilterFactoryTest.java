@@ -0,0 +1,202 @@
+package com.vividverse.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.vividverse.apigateway.cache.ResponseCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final Route ROUTE = Route.async()
+        .id("post_service_route")
+        .uri("http://localhost:8082")
+        .predicate(exchange -> true)
+        .build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCache cache;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+    private String upstreamBody;
+    private HttpStatus upstreamStatus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResponseCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), meterRegistry);
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTimeToLive(Duration.ofMinutes(1));
+        filter = new ResponseCacheGatewayFilterFactory(cache).apply(config);
+        upstreamCalls = new AtomicInteger();
+        upstreamBody = "{\"id\":\"1\",\"title\":\"Hello\"}";
+        upstreamStatus = HttpStatus.OK;
+    }
+
+    @Test
+    void testSecondGetIsServedFromCache() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/posts/1"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/posts/1"));
+
+        filter.filter(first, upstream()).block();
+        filter.filter(second, upstream()).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(upstreamBody, second.getResponse().getBodyAsString().block());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void testQueryStringIsPartOfTheKey() {
+        filter.filter(exchange(MockServerHttpRequest.get("/posts?after=&size=10")), upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts?after=&size=20")), upstream()).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testMatchingIfNoneMatchGets304FromCache() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/posts/1"));
+        filter.filter(first, upstream()).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidation = exchange(MockServerHttpRequest.get("/posts/1").header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(revalidation, upstream()).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals(etag, revalidation.getResponse().getHeaders().getETag());
+        assertEquals("", revalidation.getResponse().getBodyAsString().defaultIfEmpty("").block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testMatchingIfNoneMatchGets304OnMiss() {
+        String etag = ResponseCacheGatewayFilterFactory.etag(upstreamBody.getBytes(StandardCharsets.UTF_8));
+        MockServerWebExchange revalidation = exchange(MockServerHttpRequest.get("/posts/1").header(HttpHeaders.IF_NONE_MATCH, "W/" + etag));
+
+        filter.filter(revalidation, upstream()).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testChangedBodyGetsNewStrongEtag() {
+        String before = ResponseCacheGatewayFilterFactory.etag("a".getBytes(StandardCharsets.UTF_8));
+        String after = ResponseCacheGatewayFilterFactory.etag("b".getBytes(StandardCharsets.UTF_8));
+
+        assertNotEquals(before, after);
+        assertTrue(before.startsWith("\"") && before.endsWith("\""));
+    }
+
+    @Test
+    void testPutEvictsPostAndTimeline() {
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts?after=&size=10")), upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/2")), upstream()).block();
+
+        filter.filter(exchange(MockServerHttpRequest.put("/posts/1")), upstream()).block();
+        upstreamCalls.set(0);
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts?after=&size=10")), upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/2")), upstream()).block();
+
+        assertEquals(2, upstreamCalls.get()); // /posts/2 is still cached
+    }
+
+    @Test
+    void testDeleteEvictsPost() {
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+
+        filter.filter(exchange(MockServerHttpRequest.delete("/posts/1")), upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void testGetInFlightDuringWriteIsNotStored() {
+        // The write is evicted while the GET is upstream, so what it read may be stale
+        GatewayFilterChain racingWrite = exchange -> {
+            cache.evict(ROUTE.getId(), "/posts/1");
+            return upstream().filter(exchange);
+        };
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), racingWrite).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testErrorResponsesAreNotCached() {
+        upstreamStatus = HttpStatus.NOT_FOUND;
+
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testOversizedBodyPassesThroughUncached() {
+        upstreamBody = "x".repeat((int) DataSize.ofKilobytes(65).toBytes());
+
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/posts/1"));
+        filter.filter(first, upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+
+        assertEquals(upstreamBody, first.getResponse().getBodyAsString().block());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testHitRatioAndBytesAreExported() {
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/posts/1")), upstream()).block();
+
+        assertEquals(0.5, meterRegistry.get("gateway.cache.hit.ratio").gauge().value());
+        assertTrue(meterRegistry.get("gateway.cache.bytes").gauge().value() >= upstreamBody.length());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "gatewayResponses").tag("result", "hit").functionCounter().count());
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        return exchange;
+    }
+
+    // Stands in for the routing and NettyWriteResponseFilter: writes the upstream answer to the exchange's response
+    private GatewayFilterChain upstream() {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(upstreamStatus);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(upstreamBody.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
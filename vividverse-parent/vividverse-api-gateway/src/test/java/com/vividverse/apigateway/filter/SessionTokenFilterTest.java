@@ -0,0 +1,92 @@
+package com.vividverse.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.vividverse.apigateway.security.SessionTokenVerifier;
+import com.vividverse.apigateway.security.SessionTokens;
+
+import reactor.core.publisher.Mono;
+
+class SessionTokenFilterTest {
+
+    private static final byte[] KEY = new byte[32];
+
+    private final SessionTokenFilter filter = new SessionTokenFilter(new SessionTokenVerifier(KEY, Clock.systemUTC()));
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @Test
+    void testValidTokenForwardsIdentity() {
+        UUID userId = UUID.randomUUID();
+        String token = SessionTokens.mint(KEY, userId, "Zoë Example", Instant.now().getEpochSecond() + 60);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals(userId.toString(), headers.getFirst(SessionTokenFilter.USER_ID_HEADER));
+        assertEquals("Zo%C3%AB%20Example", headers.getFirst(SessionTokenFilter.DISPLAY_NAME_HEADER));
+    }
+
+    @Test
+    void testInvalidTokenIsRejected() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer not.valid"));
+
+        filter.filter(exchange, chain).block();
+
+        assertNull(forwarded.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertTrue(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE).contains("invalid_token"));
+    }
+
+    @Test
+    void testAnonymousRequestPassesThrough() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts"));
+
+        filter.filter(exchange, chain).block();
+
+        assertSame(exchange, forwarded.get());
+    }
+
+    @Test
+    void testSpoofedIdentityHeadersAreStripped() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts")
+            .header(SessionTokenFilter.USER_ID_HEADER, UUID.randomUUID().toString())
+            .header(SessionTokenFilter.DISPLAY_NAME_HEADER, "Admin"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertFalse(headers.containsKey(SessionTokenFilter.USER_ID_HEADER));
+        assertFalse(headers.containsKey(SessionTokenFilter.DISPLAY_NAME_HEADER));
+    }
+
+    @Test
+    void testNonBearerAuthorizationPassesThrough() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts")
+            .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz"));
+
+        filter.filter(exchange, chain).block();
+
+        assertNotNull(forwarded.get());
+        assertFalse(forwarded.get().getRequest().getHeaders().containsKey(SessionTokenFilter.USER_ID_HEADER));
+    }
+}
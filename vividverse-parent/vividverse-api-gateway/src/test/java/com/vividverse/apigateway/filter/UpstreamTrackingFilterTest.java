@@ -0,0 +1,65 @@
+package com.vividverse.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.vividverse.apigateway.loadbalancer.UpstreamInstances;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Sinks;
+
+class UpstreamTrackingFilterTest {
+
+    private final ServiceInstance instance = new DefaultServiceInstance("comment-service-1", "comment-service", "localhost", 9001, false);
+
+    private UpstreamInstances upstreams;
+    private UpstreamTrackingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        upstreams = new UpstreamInstances(5, Duration.ofSeconds(30), Duration.ofMinutes(5), 50, new SimpleMeterRegistry());
+        filter = new UpstreamTrackingFilter(upstreams);
+    }
+
+    @Test
+    void testRequestIsInFlightUntilUpstreamAnswers() {
+        Sinks.Empty<Void> upstream = Sinks.empty();
+
+        filter.filter(routed(MockServerHttpRequest.get("/comments/post/1")), exchange -> upstream.asMono()).subscribe();
+        int inFlightWhileWaiting = upstreams.state(instance).inFlight();
+        upstream.tryEmitEmpty();
+
+        assertEquals(1, inFlightWhileWaiting);
+        assertEquals(0, upstreams.state(instance).inFlight());
+    }
+
+    @Test
+    void testStreamingRequestIsNotCounted() {
+        // An SSE upstream may not answer with headers until its first event, minutes later
+        Sinks.Empty<Void> upstream = Sinks.empty();
+
+        filter.filter(routed(MockServerHttpRequest.get("/comments/post/1/stream").accept(MediaType.TEXT_EVENT_STREAM)),
+                      exchange -> upstream.asMono()).subscribe();
+
+        assertEquals(0, upstreams.state(instance).inFlight());
+        upstream.tryEmitEmpty();
+    }
+
+    private MockServerWebExchange routed(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(instance));
+        return exchange;
+    }
+}
@@ -0,0 +1,83 @@
+package com.vividverse.apigateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LeastOutstandingLoadBalancerTest {
+
+    private final ServiceInstance idle = instance(9001);
+    private final ServiceInstance alsoIdle = instance(9002);
+    private final ServiceInstance busy = instance(9003);
+
+    private UpstreamInstances upstreams;
+    private LeastOutstandingLoadBalancer balancer;
+
+    @BeforeEach
+    void setUp() {
+        upstreams = new UpstreamInstances(3, Duration.ofSeconds(30), Duration.ofMinutes(5), 50, new SimpleMeterRegistry());
+        ServiceInstanceListSupplier supplier = ServiceInstanceListSuppliers.from("post-service", idle, alsoIdle, busy);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("instances", supplier));
+        balancer = new LeastOutstandingLoadBalancer(beans.getBeanProvider(ServiceInstanceListSupplier.class), upstreams);
+    }
+
+    @Test
+    void testLessBusyInstanceOfPairIsChosen() {
+        upstreams.state(busy).start();
+
+        for (int i = 0; i < 200; i++) {
+            assertNotEquals(busy, balancer.choose(new DefaultRequest<>()).block().getServer());
+        }
+    }
+
+    @Test
+    void testEqualLoadSpreadsOverAllInstances() {
+        long idleHits = 0;
+        long busyHits = 0;
+        for (int i = 0; i < 300; i++) {
+            ServiceInstance chosen = balancer.choose(new DefaultRequest<>()).block().getServer();
+            idleHits += chosen.equals(idle) ? 1 : 0;
+            busyHits += chosen.equals(busy) ? 1 : 0;
+        }
+
+        assertTrue(idleHits > 50, "idle chosen " + idleHits + " times");
+        assertTrue(busyHits > 50, "third instance chosen " + busyHits + " times");
+    }
+
+    @Test
+    void testEjectedInstanceIsSkipped() {
+        for (int i = 0; i < 3; i++) {
+            upstreams.state(idle).start();
+            upstreams.state(idle).finish(UpstreamInstances.Outcome.FAILURE);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            assertNotEquals(idle, balancer.choose(new DefaultRequest<>()).block().getServer());
+        }
+    }
+
+    @Test
+    void testNoInstancesGivesEmptyResponse() {
+        Response<ServiceInstance> response = balancer.choose(List.of());
+
+        assertFalse(response.hasServer());
+    }
+
+    private static ServiceInstance instance(int port) {
+        return new DefaultServiceInstance("post-service-" + port, "post-service", "localhost", port, false);
+    }
+}
@@ -0,0 +1,94 @@
+package com.vividverse.apigateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * The whole gateway in front of three local stub instances of one service, one of them slow:
+ * the slow instance accumulates requests in flight, so the balancer sends it far less than
+ * the third of the traffic that round robin would. The slow instance's share is roughly the
+ * ratio of the fast instances' latency, which on a loaded machine is dominated by the gateway
+ * itself (tens of ms), to its own; at 1s it stays well clear of the 15% bound.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadBalancingIntegrationTest {
+
+    private static final int REQUESTS = 600;
+    private static final int CONCURRENCY = 16;
+
+    private static List<DisposableServer> stubs;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        stubs = List.of(stub("fast-1", Duration.ofMillis(2)),
+                        stub("fast-2", Duration.ofMillis(2)),
+                        stub("slow", Duration.ofSeconds(1)));
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "stub_route");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> "lb://stub-service");
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/posts/**");
+        for (int i = 0; i < stubs.size(); i++) {
+            int stubPort = stubs.get(i).port();
+            registry.add("spring.cloud.discovery.client.simple.instances.stub-service[" + i + "].uri", () -> "http://localhost:" + stubPort);
+        }
+        registry.add("vividverse.auth.token-key-file", () -> System.getProperty("java.io.tmpdir") + "/vividverse-test/session-token.key");
+        registry.add("vividverse.auth.create-missing-key", () -> "true");
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        stubs.forEach(DisposableServer::disposeNow);
+    }
+
+    @Test
+    void testTrafficShiftsAwayFromSlowInstance() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+
+        List<String> answeredBy = Flux.range(0, REQUESTS)
+            .flatMap(i -> client.get().uri("/posts").retrieve().bodyToMono(String.class), CONCURRENCY)
+            .collectList()
+            .block(Duration.ofSeconds(60));
+
+        Map<String, Long> hits = answeredBy.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        System.out.printf("%d requests, %d concurrent: %s%n", REQUESTS, CONCURRENCY, hits);
+        assertEquals(REQUESTS, answeredBy.size());
+        long slow = hits.getOrDefault("slow", 0L);
+        assertTrue(slow < REQUESTS * 0.15, "Slow instance got " + slow + " of " + REQUESTS);
+        assertTrue(hits.getOrDefault("fast-1", 0L) > slow * 2);
+        assertTrue(hits.getOrDefault("fast-2", 0L) > slow * 2);
+    }
+
+    // Answers like a service instance: health checks succeed, GET /posts names the instance after a delay
+    private static DisposableServer stub(String name, Duration latency) {
+        return HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes
+                .get("/actuator/health", (request, response) -> response
+                    .header("Content-Type", "application/json")
+                    .sendString(Mono.just("{\"status\":\"UP\"}")))
+                .get("/posts", (request, response) -> response
+                    .sendString(Mono.delay(latency).thenReturn(name))))
+            .bindNow();
+    }
+}
@@ -0,0 +1,139 @@
+package com.vividverse.apigateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UpstreamInstancesTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+    private final ServiceInstance first = instance(9001);
+    private final ServiceInstance second = instance(9002);
+    private final ServiceInstance third = instance(9003);
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamInstances upstreams;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreams = new UpstreamInstances(3, Duration.ofSeconds(30), Duration.ofSeconds(75), 50, meterRegistry, clock::get);
+    }
+
+    @Test
+    void testInFlightCountsStartedRequests() {
+        UpstreamInstances.InstanceState state = upstreams.state(first);
+        state.start();
+        state.start();
+        state.finish(UpstreamInstances.Outcome.CANCELLED);
+
+        assertEquals(1, state.inFlight());
+        assertSame(state, upstreams.state(instance(9001)));
+        assertEquals(1.0, meterRegistry.get("gateway.lb.in.flight").tag("instance", "localhost:9001").gauge().value());
+    }
+
+    @Test
+    void testConsecutiveFailuresEjectInstance() {
+        fail(first, 2);
+        assertFalse(upstreams.state(first).isEjected());
+
+        fail(first, 1);
+
+        assertTrue(upstreams.state(first).isEjected());
+        assertEquals(List.of(second, third), upstreams.eligible(List.of(first, second, third)));
+        assertEquals(1.0, meterRegistry.get("gateway.lb.ejections").tag("instance", "localhost:9001").counter().count());
+    }
+
+    @Test
+    void testSuccessResetsFailureRun() {
+        fail(first, 2);
+        succeed(first);
+        fail(first, 2);
+
+        assertFalse(upstreams.state(first).isEjected());
+    }
+
+    @Test
+    void testCancelledRequestsDoNotCount() {
+        fail(first, 2);
+        UpstreamInstances.InstanceState state = upstreams.state(first);
+        state.start();
+        state.finish(UpstreamInstances.Outcome.CANCELLED);
+
+        assertFalse(state.isEjected());
+        fail(first, 1);
+        assertTrue(state.isEjected());
+    }
+
+    @Test
+    void testEjectionExpiresAndGrowsWhenRepeated() {
+        fail(first, 3);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertFalse(upstreams.state(first).isEjected());
+
+        fail(first, 3);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertTrue(upstreams.state(first).isEjected());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertFalse(upstreams.state(first).isEjected());
+
+        // A success after recovering starts over at the base time
+        succeed(first);
+        fail(first, 3);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertFalse(upstreams.state(first).isEjected());
+    }
+
+    @Test
+    void testEjectionIsCappedAtMaxTime() {
+        for (int i = 0; i < 5; i++) {
+            fail(first, 3);
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(75));
+            assertFalse(upstreams.state(first).isEjected());
+        }
+    }
+
+    @Test
+    void testEjectionIgnoredBeyondMaxPercent() {
+        List<ServiceInstance> instances = List.of(first, second, third);
+        fail(first, 3);
+        fail(second, 3);
+
+        assertEquals(instances, upstreams.eligible(instances));
+    }
+
+    @Test
+    void testSingleInstanceIsNeverLeftOut() {
+        fail(first, 3);
+
+        assertEquals(List.of(first), upstreams.eligible(List.of(first)));
+    }
+
+    private void fail(ServiceInstance instance, int times) {
+        for (int i = 0; i < times; i++) {
+            UpstreamInstances.InstanceState state = upstreams.state(instance);
+            state.start();
+            state.finish(UpstreamInstances.Outcome.FAILURE);
+        }
+    }
+
+    private void succeed(ServiceInstance instance) {
+        UpstreamInstances.InstanceState state = upstreams.state(instance);
+        state.start();
+        state.finish(UpstreamInstances.Outcome.SUCCESS);
+    }
+
+    private static ServiceInstance instance(int port) {
+        return new DefaultServiceInstance("post-service-" + port, "post-service", "localhost", port, false);
+    }
+}
@@ -0,0 +1,78 @@
+package com.vividverse.apigateway.security;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.vividverse.apigateway.filter.SessionTokenFilter;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Latency added by session token verification at the gateway.
+ * Run with: mvn -pl vividverse-api-gateway test-compile, then execute main() with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionTokenVerifierBenchmark {
+
+    private SessionTokenVerifier verifier;
+    private SessionTokenFilter filter;
+    private String token;
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[32];
+        verifier = new SessionTokenVerifier(key, Clock.systemUTC());
+        filter = new SessionTokenFilter(verifier);
+        token = SessionTokens.mint(key, UUID.randomUUID(), "Benchmark User", Instant.now().getEpochSecond() + 3600);
+    }
+
+    @Benchmark
+    public SessionIdentity verifyToken() {
+        return verifier.verify(token);
+    }
+
+    // Whole filter including the header rewrite; the mock exchange setup is included in the cost
+    @Benchmark
+    public Object filterAuthenticatedRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        return filter.filter(exchange, chain).block();
+    }
+
+    // Baseline: the same exchange without a token
+    @Benchmark
+    public Object filterAnonymousRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts"));
+        return filter.filter(exchange, chain).block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SessionTokenVerifierBenchmark.class.getSimpleName()).build()).run();
+    }
+}
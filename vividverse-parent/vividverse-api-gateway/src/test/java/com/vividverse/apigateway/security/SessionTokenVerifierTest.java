@@ -0,0 +1,70 @@
+package com.vividverse.apigateway.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class SessionTokenVerifierTest {
+
+    private static final byte[] KEY = new byte[32];
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final long EXPIRES_AT = NOW.getEpochSecond() + 3600;
+
+    private final SessionTokenVerifier verifier = new SessionTokenVerifier(KEY, Clock.fixed(NOW, ZoneOffset.UTC));
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void testValidToken() {
+        SessionIdentity identity = verifier.verify(SessionTokens.mint(KEY, userId, "Zoë Example", EXPIRES_AT));
+
+        assertNotNull(identity);
+        assertEquals(userId, identity.userId());
+        assertEquals("Zoë Example", identity.displayName());
+        assertEquals(EXPIRES_AT, identity.expiresAtEpochSecond());
+    }
+
+    @Test
+    void testExpiredToken() {
+        assertNull(verifier.verify(SessionTokens.mint(KEY, userId, "Test User", NOW.getEpochSecond())));
+    }
+
+    @Test
+    void testTokenSignedWithOtherKey() {
+        byte[] otherKey = new byte[32];
+        Arrays.fill(otherKey, (byte) 7);
+
+        assertNull(verifier.verify(SessionTokens.mint(otherKey, userId, "Test User", EXPIRES_AT)));
+    }
+
+    @Test
+    void testTamperedPayload() {
+        String token = SessionTokens.mint(KEY, userId, "Test User", EXPIRES_AT);
+        String forged = SessionTokens.mint(KEY, UUID.randomUUID(), "Test User", EXPIRES_AT);
+        String spliced = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertNull(verifier.verify(spliced));
+    }
+
+    @Test
+    void testMalformedTokens() {
+        assertNull(verifier.verify(null));
+        assertNull(verifier.verify(""));
+        assertNull(verifier.verify("no-dot"));
+        assertNull(verifier.verify(".signature"));
+        assertNull(verifier.verify("a.b.c"));
+        assertNull(verifier.verify("!!!.???"));
+        assertNull(verifier.verify("AQ.AQ")); // Too short to hold the fixed fields
+        assertNull(verifier.verify("x".repeat(2_000) + ".y"));
+    }
+
+    @Test
+    void testRejectsShortKey() {
+        assertThrows(IllegalArgumentException.class, () -> new SessionTokenVerifier(new byte[16], Clock.systemUTC()));
+    }
+}
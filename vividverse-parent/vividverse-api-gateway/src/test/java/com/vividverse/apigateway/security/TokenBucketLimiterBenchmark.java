@@ -0,0 +1,104 @@
+package com.vividverse.apigateway.security;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.vividverse.apigateway.filter.LocalRateLimitGatewayFilterFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Latency added by local rate limiting at the gateway; the budget is well under 10µs per request.
+ * Run with: mvn -pl vividverse-api-gateway test-compile, then execute main() with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBucketLimiterBenchmark {
+
+    private static final int CLIENTS = 50_000;
+
+    private TokenBucketLimiter limiter;
+    private GatewayFilter filter;
+    private String[] keys;
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    @Setup
+    public void setUp() {
+        // A high rate keeps the hot key mostly allowed, so calls take the CAS path rather than the cheaper rejection
+        limiter = new TokenBucketLimiter(1_000_000, 1_000_000, 100_000);
+        LocalRateLimitGatewayFilterFactory.Config config = new LocalRateLimitGatewayFilterFactory.Config();
+        config.setReplenishRate(1_000_000);
+        config.setBurstCapacity(1_000_000);
+        config.setRouteId("benchmark");
+        filter = new LocalRateLimitGatewayFilterFactory(100_000, new SimpleMeterRegistry()).apply(config);
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "ip:10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+            limiter.tryAcquire(keys[i]);
+        }
+    }
+
+    @Benchmark
+    public TokenBucketLimiter.Decision singleClient() {
+        return limiter.tryAcquire(keys[0]);
+    }
+
+    // Lookups spread over many tracked clients, as with real traffic
+    @Benchmark
+    public TokenBucketLimiter.Decision manyClients() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    // Worst case for the CAS loop: every thread hits the same bucket
+    @Benchmark
+    @Threads(4)
+    public TokenBucketLimiter.Decision contendedClient() {
+        return limiter.tryAcquire(keys[0]);
+    }
+
+    // Whole filter including the response headers; the mock exchange setup is included in the cost
+    @Benchmark
+    public Object filterRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts")
+            .remoteAddress(new InetSocketAddress("10.0.0.1", 52_000)));
+        return filter.filter(exchange, chain).block();
+    }
+
+    // Baseline for filterRequest: the same exchange passed straight to the chain
+    @Benchmark
+    public Object baselineRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts")
+            .remoteAddress(new InetSocketAddress("10.0.0.1", 52_000)));
+        return chain.filter(exchange).block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TokenBucketLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.vividverse.apigateway.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+
+    @Test
+    void testBurstIsAllowedThenRejected() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 3, 100, clock::get);
+
+        assertEquals(2, limiter.tryAcquire("ip:10.0.0.1").remaining());
+        assertEquals(1, limiter.tryAcquire("ip:10.0.0.1").remaining());
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1").remaining());
+        TokenBucketLimiter.Decision rejected = limiter.tryAcquire("ip:10.0.0.1");
+
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rejected.retryAfterNanos());
+    }
+
+    @Test
+    void testTokensRefillOverTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 2, 100, clock::get);
+        limiter.tryAcquire("user:a");
+        limiter.tryAcquire("user:a");
+        assertFalse(limiter.tryAcquire("user:a").allowed());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertTrue(limiter.tryAcquire("user:a").allowed());
+        assertFalse(limiter.tryAcquire("user:a").allowed());
+    }
+
+    @Test
+    void testIdleBucketRefillsToBurstOnly() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 3, 100, clock::get);
+        limiter.tryAcquire("user:a");
+
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(2, limiter.tryAcquire("user:a").remaining());
+    }
+
+    @Test
+    void testRejectedRequestsDoNotConsumeTokens() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100, clock::get);
+        limiter.tryAcquire("user:a");
+        for (int i = 0; i < 10; i++) {
+            assertFalse(limiter.tryAcquire("user:a").allowed());
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(limiter.tryAcquire("user:a").allowed());
+    }
+
+    @Test
+    void testKeysHaveIndependentBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100, clock::get);
+
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1").allowed());
+        assertTrue(limiter.tryAcquire("ip:10.0.0.2").allowed());
+        assertFalse(limiter.tryAcquire("ip:10.0.0.1").allowed());
+        assertEquals(2, limiter.trackedKeys());
+    }
+
+    @Test
+    void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, 10, 100));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, 10, 0));
+    }
+}
@@ -0,0 +1,153 @@
+package com.vividverse.comment.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vividverse.comment.dto.CommentResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache of each post's full comment list, held as the JSON bytes
+ * GET /comments/post/{postId} returns, so a hit skips both Mongo and Jackson.
+ * Caffeine bounds it by total encoded size (W-TinyLFU) and expires entries after a TTL.
+ * New comments are appended to a cached list in place (write-through); when that
+ * cannot keep the list in its stored order the entry is dropped instead.
+ * Hit/miss/eviction counters are published as "cache.*" metrics.
+ * Only writes handled by this instance update it; a second comment-service instance would
+ * keep serving its own lists, without the other's comments, until the TTL expires.
+ */
+@Component
+public class CommentListCache {
+
+    // Rough per-entry bookkeeping on top of the encoded bytes, so tiny lists still count
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final Cache<UUID, Entry> lists;
+    private final ObjectMapper objectMapper;
+
+    public CommentListCache(@Value("${vividverse.comment.cache.max-size:64MB}") DataSize maxSize,
+                            @Value("${vividverse.comment.cache.ttl:10m}") Duration ttl,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.lists = Caffeine.newBuilder()
+                             .maximumWeight(maxSize.toBytes())
+                             .weigher((UUID postId, Entry entry) -> entry.json().length + ENTRY_OVERHEAD_BYTES)
+                             .expireAfterWrite(ttl)
+                             .recordStats()
+                             .build();
+        this.objectMapper = objectMapper;
+        CaffeineCacheMetrics.monitor(meterRegistry, lists, "commentLists");
+    }
+
+    /**
+     * Returns the encoded comment list of a post, loading and encoding it on a miss
+     * @param postId the post
+     * @param loader loads the post's comments in createdAt order
+     * @return the list as a JSON array
+     */
+    public byte[] getJson(UUID postId, Function<UUID, List<CommentResponse>> loader) {
+        if (postId == null) {
+            return load(null, loader).json(); // Caffeine keys cannot be null
+        }
+        return lists.get(postId, key -> load(key, loader)).json();
+    }
+
+    /**
+     * Appends a stored comment to its post's cached list, if the post is cached.
+     * Runs atomically with any load of the same post, so a list read just before
+     * the comment was stored still receives it and one read just after is left alone.
+     * @param comment the comment as returned by addComment
+     */
+    public void append(CommentResponse comment) {
+        if (comment.getPostId() == null) {
+            return;
+        }
+        // Mongo keeps milliseconds; encode what a reload would return
+        CommentResponse stored = withStoredPrecision(comment);
+        byte[] encoded = encode(stored);
+        lists.asMap().computeIfPresent(comment.getPostId(), (postId, entry) -> entry.append(stored, encoded));
+    }
+
+    /**
+     * Drops a post's cached list
+     * @param postId the post
+     */
+    public void invalidate(UUID postId) {
+        lists.invalidate(postId);
+    }
+
+    private Entry load(UUID postId, Function<UUID, List<CommentResponse>> loader) {
+        List<CommentResponse> comments = loader.apply(postId);
+        CommentResponse newest = comments.isEmpty() ? null : comments.get(comments.size() - 1);
+        return new Entry(encode(comments),
+                         newest == null ? null : truncate(newest.getCreatedAt()),
+                         newest == null ? null : newest.getId());
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CommentResponse withStoredPrecision(CommentResponse comment) {
+        CommentResponse copy = new CommentResponse();
+        copy.setId(comment.getId());
+        copy.setPostId(comment.getPostId());
+        copy.setUserId(comment.getUserId());
+        copy.setParentCommentId(comment.getParentCommentId());
+        copy.setContent(comment.getContent());
+        copy.setCreatedAt(truncate(comment.getCreatedAt()));
+        return copy;
+    }
+
+    private static LocalDateTime truncate(LocalDateTime createdAt) {
+        return createdAt == null ? null : createdAt.truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    /**
+     * An encoded list and its last comment, which tells whether an append keeps createdAt order
+     */
+    private record Entry(byte[] json, LocalDateTime newestCreatedAt, String newestId) {
+
+        /**
+         * @return the entry with the comment appended, or null (drop the entry) when the comment
+         *         is already in the list or does not sort strictly after its last comment
+         */
+        Entry append(CommentResponse comment, byte[] encoded) {
+            boolean inOrder = comment.getCreatedAt() != null
+                && (newestCreatedAt == null ? newestId == null : comment.getCreatedAt().isAfter(newestCreatedAt));
+            if (!inOrder) {
+                return null;
+            }
+            // "[" + "]" -> "[" + comment + "]";  "[...]" -> "[..." + "," + comment + "]"
+            boolean empty = newestId == null;
+            byte[] appended = new byte[json.length + encoded.length + (empty ? 0 : 1)];
+            System.arraycopy(json, 0, appended, 0, json.length - 1);
+            int position = json.length - 1;
+            if (!empty) {
+                appended[position++] = ',';
+            }
+            System.arraycopy(encoded, 0, appended, position, encoded.length);
+            appended[appended.length - 1] = ']';
+            return new Entry(appended, comment.getCreatedAt(), comment.getId());
+        }
+    }
+}
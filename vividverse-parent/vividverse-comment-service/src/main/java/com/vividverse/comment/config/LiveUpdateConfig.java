@@ -0,0 +1,24 @@
+package com.vividverse.comment.config;
+
+import java.util.UUID;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import com.vividverse.common.live.LiveUpdateConfiguration;
+import com.vividverse.common.live.LiveUpdateHub;
+import com.vividverse.common.live.LiveUpdateHubFactory;
+
+/**
+ * The live comment hub, keyed by post id
+ */
+@Configuration
+@Import(LiveUpdateConfiguration.class)
+public class LiveUpdateConfig {
+
+    @Bean
+    public LiveUpdateHub<UUID> commentUpdates(LiveUpdateHubFactory hubs) {
+        return hubs.create("comments");
+    }
+}
@@ -0,0 +1,61 @@
+package com.vividverse.comment.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import com.vividverse.comment.entity.Comment;
+import com.vividverse.comment.repository.CommentBuckets;
+
+/**
+ * Creates the indexes declared on {@link Comment} at startup, before traffic is served.
+ * Spring Data's implicit auto-index creation is switched off (it only runs lazily when an
+ * entity is first touched); this keeps index creation explicit and lets a deployment that
+ * manages indexes out of band turn it off with vividverse.comment.mongo.ensure-indexes=false.
+ * With vividverse.comment.storage=buckets the bucket collection's indexes are ensured as well.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean ensureIndexes;
+    private final boolean bucketed;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate,
+                            @Value("${vividverse.comment.mongo.ensure-indexes:true}") boolean ensureIndexes,
+                            @Value("${vividverse.comment.storage:documents}") String storage) {
+        this.mongoTemplate = mongoTemplate;
+        this.ensureIndexes = ensureIndexes;
+        this.bucketed = "buckets".equals(storage);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        if (!ensureIndexes) {
+            return;
+        }
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        IndexOperations indexOps = mongoTemplate.indexOps(Comment.class);
+        // Idempotent: existing indexes with the same definition are left untouched
+        resolver.resolveIndexFor(Comment.class).forEach(index -> {
+            String name = indexOps.ensureIndex(index);
+            log.info("Ensured index {} on comments", name);
+        });
+        if (bucketed) {
+            IndexOperations bucketIndexOps = mongoTemplate.indexOps(CommentBuckets.COLLECTION);
+            CommentBuckets.indexes().forEach(index -> {
+                String name = bucketIndexOps.ensureIndex(index);
+                log.info("Ensured index {} on {}", name, CommentBuckets.COLLECTION);
+            });
+        }
+    }
+}
@@ -2,12 +2,22 @@ package com.vividverse.comment.controller;
 
 import com.vividverse.comment.dto.CommentCreateRequest;
 import com.vividverse.comment.dto.CommentResponse;
+import com.vividverse.comment.dto.CommentThreadResponse;
+import com.vividverse.comment.dto.SliceResponse;
+import com.vividverse.comment.live.LiveCommentStreams;
 import com.vividverse.comment.service.CommentService;
+import com.vividverse.comment.service.CommentStreamService;
+import com.vividverse.comment.service.CommentWriteBusyException;
+import com.vividverse.comment.service.CommentWritePendingException;
+import com.vividverse.common.live.TooManySubscribersException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
 import java.util.UUID;
 
 @RestController
@@ -15,21 +25,84 @@ import java.util.UUID;
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentStreamService commentStreamService;
+    private final LiveCommentStreams liveCommentStreams;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, CommentStreamService commentStreamService,
+                             LiveCommentStreams liveCommentStreams) {
         this.commentService = commentService;
+        this.commentStreamService = commentStreamService;
+        this.liveCommentStreams = liveCommentStreams;
     }
 
     @PostMapping
     public ResponseEntity<CommentResponse> addComment(@Valid @RequestBody CommentCreateRequest request) {
-        CommentResponse newComment = commentService.addComment(request);
-        return new ResponseEntity<>(newComment, HttpStatus.CREATED);
+        try {
+            CommentResponse newComment = commentService.addComment(request);
+            return new ResponseEntity<>(newComment, HttpStatus.CREATED);
+        } catch (CommentWriteBusyException e) {
+            // Write buffer is full: fail fast and ask the client to back off
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                 .header(HttpHeaders.RETRY_AFTER, "1")
+                                 .build();
+        } catch (CommentWritePendingException e) {
+            // Queued but not yet acknowledged: the client gets the id and must not post it again
+            return new ResponseEntity<>(e.getComment(), HttpStatus.ACCEPTED);
+        }
     }
 
     @GetMapping("/post/{postId}") // Endpoint to get comments for a specific post
-    public ResponseEntity<List<CommentResponse>> getCommentsForPost(@PathVariable UUID postId) {
-        List<CommentResponse> comments = commentService.getCommentsForPost(postId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<byte[]> getCommentsForPost(@PathVariable UUID postId) {
+        // Pre-encoded JSON from the comment list cache, written as-is without Jackson
+        byte[] comments = commentService.getCommentsForPostJson(postId);
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_JSON)
+                             .body(comments);
+    }
+
+    // Same list for clients sending Accept: application/x-ndjson, one comment per line, written as the
+    // cursor delivers them; the request thread is released and demand follows the client's reads
+    @GetMapping(value = "/post/{postId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CommentResponse> streamCommentsForPost(@PathVariable UUID postId) {
+        return commentStreamService.streamCommentsForPost(postId);
+    }
+
+    // Server-Sent Events: pushes each new comment on the post as a "comment" event; EventSource reconnects on timeout
+    @GetMapping(value = "/post/{postId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNewComments(@PathVariable UUID postId) {
+        try {
+            return ResponseEntity.ok(liveCommentStreams.open(postId));
+        } catch (TooManySubscribersException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                 .header(HttpHeaders.RETRY_AFTER, "5")
+                                 .build();
+        }
+    }
+
+    @GetMapping("/post/{postId}/threads") // Paged root comments with their first replies embedded
+    public ResponseEntity<SliceResponse<CommentThreadResponse>> getThreadsForPost(
+            @PathVariable UUID postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "3") int replies) {
+        try {
+            return ResponseEntity.ok(commentService.getThreadsForPost(postId, cursor, limit, replies));
+        } catch (IllegalArgumentException e) {
+            // Malformed or tampered cursor
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/{commentId}/replies") // Further replies of a thread, continuing from its cursor
+    public ResponseEntity<SliceResponse<CommentResponse>> getReplies(
+            @PathVariable String commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(commentService.getReplies(commentId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 }
 
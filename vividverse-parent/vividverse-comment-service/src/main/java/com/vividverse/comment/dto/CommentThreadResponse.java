@@ -0,0 +1,14 @@
+package com.vividverse.comment.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import java.util.List;
+
+// A root comment with its first replies; the rest are paged via GET /comments/{id}/replies
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class CommentThreadResponse extends CommentResponse {
+    private List<CommentResponse> replies;
+    private long replyCount; // Total direct replies, including those not embedded
+    private String moreRepliesCursor; // Null when every direct reply is embedded; empty = from the first reply
+}
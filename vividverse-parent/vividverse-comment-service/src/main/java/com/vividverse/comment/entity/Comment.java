@@ -1,17 +1,28 @@
 package com.vividverse.comment.entity;
 
 import lombok.Data;
+import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id; // MongoDB specific ID
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document; // Marks as MongoDB document
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Document(collection = "comments") // Maps to 'comments' collection in MongoDB
+@CompoundIndexes({
+    // findByPostIdOrderByCreatedAtAsc: equality on postId, then already in createdAt order
+    @CompoundIndex(name = "post_created_idx", def = "{'postId': 1, 'createdAt': 1}"),
+    // Top-level comments of a post in (createdAt, id) order: roots have parentCommentId = null
+    @CompoundIndex(name = "post_root_created_idx", def = "{'postId': 1, 'parentCommentId': 1, 'createdAt': 1, '_id': 1}"),
+    // findByParentCommentIdOrderByCreatedAtAsc and the paged reply queries; also serves the per-thread first replies and counts
+    @CompoundIndex(name = "parent_created_idx", def = "{'parentCommentId': 1, 'createdAt': 1, '_id': 1}")
+})
 @Data
 public class Comment {
 
     @Id // Marks this field as the primary key for MongoDB
-    private String id; // MongoDB IDs are typically Strings
+    private String id; // ObjectId hex string; stored as a native 12-byte ObjectId
 
     private UUID postId; // Logical FK to Post Service
     private UUID userId; // Logical FK to User Service
@@ -22,7 +33,8 @@ public class Comment {
     private LocalDateTime createdAt;
 
     public Comment() {
-        this.id = UUID.randomUUID().toString(); // Generate UUID string for MongoDB ID
+        // Time-ordered ObjectId: inserts append to the right edge of the _id index
+        this.id = new ObjectId().toHexString();
         this.createdAt = LocalDateTime.now();
     }
 }
@@ -0,0 +1,7 @@
+package com.vividverse.comment.live;
+
+import com.vividverse.comment.dto.CommentResponse;
+
+// Published by CommentService once a comment is stored
+public record CommentCreatedEvent(CommentResponse comment) {
+}
@@ -0,0 +1,44 @@
+package com.vividverse.comment.live;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.vividverse.common.live.LiveUpdateHub;
+import com.vividverse.common.live.SseEventSink;
+import com.vividverse.common.live.TooManySubscribersException;
+
+/**
+ * Live comment streams per post: opens SSE subscriptions on the comment hub and
+ * forwards every stored comment to the subscribers of its post.
+ */
+@Component
+public class LiveCommentStreams {
+
+    private final LiveUpdateHub<UUID> commentUpdates;
+    private final long streamTimeoutMillis;
+
+    public LiveCommentStreams(LiveUpdateHub<UUID> commentUpdates,
+                              @Value("${vividverse.live.stream-timeout:30m}") Duration streamTimeout) {
+        this.commentUpdates = commentUpdates;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    /**
+     * @throws TooManySubscribersException if the hub is at its subscriber limit
+     */
+    public SseEmitter open(UUID postId) {
+        return SseEventSink.subscribe(commentUpdates, postId, "comment", streamTimeoutMillis);
+    }
+
+    @EventListener
+    public void onCommentCreated(CommentCreatedEvent event) {
+        if (event.comment().getPostId() != null) {
+            commentUpdates.publish(event.comment().getPostId(), event.comment());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.vividverse.comment.migration;
+
+import java.util.Date;
+
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
+import com.vividverse.comment.entity.Comment;
+
+/**
+ * One-off migration of comments created with random UUID string ids to ObjectIds.
+ * Each new ObjectId is derived from the comment's createdAt, so _id order matches
+ * creation order. Replies are re-pointed at the new parent ids. The old to new
+ * mapping is kept in "comment_id_migration" so an interrupted run can be resumed,
+ * and {@link LegacyCommentIds} uses it to serve clients that still hold an old id.
+ * Runs without write downtime: once a comment's mapping exists, new replies to its
+ * old id are stored under the new one, and replies saved before that are re-pointed
+ * in phase 2. Until phase 2 finishes, a migrated comment's older replies are still
+ * listed under its old id. A reply whose parent lookup raced phase 2 is re-pointed
+ * by running the migration again.
+ * Enable for a single start with --vividverse.comment.migration.object-ids=true.
+ */
+@Component
+@ConditionalOnProperty(name = "vividverse.comment.migration.object-ids", havingValue = "true")
+public class CommentIdMigration implements ApplicationRunner {
+
+    static final String MAPPING_COLLECTION = "comment_id_migration";
+
+    private static final Logger log = LoggerFactory.getLogger(CommentIdMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public CommentIdMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long migrated = migrate();
+        log.info("Migrated {} comments to ObjectId ids", migrated);
+    }
+
+    /**
+     * Rewrites every comment whose _id is still a string; safe to run repeatedly
+     * @return the number of comments whose ids were rewritten in this run
+     */
+    public long migrate() {
+        MongoCollection<Document> comments = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Comment.class));
+        MongoCollection<Document> mappings = mongoTemplate.getCollection(MAPPING_COLLECTION);
+
+        // Phase 1: copy each legacy document under its new id, then drop the original (_id is immutable)
+        long migrated = 0;
+        for (Document legacy : comments.find(Filters.type("_id", BsonType.STRING)).batchSize(1_000)) {
+            String oldId = legacy.getString("_id");
+            Document mapping = mappings.find(Filters.eq("_id", oldId)).first();
+            ObjectId newId;
+            if (mapping != null) {
+                newId = mapping.getObjectId("newId"); // Resume after an interrupted run
+            } else {
+                Date createdAt = legacy.getDate("createdAt");
+                newId = createdAt != null ? new ObjectId(createdAt) : new ObjectId();
+                mappings.insertOne(new Document("_id", oldId).append("newId", newId));
+            }
+            Document copy = new Document(legacy);
+            copy.put("_id", newId);
+            comments.replaceOne(Filters.eq("_id", newId), copy, new ReplaceOptions().upsert(true));
+            comments.deleteOne(Filters.eq("_id", oldId));
+            migrated++;
+        }
+
+        // Phase 2: re-point replies, which reference parents by id string
+        for (Document mapping : mappings.find().batchSize(1_000)) {
+            comments.updateMany(Filters.eq("parentCommentId", mapping.getString("_id")),
+                                Updates.set("parentCommentId", mapping.getObjectId("newId").toHexString()));
+        }
+        return migrated;
+    }
+}
@@ -0,0 +1,159 @@
+package com.vividverse.comment.migration;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import com.vividverse.comment.entity.Comment;
+import com.vividverse.comment.repository.CommentBuckets;
+
+/**
+ * Copies comments between the document-per-comment layout and the bucketed layout
+ * ({@link CommentBuckets}). Set vividverse.comment.migration.layout to "buckets" or "documents"
+ * for a single start, together with the matching vividverse.comment.storage, ideally while
+ * the service takes no writes. Both directions are safe to re-run after an interruption:
+ * a re-run first removes whatever a previous attempt copied.
+ * The source is kept, so switching vividverse.comment.storage back undoes the move. It is
+ * deleted only with vividverse.comment.migration.delete-source=true, which should not be set
+ * before BucketedCommentRepositoryTest#testMigrationRoundTrip has passed against the MongoDB
+ * version in production.
+ */
+@Component
+@ConditionalOnProperty(name = "vividverse.comment.migration.layout")
+public class CommentLayoutMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentLayoutMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final String target;
+    private final int bucketSize;
+    private final boolean deleteSource;
+
+    public CommentLayoutMigration(MongoTemplate mongoTemplate,
+                                  @Value("${vividverse.comment.migration.layout}") String target,
+                                  @Value("${vividverse.comment.bucket-size:100}") int bucketSize,
+                                  @Value("${vividverse.comment.migration.delete-source:false}") boolean deleteSource) {
+        if (!"buckets".equals(target) && !"documents".equals(target)) {
+            throw new IllegalArgumentException("vividverse.comment.migration.layout must be 'buckets' or 'documents'");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.target = target;
+        this.bucketSize = bucketSize;
+        this.deleteSource = deleteSource;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long copied = "buckets".equals(target) ? toBuckets() : toDocuments();
+        log.info("Copied {} comments to the {} layout{}", copied, target, deleteSource ? " and deleted the source" : "");
+    }
+
+    /**
+     * Packs each post's comment documents into buckets of bucket-size, oldest first
+     * @return the number of comments copied
+     */
+    public long toBuckets() {
+        MongoCollection<Document> comments = comments();
+        MongoCollection<Document> buckets = buckets();
+        long copied = 0;
+        for (BsonValue postId : comments.distinct("postId", BsonValue.class)) {
+            List<Document> source = comments.find(eq("postId", postId))
+                .sort(Sorts.ascending("createdAt", "_id"))
+                .into(new ArrayList<>());
+            List<Object> ids = source.stream().map(document -> document.get("_id")).toList();
+
+            // Undo an earlier copy; the originals are still in "comments"
+            removeCopies(buckets, postId, ids);
+
+            List<Document> packed = new ArrayList<>();
+            for (int start = 0; start < source.size(); start += bucketSize) {
+                List<Document> entries = new ArrayList<>(source.subList(start, Math.min(start + bucketSize, source.size())));
+                entries.forEach(entry -> entry.remove("_class"));
+                packed.add(CommentBuckets.newBucket(postId, entries));
+            }
+            if (!packed.isEmpty()) {
+                buckets.insertMany(packed);
+                if (deleteSource) {
+                    comments.deleteMany(in("_id", ids));
+                }
+                copied += ids.size();
+            }
+        }
+        return copied;
+    }
+
+    // Pulls the given comments out of a post's buckets, fixing each count and dropping emptied buckets
+    private static void removeCopies(MongoCollection<Document> buckets, BsonValue postId, List<Object> ids) {
+        Bson copies = and(eq(CommentBuckets.POST_ID, postId), in(CommentBuckets.COMMENTS + "._id", ids));
+        Set<Object> removed = new HashSet<>(ids);
+        for (Document bucket : buckets.find(copies).projection(Projections.include(CommentBuckets.COMMENTS + "._id"))) {
+            List<Document> entries = bucket.getList(CommentBuckets.COMMENTS, Document.class);
+            int kept = (int) entries.stream().filter(entry -> !removed.contains(entry.get("_id"))).count();
+            if (kept == 0) {
+                buckets.deleteOne(eq("_id", bucket.get("_id")));
+            } else {
+                buckets.updateOne(eq("_id", bucket.get("_id")),
+                                  Updates.combine(Updates.pull(CommentBuckets.COMMENTS, new Document("_id", new Document("$in", ids))),
+                                                  Updates.set(CommentBuckets.COUNT, kept)));
+            }
+        }
+    }
+
+    /**
+     * Unpacks every bucket into one document per comment
+     * @return the number of comments copied
+     */
+    public long toDocuments() {
+        MongoCollection<Document> comments = comments();
+        MongoCollection<Document> buckets = buckets();
+        long copied = 0;
+        for (Document bucket : buckets.find().batchSize(100)) {
+            List<ReplaceOneModel<Document>> writes = new ArrayList<>();
+            for (Document entry : bucket.getList(CommentBuckets.COMMENTS, Document.class)) {
+                // Round-trip through the converter so the document carries the usual type key
+                Document document = new Document();
+                mongoTemplate.getConverter().write(CommentBuckets.fromEntry(mongoTemplate, entry), document);
+                writes.add(new ReplaceOneModel<>(eq("_id", document.get("_id")), document, new ReplaceOptions().upsert(true)));
+            }
+            if (!writes.isEmpty()) {
+                comments.bulkWrite(writes);
+            }
+            if (deleteSource) {
+                buckets.deleteOne(eq("_id", bucket.get("_id")));
+            }
+            copied += writes.size();
+        }
+        return copied;
+    }
+
+    private MongoCollection<Document> comments() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Comment.class));
+    }
+
+    private MongoCollection<Document> buckets() {
+        return mongoTemplate.getCollection(CommentBuckets.COLLECTION);
+    }
+}
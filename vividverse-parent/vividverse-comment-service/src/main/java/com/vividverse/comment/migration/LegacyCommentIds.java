@@ -0,0 +1,37 @@
+package com.vividverse.comment.migration;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.model.Filters;
+
+/**
+ * Translates comment ids from before {@link CommentIdMigration} into the ObjectIds they
+ * were migrated to, so clients still holding an old id can reply to and page that comment.
+ * Ids that are already ObjectIds are returned without a lookup.
+ */
+@Component
+public class LegacyCommentIds {
+
+    private final MongoTemplate mongoTemplate;
+
+    public LegacyCommentIds(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * @param commentId a comment id in either format, or null
+     * @return the migrated id if the comment has one, otherwise commentId unchanged
+     */
+    public String resolve(String commentId) {
+        if (commentId == null || ObjectId.isValid(commentId)) {
+            return commentId;
+        }
+        Document mapping = mongoTemplate.getCollection(CommentIdMigration.MAPPING_COLLECTION)
+                                        .find(Filters.eq("_id", commentId))
+                                        .first();
+        return mapping != null ? mapping.getObjectId("newId").toHexString() : commentId;
+    }
+}
@@ -0,0 +1,300 @@
+package com.vividverse.comment.repository;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.lte;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import com.vividverse.comment.entity.Comment;
+
+/**
+ * {@link CommentStore} over the bucketed layout described in {@link CommentBuckets}.
+ * Replaces {@link DocumentCommentStore} when vividverse.comment.storage=buckets;
+ * callers see the same entities and ordering.
+ */
+@Repository
+@ConditionalOnProperty(name = "vividverse.comment.storage", havingValue = "buckets")
+public class BucketedCommentRepository implements CommentStore {
+
+    private static final Comparator<Comment> CREATED_ORDER =
+        Comparator.comparing(Comment::getCreatedAt).thenComparing(Comment::getId);
+
+    private final MongoTemplate mongoTemplate;
+    private final int bucketSize;
+
+    public BucketedCommentRepository(MongoTemplate mongoTemplate,
+                                     @Value("${vividverse.comment.bucket-size:100}") int bucketSize) {
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException("vividverse.comment.bucket-size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.bucketSize = bucketSize;
+    }
+
+    @Override
+    public List<Comment> findByPostIdOrderByCreatedAtAsc(UUID postId) {
+        return collect(eq(CommentBuckets.POST_ID, postId), comment -> true);
+    }
+
+    @Override
+    public List<Comment> findByParentCommentIdOrderByCreatedAtAsc(String parentCommentId) {
+        return collect(eq(CommentBuckets.COMMENTS + ".parentCommentId", parentCommentId),
+                       comment -> parentCommentId.equals(comment.getParentCommentId()));
+    }
+
+    @Override
+    public List<Comment> findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(UUID postId, Pageable limit) {
+        return page(eq(CommentBuckets.POST_ID, postId), comment -> comment.getParentCommentId() == null, null, null, limit);
+    }
+
+    @Override
+    public List<Comment> findRootsAfter(UUID postId, LocalDateTime createdAt, String id, Pageable limit) {
+        return page(eq(CommentBuckets.POST_ID, postId), comment -> comment.getParentCommentId() == null, createdAt, id, limit);
+    }
+
+    @Override
+    public List<Comment> findByParentCommentIdOrderByCreatedAtAscIdAsc(String parentCommentId, Pageable limit) {
+        return page(eq(CommentBuckets.COMMENTS + ".parentCommentId", parentCommentId),
+                    comment -> parentCommentId.equals(comment.getParentCommentId()), null, null, limit);
+    }
+
+    @Override
+    public List<Comment> findRepliesAfter(String parentCommentId, LocalDateTime createdAt, String id, Pageable limit) {
+        return page(eq(CommentBuckets.COMMENTS + ".parentCommentId", parentCommentId),
+                    comment -> parentCommentId.equals(comment.getParentCommentId()), createdAt, id, limit);
+    }
+
+    @Override
+    public List<ReplyGroup> findFirstReplies(Collection<String> parentCommentIds, int limit) {
+        // Groups and counts server-side, so only the first replies of each parent are shipped
+        Document isReply = new Document(CommentBuckets.COMMENTS + ".parentCommentId", new Document("$in", parentCommentIds));
+        List<Document> pipeline = List.of(
+            new Document("$match", isReply),
+            new Document("$unwind", "$" + CommentBuckets.COMMENTS),
+            new Document("$match", isReply),
+            new Document("$replaceRoot", new Document("newRoot", "$" + CommentBuckets.COMMENTS)),
+            new Document("$sort", new Document("createdAt", 1).append("_id", 1)),
+            new Document("$group", new Document("_id", "$parentCommentId")
+                .append("replies", new Document("$push", "$$ROOT"))
+                .append("count", new Document("$sum", 1))),
+            new Document("$project", new Document("replies", new Document("$slice", List.of("$replies", limit)))
+                .append("count", 1)));
+        List<ReplyGroup> groups = new ArrayList<>();
+        for (Document result : buckets().aggregate(pipeline)) {
+            ReplyGroup group = new ReplyGroup();
+            group.setParentCommentId(result.getString("_id"));
+            group.setReplies(result.getList("replies", Document.class).stream()
+                                   .map(entry -> CommentBuckets.fromEntry(mongoTemplate, entry))
+                                   .toList());
+            group.setCount(result.get("count", Number.class).longValue());
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    @Override
+    public <S extends Comment> S save(S comment) {
+        Document entry = CommentBuckets.toEntry(mongoTemplate, comment);
+        UpdateResult replaced = buckets().updateOne(eq(CommentBuckets.COMMENTS + "._id", entry.get("_id")),
+                                                    Updates.set(CommentBuckets.COMMENTS + ".$", entry));
+        if (replaced.getMatchedCount() == 0) {
+            append(entry);
+        }
+        return comment;
+    }
+
+    @Override
+    public <S extends Comment> S insert(S comment) {
+        append(CommentBuckets.toEntry(mongoTemplate, comment));
+        return comment;
+    }
+
+    @Override
+    public <S extends Comment> List<S> saveAll(Iterable<S> comments) {
+        List<S> saved = new ArrayList<>();
+        comments.forEach(comment -> saved.add(save(comment)));
+        return saved;
+    }
+
+    /**
+     * Writes the comments of each post together: what fits goes into the post's open bucket
+     * with one update, the rest into new full buckets with one insertMany.
+     */
+    @Override
+    public <S extends Comment> List<S> insert(Iterable<S> comments) {
+        List<S> inserted = new ArrayList<>();
+        Map<Object, List<Document>> entriesByPost = new LinkedHashMap<>();
+        for (S comment : comments) {
+            Document entry = CommentBuckets.toEntry(mongoTemplate, comment);
+            entriesByPost.computeIfAbsent(entry.get("postId"), postId -> new ArrayList<>()).add(entry);
+            inserted.add(comment);
+        }
+        entriesByPost.forEach(this::appendAll);
+        return inserted;
+    }
+
+    @Override
+    public Optional<Comment> findById(String id) {
+        Object storedId = CommentBuckets.toStoredId(id);
+        Document bucket = buckets().find(eq(CommentBuckets.COMMENTS + "._id", storedId))
+            .projection(Projections.elemMatch(CommentBuckets.COMMENTS, eq("_id", storedId)))
+            .first();
+        if (bucket == null) {
+            return Optional.empty();
+        }
+        List<Document> entries = bucket.getList(CommentBuckets.COMMENTS, Document.class);
+        return Optional.of(CommentBuckets.fromEntry(mongoTemplate, entries.get(0)));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return buckets().countDocuments(eq(CommentBuckets.COMMENTS + "._id", CommentBuckets.toStoredId(id))) > 0;
+    }
+
+    @Override
+    public long count() {
+        Document total = buckets().aggregate(List.of(
+            new Document("$group", new Document("_id", null)
+                .append("n", new Document("$sum", "$" + CommentBuckets.COUNT))))).first();
+        return total == null ? 0 : total.get("n", Number.class).longValue();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        Object storedId = CommentBuckets.toStoredId(id);
+        buckets().updateOne(eq(CommentBuckets.COMMENTS + "._id", storedId),
+                            Updates.combine(Updates.pull(CommentBuckets.COMMENTS, new Document("_id", storedId)),
+                                            Updates.inc(CommentBuckets.COUNT, -1)));
+    }
+
+    @Override
+    public void deleteAll() {
+        buckets().deleteMany(new Document());
+    }
+
+    // Appends to the post's open bucket, or opens a new one when all are full
+    private void append(Document entry) {
+        Object createdAt = entry.get("createdAt");
+        buckets().updateOne(and(eq(CommentBuckets.POST_ID, entry.get("postId")), lt(CommentBuckets.COUNT, bucketSize)),
+                            Updates.combine(Updates.push(CommentBuckets.COMMENTS, entry),
+                                            Updates.inc(CommentBuckets.COUNT, 1),
+                                            Updates.min(CommentBuckets.FIRST_CREATED_AT, createdAt),
+                                            Updates.max(CommentBuckets.LAST_CREATED_AT, createdAt)),
+                            new UpdateOptions().upsert(true));
+    }
+
+    private void appendAll(Object postId, List<Document> entries) {
+        List<Document> remaining = entries;
+        Document open = buckets().find(and(eq(CommentBuckets.POST_ID, postId), lt(CommentBuckets.COUNT, bucketSize)))
+            .projection(Projections.include(CommentBuckets.COUNT))
+            .first();
+        if (open != null) {
+            int fits = Math.min(bucketSize - open.getInteger(CommentBuckets.COUNT), remaining.size());
+            List<Document> head = remaining.subList(0, fits);
+            // The count guard fails if concurrent appends took the room; those entries then go to new buckets
+            UpdateResult pushed = buckets().updateOne(
+                and(eq("_id", open.get("_id")), lte(CommentBuckets.COUNT, bucketSize - fits)),
+                Updates.combine(Updates.pushEach(CommentBuckets.COMMENTS, head),
+                                Updates.inc(CommentBuckets.COUNT, fits),
+                                Updates.min(CommentBuckets.FIRST_CREATED_AT, CommentBuckets.firstCreatedAt(head)),
+                                Updates.max(CommentBuckets.LAST_CREATED_AT, CommentBuckets.lastCreatedAt(head))));
+            if (pushed.getModifiedCount() == 1) {
+                remaining = remaining.subList(fits, remaining.size());
+            }
+        }
+        List<Document> newBuckets = new ArrayList<>();
+        for (int start = 0; start < remaining.size(); start += bucketSize) {
+            newBuckets.add(CommentBuckets.newBucket(postId, remaining.subList(start, Math.min(start + bucketSize, remaining.size()))));
+        }
+        if (!newBuckets.isEmpty()) {
+            buckets().insertMany(newBuckets);
+        }
+    }
+
+    private List<Comment> collect(Bson bucketFilter, Predicate<Comment> matches) {
+        List<Comment> found = new ArrayList<>();
+        for (Document bucket : buckets().find(bucketFilter)) {
+            readEntries(bucket, matches, null, null, found);
+        }
+        found.sort(CREATED_ORDER);
+        return found;
+    }
+
+    /**
+     * Walks the matching buckets in firstCreatedAt order and stops once the next bucket
+     * starts after the last comment the page needs. Buckets of a post rarely overlap in
+     * time (only when two were open at once), so a page costs one or two bucket reads.
+     */
+    private List<Comment> page(Bson bucketFilter, Predicate<Comment> matches,
+                               LocalDateTime afterCreatedAt, String afterId, Pageable limit) {
+        int size = limit.getPageSize();
+        Bson filter = afterCreatedAt == null ? bucketFilter
+            : and(bucketFilter, gte(CommentBuckets.LAST_CREATED_AT, toMongo(afterCreatedAt)));
+        List<Comment> found = new ArrayList<>();
+        for (Document bucket : buckets().find(filter).sort(Sorts.ascending(CommentBuckets.FIRST_CREATED_AT))) {
+            if (found.size() >= size) {
+                found.sort(CREATED_ORDER);
+                LocalDateTime bucketStart = mongoTemplate.getConverter()
+                    .getConversionService().convert(bucket.get(CommentBuckets.FIRST_CREATED_AT), LocalDateTime.class);
+                if (bucketStart.isAfter(found.get(size - 1).getCreatedAt())) {
+                    break;
+                }
+            }
+            readEntries(bucket, matches, afterCreatedAt, afterId, found);
+        }
+        found.sort(CREATED_ORDER);
+        return found.size() > size ? new ArrayList<>(found.subList(0, size)) : found;
+    }
+
+    private void readEntries(Document bucket, Predicate<Comment> matches,
+                             LocalDateTime afterCreatedAt, String afterId, List<Comment> found) {
+        for (Document entry : bucket.getList(CommentBuckets.COMMENTS, Document.class)) {
+            Comment comment = CommentBuckets.fromEntry(mongoTemplate, entry);
+            if (matches.test(comment) && isAfter(comment, afterCreatedAt, afterId)) {
+                found.add(comment);
+            }
+        }
+    }
+
+    private static boolean isAfter(Comment comment, LocalDateTime createdAt, String id) {
+        if (createdAt == null) {
+            return true;
+        }
+        int byTime = comment.getCreatedAt().compareTo(createdAt);
+        return byTime > 0 || byTime == 0 && comment.getId().compareTo(id) > 0;
+    }
+
+    private Object toMongo(Object value) {
+        return mongoTemplate.getConverter().convertToMongoType(value);
+    }
+
+    private MongoCollection<Document> buckets() {
+        return mongoTemplate.getCollection(CommentBuckets.COLLECTION);
+    }
+}
@@ -0,0 +1,98 @@
+package com.vividverse.comment.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+import com.vividverse.comment.entity.Comment;
+
+/**
+ * Layout of the bucketed comment storage (vividverse.comment.storage=buckets).
+ * Each document in "comment_buckets" holds up to bucket-size comments of one post:
+ * { postId, count, firstCreatedAt, lastCreatedAt, comments: [ comment, ... ] }.
+ * Each array entry is the comment as it would be stored in "comments", with _id as an ObjectId.
+ * Comments are appended to the post's open bucket (count below the bucket size). A page
+ * of a thread is therefore one or two document reads instead of one index entry per comment.
+ */
+public final class CommentBuckets {
+
+    public static final String COLLECTION = "comment_buckets";
+
+    public static final String POST_ID = "postId";
+    public static final String COUNT = "count";
+    public static final String FIRST_CREATED_AT = "firstCreatedAt";
+    public static final String LAST_CREATED_AT = "lastCreatedAt";
+    public static final String COMMENTS = "comments";
+
+    private static final String TYPE_KEY = "_class";
+
+    private CommentBuckets() {
+    }
+
+    /**
+     * @return the indexes the bucket queries rely on
+     */
+    public static List<IndexDefinition> indexes() {
+        return List.of(
+            // Time-ordered walk over a post's buckets
+            new Index().on(POST_ID, Sort.Direction.ASC).on(FIRST_CREATED_AT, Sort.Direction.ASC).named("bucket_post_first_idx"),
+            // Finding the open bucket to append to
+            new Index().on(POST_ID, Sort.Direction.ASC).on(COUNT, Sort.Direction.ASC).named("bucket_post_count_idx"),
+            // Multikey lookups of a single comment and of a comment's replies
+            new Index().on(COMMENTS + "._id", Sort.Direction.ASC).named("bucket_comment_id_idx"),
+            new Index().on(COMMENTS + ".parentCommentId", Sort.Direction.ASC).named("bucket_comment_parent_idx"));
+    }
+
+    /**
+     * Encodes a comment exactly as the "comments" collection would store it, minus the type key
+     */
+    public static Document toEntry(MongoTemplate mongoTemplate, Comment comment) {
+        Document entry = new Document();
+        mongoTemplate.getConverter().write(comment, entry);
+        entry.remove(TYPE_KEY);
+        return entry;
+    }
+
+    /**
+     * A new bucket document holding the given entries of one post
+     */
+    public static Document newBucket(Object postId, List<Document> entries) {
+        return new Document(POST_ID, postId)
+            .append(COUNT, entries.size())
+            .append(FIRST_CREATED_AT, firstCreatedAt(entries))
+            .append(LAST_CREATED_AT, lastCreatedAt(entries))
+            .append(COMMENTS, new ArrayList<>(entries));
+    }
+
+    static Date firstCreatedAt(List<Document> entries) {
+        return entries.stream().map(entry -> entry.getDate("createdAt")).min(Comparator.naturalOrder()).orElseThrow();
+    }
+
+    static Date lastCreatedAt(List<Document> entries) {
+        return entries.stream().map(entry -> entry.getDate("createdAt")).max(Comparator.naturalOrder()).orElseThrow();
+    }
+
+    public static Comment fromEntry(MongoTemplate mongoTemplate, Document entry) {
+        return fromEntry(mongoTemplate.getConverter(), entry);
+    }
+
+    public static Comment fromEntry(MongoConverter converter, Document entry) {
+        return converter.read(Comment.class, entry);
+    }
+
+    /**
+     * @return the stored form of a comment id: ObjectId for current ids, the string itself for legacy ones
+     */
+    public static Object toStoredId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
@@ -1,14 +1,49 @@
 package com.vividverse.comment.repository;
 
 import com.vividverse.comment.entity.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * The document-per-comment layout, served to the service through {@link DocumentCommentStore}
+ */
 public interface CommentRepository extends MongoRepository<Comment, String> {
     // Find comments by postId, ordered by creation date
     List<Comment> findByPostIdOrderByCreatedAtAsc(UUID postId);
 
     // Find replies to a specific parent comment
     List<Comment> findByParentCommentIdOrderByCreatedAtAsc(String parentCommentId);
-}
\ No newline at end of file
+
+    // First page of a post's top-level comments; the Pageable only carries the limit
+    List<Comment> findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(UUID postId, Pageable limit);
+
+    // Top-level comments strictly after the (createdAt, id) cursor
+    @Query(value = "{ 'postId': ?0, 'parentCommentId': null, "
+                 + "'$or': [ { 'createdAt': { '$gt': ?1 } }, { 'createdAt': ?1, '_id': { '$gt': ?2 } } ] }",
+           sort = "{ 'createdAt': 1, '_id': 1 }")
+    List<Comment> findRootsAfter(UUID postId, LocalDateTime createdAt, String id, Pageable limit);
+
+    // Bounded variant of findByParentCommentIdOrderByCreatedAtAsc with a stable tie-break on id
+    List<Comment> findByParentCommentIdOrderByCreatedAtAscIdAsc(String parentCommentId, Pageable limit);
+
+    // Replies strictly after the (createdAt, id) cursor
+    @Query(value = "{ 'parentCommentId': ?0, "
+                 + "'$or': [ { 'createdAt': { '$gt': ?1 } }, { 'createdAt': ?1, '_id': { '$gt': ?2 } } ] }",
+           sort = "{ 'createdAt': 1, '_id': 1 }")
+    List<Comment> findRepliesAfter(String parentCommentId, LocalDateTime createdAt, String id, Pageable limit);
+
+    // One pass over the parents' replies on (parentCommentId, createdAt, _id): first replies and count per parent
+    @Aggregation(pipeline = {
+        "{ '$match': { 'parentCommentId': { '$in': ?0 } } }",
+        "{ '$sort': { 'createdAt': 1, '_id': 1 } }",
+        "{ '$group': { '_id': '$parentCommentId', 'replies': { '$push': '$$ROOT' }, 'count': { '$sum': 1 } } }",
+        "{ '$project': { 'replies': { '$slice': [ '$replies', ?1 ] }, 'count': 1 } }"
+    })
+    List<ReplyGroup> findFirstReplies(Collection<String> parentCommentIds, int limit);
+}
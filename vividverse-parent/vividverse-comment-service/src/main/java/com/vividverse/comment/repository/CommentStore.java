@@ -0,0 +1,55 @@
+package com.vividverse.comment.repository;
+
+import com.vividverse.comment.entity.Comment;
+import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Comment storage as the service uses it, independent of the layout: {@link DocumentCommentStore}
+ * keeps one document per comment, {@link BucketedCommentRepository} is used instead when
+ * vividverse.comment.storage=buckets.
+ */
+public interface CommentStore {
+    <S extends Comment> S save(S comment);
+
+    <S extends Comment> List<S> saveAll(Iterable<S> comments);
+
+    <S extends Comment> S insert(S comment);
+
+    <S extends Comment> List<S> insert(Iterable<S> comments);
+
+    Optional<Comment> findById(String id);
+
+    boolean existsById(String id);
+
+    long count();
+
+    void deleteById(String id);
+
+    void deleteAll();
+
+    // A post's comments, ordered by creation date
+    List<Comment> findByPostIdOrderByCreatedAtAsc(UUID postId);
+
+    // Replies to a specific parent comment
+    List<Comment> findByParentCommentIdOrderByCreatedAtAsc(String parentCommentId);
+
+    // First page of a post's top-level comments; the Pageable only carries the limit
+    List<Comment> findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(UUID postId, Pageable limit);
+
+    // Top-level comments strictly after the (createdAt, id) cursor
+    List<Comment> findRootsAfter(UUID postId, LocalDateTime createdAt, String id, Pageable limit);
+
+    // Bounded variant of findByParentCommentIdOrderByCreatedAtAsc with a stable tie-break on id
+    List<Comment> findByParentCommentIdOrderByCreatedAtAscIdAsc(String parentCommentId, Pageable limit);
+
+    // Replies strictly after the (createdAt, id) cursor
+    List<Comment> findRepliesAfter(String parentCommentId, LocalDateTime createdAt, String id, Pageable limit);
+
+    // First replies of each parent in (createdAt, id) order with its reply count; parents without replies are left out
+    List<ReplyGroup> findFirstReplies(Collection<String> parentCommentIds, int limit);
+}
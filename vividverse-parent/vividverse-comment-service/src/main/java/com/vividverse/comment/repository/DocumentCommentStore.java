@@ -0,0 +1,107 @@
+package com.vividverse.comment.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import com.vividverse.comment.entity.Comment;
+
+/**
+ * {@link CommentStore} over the document-per-comment layout, the default
+ */
+@Repository
+@ConditionalOnProperty(name = "vividverse.comment.storage", havingValue = "documents", matchIfMissing = true)
+public class DocumentCommentStore implements CommentStore {
+
+    private final CommentRepository commentRepository;
+
+    public DocumentCommentStore(CommentRepository commentRepository) {
+        this.commentRepository = commentRepository;
+    }
+
+    @Override
+    public <S extends Comment> S save(S comment) {
+        return commentRepository.save(comment);
+    }
+
+    @Override
+    public <S extends Comment> List<S> saveAll(Iterable<S> comments) {
+        return commentRepository.saveAll(comments);
+    }
+
+    @Override
+    public <S extends Comment> S insert(S comment) {
+        return commentRepository.insert(comment);
+    }
+
+    @Override
+    public <S extends Comment> List<S> insert(Iterable<S> comments) {
+        return commentRepository.insert(comments);
+    }
+
+    @Override
+    public Optional<Comment> findById(String id) {
+        return commentRepository.findById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return commentRepository.existsById(id);
+    }
+
+    @Override
+    public long count() {
+        return commentRepository.count();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        commentRepository.deleteById(id);
+    }
+
+    @Override
+    public void deleteAll() {
+        commentRepository.deleteAll();
+    }
+
+    @Override
+    public List<Comment> findByPostIdOrderByCreatedAtAsc(UUID postId) {
+        return commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
+    }
+
+    @Override
+    public List<Comment> findByParentCommentIdOrderByCreatedAtAsc(String parentCommentId) {
+        return commentRepository.findByParentCommentIdOrderByCreatedAtAsc(parentCommentId);
+    }
+
+    @Override
+    public List<Comment> findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(UUID postId, Pageable limit) {
+        return commentRepository.findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(postId, limit);
+    }
+
+    @Override
+    public List<Comment> findRootsAfter(UUID postId, LocalDateTime createdAt, String id, Pageable limit) {
+        return commentRepository.findRootsAfter(postId, createdAt, id, limit);
+    }
+
+    @Override
+    public List<Comment> findByParentCommentIdOrderByCreatedAtAscIdAsc(String parentCommentId, Pageable limit) {
+        return commentRepository.findByParentCommentIdOrderByCreatedAtAscIdAsc(parentCommentId, limit);
+    }
+
+    @Override
+    public List<Comment> findRepliesAfter(String parentCommentId, LocalDateTime createdAt, String id, Pageable limit) {
+        return commentRepository.findRepliesAfter(parentCommentId, createdAt, id, limit);
+    }
+
+    @Override
+    public List<ReplyGroup> findFirstReplies(Collection<String> parentCommentIds, int limit) {
+        return commentRepository.findFirstReplies(parentCommentIds, limit);
+    }
+}
@@ -0,0 +1,71 @@
+package com.vividverse.comment.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import com.vividverse.comment.entity.Comment;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link BucketedCommentRepository} for streaming reads,
+ * as {@link ReactiveCommentRepository} is for the document layout.
+ */
+@Repository
+public class ReactiveBucketedCommentRepository {
+
+    private static final Comparator<Comment> CREATED_ORDER =
+        Comparator.comparing(Comment::getCreatedAt).thenComparing(Comment::getId);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveBucketedCommentRepository(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    /**
+     * Emits a post's comments oldest first as its buckets arrive in firstCreatedAt order
+     * (bucket_post_first_idx). Buckets that were open at the same time overlap, so a comment
+     * is held back until the next bucket starts after it; usually that is the bucket it came in.
+     */
+    public Flux<Comment> findByPostIdOrderByCreatedAtAsc(UUID postId) {
+        Query query = new Query(Criteria.where(CommentBuckets.POST_ID).is(postId))
+            .with(Sort.by(CommentBuckets.FIRST_CREATED_AT));
+        MongoConverter converter = reactiveMongoTemplate.getConverter();
+        return Flux.defer(() -> {
+            PriorityQueue<Comment> pending = new PriorityQueue<>(CREATED_ORDER);
+            return reactiveMongoTemplate.find(query, Document.class, CommentBuckets.COLLECTION)
+                .flatMapIterable(bucket -> {
+                    LocalDateTime bucketStart = converter.getConversionService()
+                        .convert(bucket.get(CommentBuckets.FIRST_CREATED_AT), LocalDateTime.class);
+                    List<Comment> ready = new ArrayList<>();
+                    while (!pending.isEmpty() && pending.peek().getCreatedAt().isBefore(bucketStart)) {
+                        ready.add(pending.poll());
+                    }
+                    for (Document entry : bucket.getList(CommentBuckets.COMMENTS, Document.class)) {
+                        pending.add(CommentBuckets.fromEntry(converter, entry));
+                    }
+                    return ready;
+                })
+                .concatWith(Flux.defer(() -> {
+                    List<Comment> rest = new ArrayList<>(pending.size());
+                    while (!pending.isEmpty()) {
+                        rest.add(pending.poll());
+                    }
+                    return Flux.fromIterable(rest);
+                }));
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.vividverse.comment.repository;
+
+import com.vividverse.comment.entity.Comment;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import java.util.UUID;
+
+// Non-blocking counterpart of CommentRepository for streaming reads over the reactive driver
+public interface ReactiveCommentRepository extends ReactiveMongoRepository<Comment, String> {
+    // Emits a post's comments in creation order as the cursor delivers them (post_created_idx)
+    Flux<Comment> findByPostIdOrderByCreatedAtAsc(UUID postId);
+}
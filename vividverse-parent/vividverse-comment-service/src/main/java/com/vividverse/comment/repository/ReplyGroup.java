@@ -0,0 +1,15 @@
+package com.vividverse.comment.repository;
+
+import com.vividverse.comment.entity.Comment;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import java.util.List;
+
+// The first replies of one parent comment and how many direct replies it has in total
+@Data
+public class ReplyGroup {
+    @Id
+    private String parentCommentId;
+    private List<Comment> replies;
+    private long count;
+}
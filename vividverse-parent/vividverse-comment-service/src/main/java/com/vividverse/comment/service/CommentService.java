@@ -1,21 +1,47 @@
 package com.vividverse.comment.service;
 
+import com.vividverse.comment.cache.CommentListCache;
 import com.vividverse.comment.dto.CommentCreateRequest;
 import com.vividverse.comment.dto.CommentResponse;
+import com.vividverse.comment.dto.CommentThreadResponse;
+import com.vividverse.comment.dto.SliceResponse;
 import com.vividverse.comment.entity.Comment;
-import com.vividverse.comment.repository.CommentRepository;
+import com.vividverse.comment.live.CommentCreatedEvent;
+import com.vividverse.comment.migration.LegacyCommentIds;
+import com.vividverse.comment.repository.CommentStore;
+import com.vividverse.comment.repository.ReplyGroup;
+import com.vividverse.comment.util.CommentCursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
 
-    private final CommentRepository commentRepository;
+    static final int MAX_PAGE_SIZE = 50;
+    static final int MAX_EMBEDDED_REPLIES = 20;
 
-    public CommentService(CommentRepository commentRepository) {
-        this.commentRepository = commentRepository;
+    private final CommentStore commentStore;
+    private final CommentWriteBuffer writeBuffer; // Null unless vividverse.comment.write-buffer.enabled
+    private final ApplicationEventPublisher eventPublisher;
+    private final CommentListCache commentListCache;
+    private final LegacyCommentIds legacyCommentIds;
+
+    public CommentService(CommentStore commentStore, @Nullable CommentWriteBuffer writeBuffer,
+                          ApplicationEventPublisher eventPublisher, CommentListCache commentListCache,
+                          LegacyCommentIds legacyCommentIds) {
+        this.commentStore = commentStore;
+        this.writeBuffer = writeBuffer;
+        this.eventPublisher = eventPublisher;
+        this.commentListCache = commentListCache;
+        this.legacyCommentIds = legacyCommentIds;
     }
 
     public CommentResponse addComment(CommentCreateRequest request) {
@@ -23,27 +49,150 @@ public class CommentService {
         comment.setPostId(request.getPostId());
         comment.setUserId(request.getUserId());
         comment.setContent(request.getContent());
-        comment.setParentCommentId(request.getParentCommentId()); // Will be null for top-level
+        // Will be null for top-level; a pre-migration parent id is stored as the id it was migrated to
+        comment.setParentCommentId(legacyCommentIds.resolve(request.getParentCommentId()));
+
+        // Group commit batches concurrent inserts; either way this returns once the comment is stored.
+        // A buffered comment stored after its caller timed out is published when it lands.
+        Comment savedComment = writeBuffer != null ? writeBuffer.insert(comment, this::publishStored)
+                                                   : commentStore.save(comment);
+        return publishStored(savedComment);
+    }
 
-        Comment savedComment = commentRepository.save(comment);
-        return convertToDto(savedComment);
+    private CommentResponse publishStored(Comment savedComment) {
+        CommentResponse response = convertToDto(savedComment);
+        commentListCache.append(response); // Write-through, only after the comment is stored
+        eventPublisher.publishEvent(new CommentCreatedEvent(response)); // Live stream subscribers of the post
+        return response;
     }
 
     public List<CommentResponse> getCommentsForPost(UUID postId) {
-        List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
+        List<Comment> comments = commentStore.findByPostIdOrderByCreatedAtAsc(postId);
         return comments.stream()
-                       .map(this::convertToDto)
+                       .map(CommentService::convertToDto)
                        .collect(Collectors.toList());
     }
 
-    private CommentResponse convertToDto(Comment comment) {
+    /**
+     * Same list as getCommentsForPost, already encoded as a JSON array.
+     * Served from the comment list cache; only a miss reads Mongo and runs Jackson.
+     * @param postId the post
+     * @return the post's comments in createdAt order as JSON
+     */
+    public byte[] getCommentsForPostJson(UUID postId) {
+        return commentListCache.getJson(postId, this::getCommentsForPost);
+    }
+
+    /**
+     * Pages a post's top-level comments, each with its first replies embedded.
+     * Costs two round trips whatever the page size: one bounded index scan for the roots and
+     * one aggregation that returns every root's first replies together with its reply count.
+     * @param postId the post
+     * @param after cursor from a previous page, or null/blank for the first page
+     * @param limit number of root comments per page
+     * @param replyLimit number of replies embedded per root
+     * @return the page of threads
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public SliceResponse<CommentThreadResponse> getThreadsForPost(UUID postId, String after, int limit, int replyLimit) {
+        int pageSize = clamp(limit, 1, MAX_PAGE_SIZE);
+        int embeddedReplies = clamp(replyLimit, 0, MAX_EMBEDDED_REPLIES);
+        // Fetch one extra root to learn whether another page exists without counting
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<Comment> roots;
+        if (after == null || after.isBlank()) {
+            roots = commentStore.findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(postId, window);
+        } else {
+            CommentCursor cursor = CommentCursor.decode(after);
+            roots = commentStore.findRootsAfter(postId, cursor.getCreatedAt(), cursor.getId(), window);
+        }
+
+        boolean hasNext = roots.size() > pageSize;
+        List<Comment> pageRoots = hasNext ? roots.subList(0, pageSize) : roots;
+        Map<String, ReplyGroup> repliesByRoot = pageRoots.isEmpty() ? Map.of()
+            : commentStore.findFirstReplies(pageRoots.stream().map(Comment::getId).toList(), embeddedReplies).stream()
+                          .collect(Collectors.toMap(ReplyGroup::getParentCommentId, Function.identity()));
+        List<CommentThreadResponse> threads = new ArrayList<>(pageRoots.size());
+        for (Comment root : pageRoots) {
+            threads.add(toThread(root, repliesByRoot.get(root.getId())));
+        }
+        return toSlice(threads, hasNext, hasNext ? pageRoots.get(pageRoots.size() - 1) : null);
+    }
+
+    /**
+     * Pages the direct replies of a comment, oldest first
+     * @param commentId the parent comment, by its current or pre-migration id
+     * @param after cursor from a previous page or thread, or null/blank for the first page
+     * @param limit number of replies per page
+     * @return the page of replies
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public SliceResponse<CommentResponse> getReplies(String commentId, String after, int limit) {
+        String parentId = legacyCommentIds.resolve(commentId);
+        int pageSize = clamp(limit, 1, MAX_PAGE_SIZE);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<Comment> replies;
+        if (after == null || after.isBlank()) {
+            replies = commentStore.findByParentCommentIdOrderByCreatedAtAscIdAsc(parentId, window);
+        } else {
+            CommentCursor cursor = CommentCursor.decode(after);
+            replies = commentStore.findRepliesAfter(parentId, cursor.getCreatedAt(), cursor.getId(), window);
+        }
+
+        boolean hasNext = replies.size() > pageSize;
+        List<Comment> pageReplies = hasNext ? replies.subList(0, pageSize) : replies;
+        List<CommentResponse> content = pageReplies.stream()
+                                                   .map(CommentService::convertToDto)
+                                                   .collect(Collectors.toList());
+        return toSlice(content, hasNext, hasNext ? pageReplies.get(pageReplies.size() - 1) : null);
+    }
+
+    // replies is null for a root without replies
+    private static CommentThreadResponse toThread(Comment root, ReplyGroup replies) {
+        CommentThreadResponse thread = new CommentThreadResponse();
+        copyFields(root, thread);
+
+        List<Comment> embedded = replies == null ? List.of() : replies.getReplies();
+        thread.setReplies(embedded.stream().map(CommentService::convertToDto).collect(Collectors.toList()));
+        thread.setReplyCount(replies == null ? 0 : replies.getCount());
+        if (thread.getReplyCount() > embedded.size()) {
+            // An empty cursor asks GET /comments/{id}/replies for the first page
+            thread.setMoreRepliesCursor(embedded.isEmpty() ? ""
+                : new CommentCursor(embedded.get(embedded.size() - 1).getCreatedAt(),
+                                    embedded.get(embedded.size() - 1).getId()).encode());
+        }
+        return thread;
+    }
+
+    private static <T> SliceResponse<T> toSlice(List<T> content, boolean hasNext, Comment last) {
+        SliceResponse<T> slice = new SliceResponse<>();
+        slice.setContent(content);
+        slice.setSize(content.size());
+        slice.setHasNext(hasNext);
+        if (hasNext) {
+            slice.setNextCursor(new CommentCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return slice;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    static CommentResponse convertToDto(Comment comment) {
         CommentResponse dto = new CommentResponse();
+        copyFields(comment, dto);
+        return dto;
+    }
+
+    private static void copyFields(Comment comment, CommentResponse dto) {
         dto.setId(comment.getId());
         dto.setPostId(comment.getPostId());
         dto.setUserId(comment.getUserId());
         dto.setParentCommentId(comment.getParentCommentId());
         dto.setContent(comment.getContent());
         dto.setCreatedAt(comment.getCreatedAt());
-        return dto;
     }
 }
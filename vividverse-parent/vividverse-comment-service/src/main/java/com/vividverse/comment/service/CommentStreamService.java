@@ -0,0 +1,42 @@
+package com.vividverse.comment.service;
+
+import com.vividverse.comment.dto.CommentResponse;
+import com.vividverse.comment.entity.Comment;
+import com.vividverse.comment.repository.ReactiveBucketedCommentRepository;
+import com.vividverse.comment.repository.ReactiveCommentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import java.util.UUID;
+
+/**
+ * Streams a post's comments instead of materialising the whole list. The reactive driver's
+ * cursor feeds the response directly, and the subscriber's demand bounds how many documents
+ * are in flight: single comments with the document layout, whole buckets with the bucketed one.
+ */
+@Service
+public class CommentStreamService {
+
+    private final ReactiveCommentRepository reactiveCommentRepository;
+    private final ReactiveBucketedCommentRepository reactiveBucketedCommentRepository;
+    private final boolean bucketed;
+
+    public CommentStreamService(ReactiveCommentRepository reactiveCommentRepository,
+                                ReactiveBucketedCommentRepository reactiveBucketedCommentRepository,
+                                @Value("${vividverse.comment.storage:documents}") String storage) {
+        this.reactiveCommentRepository = reactiveCommentRepository;
+        this.reactiveBucketedCommentRepository = reactiveBucketedCommentRepository;
+        this.bucketed = "buckets".equals(storage);
+    }
+
+    /**
+     * @param postId the post
+     * @return the post's comments, oldest first, emitted as they are read
+     */
+    public Flux<CommentResponse> streamCommentsForPost(UUID postId) {
+        Flux<Comment> comments = bucketed
+            ? reactiveBucketedCommentRepository.findByPostIdOrderByCreatedAtAsc(postId)
+            : reactiveCommentRepository.findByPostIdOrderByCreatedAtAsc(postId);
+        return comments.map(CommentService::convertToDto);
+    }
+}
@@ -0,0 +1,213 @@
+package com.vividverse.comment.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.vividverse.comment.entity.Comment;
+import com.vividverse.comment.repository.CommentStore;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Group commit for comment inserts. Request threads enqueue their comment and block.
+ * A single writer thread collects the queue into batches and writes each batch with one
+ * insertMany. A batch closes after max-batch comments or max-delay after its first
+ * comment, whichever comes first. A caller is released only after its batch is
+ * acknowledged by MongoDB, so its 201 means the comment is stored with the write concern
+ * of the connection string. Use ?w=majority&journal=true there to get journaled durability.
+ * A caller still waiting after write-timeout gets 202 with the comment instead, because
+ * the comment stays queued and is normally stored moments later.
+ * Enabled with vividverse.comment.write-buffer.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "vividverse.comment.write-buffer.enabled", havingValue = "true")
+public class CommentWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentWriteBuffer.class);
+
+    private final CommentStore commentStore;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final Duration writeTimeout;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Timer writeLatency;
+
+    public CommentWriteBuffer(CommentStore commentStore,
+                              @Value("${vividverse.comment.write-buffer.max-batch:256}") int maxBatch,
+                              @Value("${vividverse.comment.write-buffer.max-delay:5ms}") Duration maxDelay,
+                              @Value("${vividverse.comment.write-buffer.queue-capacity:10000}") int queueCapacity,
+                              @Value("${vividverse.comment.write-buffer.write-timeout:5s}") Duration writeTimeout,
+                              MeterRegistry meterRegistry) {
+        this.commentStore = commentStore;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.writeTimeout = writeTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.batchSize = DistributionSummary.builder("comment.write.batch.size")
+            .description("Comments per insertMany")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.flushLatency = Timer.builder("comment.write.flush")
+            .description("Time spent in one insertMany")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.writeLatency = Timer.builder("comment.write.latency")
+            .description("Time from enqueue until the comment is acknowledged")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("comment.write.queue", queue, BlockingQueue::size)
+            .description("Comments waiting for the next batch")
+            .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "comment-write-buffer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.info("Comment write buffer: batches of up to {} comments or {} ms", this.maxBatch, maxDelay.toMillis());
+    }
+
+    /**
+     * Queues a comment for the next batch and waits until it is stored
+     * @param comment the new comment, with its id already assigned
+     * @return the stored comment
+     * @throws CommentWriteBusyException if the queue is full; the comment was not queued
+     * @throws CommentWritePendingException if the write is not acknowledged in time; the comment stays queued
+     */
+    public Comment insert(Comment comment) {
+        return insert(comment, stored -> { });
+    }
+
+    /**
+     * Same as {@link #insert(Comment)}, for callers with follow-up work after the store
+     * @param whenStoredLate runs on the writer thread if the comment is stored after the caller timed out
+     */
+    public Comment insert(Comment comment, Consumer<Comment> whenStoredLate) {
+        PendingWrite pending = new PendingWrite(comment, System.nanoTime());
+        if (!running || !queue.offer(pending)) {
+            throw new CommentWriteBusyException("Server is busy, please try again shortly.");
+        }
+        try {
+            return pending.result.get(writeTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while storing comment", e);
+        } catch (TimeoutException e) {
+            // Still queued, so it is most likely stored shortly. A retry would add a second comment,
+            // so hand back the comment and its id instead of an error.
+            pending.result.thenAccept(whenStoredLate);
+            throw new CommentWritePendingException("Comment accepted, not yet acknowledged.",
+                                                   CommentService.convertToDto(comment));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Storing comment failed", e.getCause());
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<Comment> comments = new ArrayList<>(batch.size());
+        batch.forEach(pending -> comments.add(pending.comment));
+        batchSize.record(batch.size());
+        long start = System.nanoTime();
+        try {
+            commentStore.insert(comments);
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long now = System.nanoTime();
+            for (PendingWrite pending : batch) {
+                writeLatency.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+                pending.result.complete(pending.comment);
+            }
+        } catch (RuntimeException e) {
+            // insertMany is ordered: the failing document and everything after it are not stored.
+            // Retry one by one so each caller gets its own outcome.
+            log.warn("Batch insert of {} comments failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingWrite pending : batch) {
+                try {
+                    if (!commentStore.existsById(pending.comment.getId())) {
+                        commentStore.insert(pending.comment);
+                    }
+                    writeLatency.record(System.nanoTime() - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+                    pending.result.complete(pending.comment);
+                } catch (RuntimeException individual) {
+                    pending.result.completeExceptionally(individual);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // Stop accepting writes and let the writer drain what is already queued
+        running = false;
+        writer.join(writeTimeout.toMillis());
+    }
+
+    private static final class PendingWrite {
+        private final Comment comment;
+        private final long enqueuedAt;
+        private final CompletableFuture<Comment> result = new CompletableFuture<>();
+
+        private PendingWrite(Comment comment, long enqueuedAt) {
+            this.comment = comment;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
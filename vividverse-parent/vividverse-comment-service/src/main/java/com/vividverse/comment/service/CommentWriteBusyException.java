@@ -0,0 +1,9 @@
+package com.vividverse.comment.service;
+
+// Thrown when the comment write buffer is full and the comment was not queued; mapped to 503 by the controller
+public class CommentWriteBusyException extends RuntimeException {
+
+    public CommentWriteBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vividverse.comment.service;
+
+import com.vividverse.comment.dto.CommentResponse;
+
+// Thrown when a buffered comment is still queued after the write timeout; mapped to 202 with the comment by the controller
+public class CommentWritePendingException extends RuntimeException {
+
+    private final CommentResponse comment;
+
+    public CommentWritePendingException(String message, CommentResponse comment) {
+        super(message);
+        this.comment = comment;
+    }
+
+    public CommentResponse getComment() {
+        return comment;
+    }
+}
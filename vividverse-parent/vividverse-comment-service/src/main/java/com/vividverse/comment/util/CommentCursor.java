@@ -0,0 +1,60 @@
+package com.vividverse.comment.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset-paginated comment listings.
+ * Encodes the (createdAt, id) of the last comment a client has seen so the next
+ * page seeks past it on the index instead of skipping documents.
+ */
+public final class CommentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    public CommentCursor(LocalDateTime createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Encodes this cursor as a URL-safe token
+     * @return the opaque cursor string
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}
+     * @param token the opaque cursor string
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static CommentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid comment cursor");
+            }
+            return new CommentCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid comment cursor", e);
+        }
+    }
+}
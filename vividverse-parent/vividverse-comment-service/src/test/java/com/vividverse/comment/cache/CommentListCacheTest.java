@@ -0,0 +1,158 @@
+package com.vividverse.comment.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.vividverse.comment.dto.CommentResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CommentListCacheTest {
+
+    // Configured like Spring Boot's auto-configured mapper
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private CommentListCache cache;
+    private UUID postId;
+    private LocalDateTime start;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CommentListCache(DataSize.ofMegabytes(1), Duration.ofMinutes(10), objectMapper, meterRegistry);
+        postId = UUID.randomUUID();
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGetJson_LoadsOnceThenHits() throws Exception {
+        // Arrange
+        List<CommentResponse> comments = List.of(comment("a", start));
+
+        // Act
+        cache.getJson(postId, id -> load(comments));
+        byte[] result = cache.getJson(postId, id -> load(comments));
+
+        // Assert
+        assertArrayEquals(objectMapper.writeValueAsBytes(comments), result);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "commentLists").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "commentLists").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testAppend_WritesThroughWithoutReload() throws Exception {
+        // Arrange
+        CommentResponse first = comment("a", start);
+        CommentResponse second = comment("b", start.plusNanos(1_500_000)); // Sub-millisecond part is not stored
+        cache.getJson(postId, id -> load(List.of(first)));
+
+        // Act
+        cache.append(second);
+        byte[] result = cache.getJson(postId, id -> load(List.of()));
+
+        // Assert
+        CommentResponse storedSecond = comment("b", start.plusNanos(1_000_000));
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(first, storedSecond)), result);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testAppend_ToEmptyList() throws Exception {
+        // Arrange
+        CommentResponse only = comment("a", start);
+        cache.getJson(postId, id -> load(List.of()));
+
+        // Act
+        cache.append(only);
+
+        // Assert
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(only)), cache.getJson(postId, id -> load(List.of())));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testAppend_CommentAlreadyLoadedIsNotDuplicated() throws Exception {
+        // Arrange: the list was read just after the comment was stored
+        CommentResponse stored = comment("a", start);
+        cache.getJson(postId, id -> load(List.of(stored)));
+
+        // Act: the response from addComment still carries microseconds
+        cache.append(comment("a", start.plusNanos(300_000)));
+        byte[] result = cache.getJson(postId, id -> load(List.of(stored)));
+
+        // Assert: dropped and reloaded instead of appended twice
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(stored)), result);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testAppend_OutOfOrderDropsEntry() {
+        // Arrange
+        cache.getJson(postId, id -> load(List.of(comment("b", start.plusSeconds(1)))));
+
+        // Act
+        cache.append(comment("a", start));
+        cache.getJson(postId, id -> load(List.of()));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testAppend_UncachedPostIsIgnored() {
+        // Act
+        cache.append(comment("a", start));
+        cache.getJson(postId, id -> load(List.of()));
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testInvalidate_ForcesReload() {
+        // Arrange
+        cache.getJson(postId, id -> load(List.of()));
+
+        // Act
+        cache.invalidate(postId);
+        cache.getJson(postId, id -> load(List.of()));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    private List<CommentResponse> load(List<CommentResponse> comments) {
+        loads.incrementAndGet();
+        return comments;
+    }
+
+    private CommentResponse comment(String id, LocalDateTime createdAt) {
+        CommentResponse comment = new CommentResponse();
+        comment.setId(id);
+        comment.setPostId(postId);
+        comment.setUserId(UUID.nameUUIDFromBytes(id.getBytes()));
+        comment.setContent("Comment " + id);
+        comment.setCreatedAt(createdAt);
+        return comment;
+    }
+}
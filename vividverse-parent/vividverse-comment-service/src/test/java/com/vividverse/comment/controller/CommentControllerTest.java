@@ -1,8 +1,14 @@
 package com.vividverse.comment.controller;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -13,12 +19,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
 import com.vividverse.comment.dto.CommentCreateRequest;
 import com.vividverse.comment.dto.CommentResponse;
+import com.vividverse.comment.dto.CommentThreadResponse;
+import com.vividverse.comment.dto.SliceResponse;
+import com.vividverse.comment.live.LiveCommentStreams;
 import com.vividverse.comment.service.CommentService;
+import com.vividverse.comment.service.CommentStreamService;
+import com.vividverse.comment.service.CommentWriteBusyException;
+import com.vividverse.comment.service.CommentWritePendingException;
+import com.vividverse.common.live.TooManySubscribersException;
 
 @ExtendWith(MockitoExtension.class)
 class CommentControllerTest {
@@ -26,9 +48,17 @@ class CommentControllerTest {
     @Mock
     private CommentService commentService;
 
+    @Mock
+    private CommentStreamService commentStreamService;
+
+    @Mock
+    private LiveCommentStreams liveCommentStreams;
+
     @InjectMocks
     private CommentController commentController;
 
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
     private CommentCreateRequest createRequest;
     private CommentResponse commentResponse;
     private UUID testCommentId;
@@ -67,9 +97,7 @@ class CommentControllerTest {
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(createRequest.getPostId(), response.getBody().getPostId());
-        assertEquals(createRequest.getUserId(), response.getBody().getUserId());
-        assertEquals(createRequest.getContent(), response.getBody().getContent());
+        assertSame(commentResponse, response.getBody());
     }
 
     @Test
@@ -117,31 +145,31 @@ class CommentControllerTest {
     void testGetCommentsForPost_Success() {
         // Arrange
         List<CommentResponse> comments = List.of(commentResponse);
-        when(commentService.getCommentsForPost(testPostId)).thenReturn(comments);
+        when(commentService.getCommentsForPostJson(testPostId)).thenReturn(json(comments));
 
         // Act
-        ResponseEntity<List<CommentResponse>> response = commentController.getCommentsForPost(testPostId);
+        ResponseEntity<byte[]> response = commentController.getCommentsForPost(testPostId);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals(testCommentId.toString(), response.getBody().get(0).getId());
-        assertEquals(testPostId, response.getBody().get(0).getPostId());
+        assertEquals(1, read(response.getBody()).size());
+        assertEquals(testCommentId.toString(), read(response.getBody()).get(0).getId());
+        assertEquals(testPostId, read(response.getBody()).get(0).getPostId());
     }
 
     @Test
     void testGetCommentsForPost_EmptyList() {
         // Arrange
-        when(commentService.getCommentsForPost(testPostId)).thenReturn(List.of());
+        when(commentService.getCommentsForPostJson(testPostId)).thenReturn(json(List.of()));
 
         // Act
-        ResponseEntity<List<CommentResponse>> response = commentController.getCommentsForPost(testPostId);
+        ResponseEntity<byte[]> response = commentController.getCommentsForPost(testPostId);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(0, response.getBody().size());
+        assertEquals(0, read(response.getBody()).size());
     }
 
     @Test
@@ -162,28 +190,31 @@ class CommentControllerTest {
         comment2.setCreatedAt(LocalDateTime.now());
 
         List<CommentResponse> comments = List.of(comment1, comment2);
-        when(commentService.getCommentsForPost(testPostId)).thenReturn(comments);
+        when(commentService.getCommentsForPostJson(testPostId)).thenReturn(json(comments));
 
         // Act
-        ResponseEntity<List<CommentResponse>> response = commentController.getCommentsForPost(testPostId);
+        ResponseEntity<byte[]> response = commentController.getCommentsForPost(testPostId);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        assertEquals("First comment", response.getBody().get(0).getContent());
-        assertEquals("Second comment", response.getBody().get(1).getContent());
+        assertEquals(2, read(response.getBody()).size());
+        assertEquals("First comment", read(response.getBody()).get(0).getContent());
+        assertEquals("Second comment", read(response.getBody()).get(1).getContent());
     }
 
     @Test
     void testGetCommentsForPost_WithNullPostId() {
+        // Arrange
+        when(commentService.getCommentsForPostJson(null)).thenReturn(json(List.of()));
+
         // Act
-        ResponseEntity<List<CommentResponse>> response = commentController.getCommentsForPost(null);
+        ResponseEntity<byte[]> response = commentController.getCommentsForPost(null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(commentService).getCommentsForPost(null);
+        verify(commentService).getCommentsForPostJson(null);
     }
 
     @Test
@@ -198,10 +229,77 @@ class CommentControllerTest {
         });
     }
 
+    @Test
+    void testStreamCommentsForPost_Success() {
+        // Arrange
+        when(commentStreamService.streamCommentsForPost(testPostId)).thenReturn(Flux.just(commentResponse));
+
+        // Act & Assert
+        StepVerifier.create(commentController.streamCommentsForPost(testPostId))
+            .expectNext(commentResponse)
+            .verifyComplete();
+    }
+
+    @Test
+    void testStreamNewComments_Success() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(liveCommentStreams.open(testPostId)).thenReturn(emitter);
+
+        // Act
+        ResponseEntity<SseEmitter> response = commentController.streamNewComments(testPostId);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(emitter, response.getBody());
+    }
+
+    @Test
+    void testStreamNewComments_TooManySubscribers() {
+        // Arrange
+        when(liveCommentStreams.open(testPostId)).thenThrow(new TooManySubscribersException("full"));
+
+        // Act
+        ResponseEntity<SseEmitter> response = commentController.streamNewComments(testPostId);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testAddComment_WriteBufferBusy() {
+        // Arrange
+        when(commentService.addComment(any(CommentCreateRequest.class)))
+            .thenThrow(new CommentWriteBusyException("Server is busy, please try again shortly."));
+
+        // Act
+        ResponseEntity<CommentResponse> response = commentController.addComment(createRequest);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testAddComment_WriteNotAcknowledgedInTime() {
+        // Arrange
+        when(commentService.addComment(any(CommentCreateRequest.class)))
+            .thenThrow(new CommentWritePendingException("Comment accepted, not yet acknowledged.", commentResponse));
+
+        // Act
+        ResponseEntity<CommentResponse> response = commentController.addComment(createRequest);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertSame(commentResponse, response.getBody());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
     @Test
     void testGetCommentsForPost_ServiceThrowsException() {
         // Arrange
-        when(commentService.getCommentsForPost(testPostId))
+        when(commentService.getCommentsForPostJson(testPostId))
             .thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
@@ -268,14 +366,78 @@ class CommentControllerTest {
     void testGetCommentsForPost_NonExistentPost() {
         // Arrange
         UUID nonExistentPostId = UUID.randomUUID();
-        when(commentService.getCommentsForPost(nonExistentPostId)).thenReturn(List.of());
+        when(commentService.getCommentsForPostJson(nonExistentPostId)).thenReturn(json(List.of()));
 
         // Act
-        ResponseEntity<List<CommentResponse>> response = commentController.getCommentsForPost(nonExistentPostId);
+        ResponseEntity<byte[]> response = commentController.getCommentsForPost(nonExistentPostId);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(0, response.getBody().size());
+        assertEquals(0, read(response.getBody()).size());
+    }
+
+    @Test
+    void testGetThreadsForPost_Success() {
+        // Arrange
+        SliceResponse<CommentThreadResponse> slice = new SliceResponse<>();
+        slice.setContent(List.of(new CommentThreadResponse()));
+        slice.setSize(1);
+        when(commentService.getThreadsForPost(testPostId, null, 20, 3)).thenReturn(slice);
+
+        // Act
+        ResponseEntity<SliceResponse<CommentThreadResponse>> response =
+            commentController.getThreadsForPost(testPostId, null, 20, 3);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getSize());
+    }
+
+    @Test
+    void testGetThreadsForPost_InvalidCursor() {
+        // Arrange
+        when(commentService.getThreadsForPost(eq(testPostId), eq("bad"), anyInt(), anyInt()))
+            .thenThrow(new IllegalArgumentException("Invalid comment cursor"));
+
+        // Act
+        ResponseEntity<SliceResponse<CommentThreadResponse>> response =
+            commentController.getThreadsForPost(testPostId, "bad", 20, 3);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testGetReplies_Success() {
+        // Arrange
+        SliceResponse<CommentResponse> slice = new SliceResponse<>();
+        slice.setContent(List.of(commentResponse));
+        slice.setSize(1);
+        when(commentService.getReplies(testCommentId.toString(), "cursor", 20)).thenReturn(slice);
+
+        // Act
+        ResponseEntity<SliceResponse<CommentResponse>> response =
+            commentController.getReplies(testCommentId.toString(), "cursor", 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(commentResponse, response.getBody().getContent().get(0));
+    }
+
+    private byte[] json(List<CommentResponse> comments) {
+        try {
+            return objectMapper.writeValueAsBytes(comments);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<CommentResponse> read(byte[] body) {
+        try {
+            return objectMapper.readValue(body, new TypeReference<List<CommentResponse>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package com.vividverse.comment.migration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mongodb.client.MongoCollection;
+import com.vividverse.comment.entity.Comment;
+import com.vividverse.comment.repository.CommentRepository;
+
+/**
+ * Seeds comments in the legacy UUID string id layout and migrates them to ObjectIds.
+ * Skipped when Docker is not available.
+ */
+@DataMongoTest(properties = "vividverse.comment.migration.object-ids=true")
+@Import({CommentIdMigration.class, LegacyCommentIds.class})
+@Testcontainers(disabledWithoutDocker = true)
+class CommentIdMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private CommentIdMigration migration;
+
+    @Autowired
+    private LegacyCommentIds legacyCommentIds;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private MongoCollection<Document> comments;
+    private UUID postId;
+    private String legacyRootId;
+
+    @BeforeEach
+    void setUp() {
+        comments = mongoTemplate.getCollection("comments");
+        comments.deleteMany(new Document());
+        mongoTemplate.getCollection(CommentIdMigration.MAPPING_COLLECTION).deleteMany(new Document());
+
+        postId = UUID.randomUUID();
+        legacyRootId = UUID.randomUUID().toString();
+        LocalDateTime start = LocalDateTime.of(2025, 6, 1, 9, 0);
+        List<Document> legacy = new ArrayList<>();
+        legacy.add(legacyDocument(legacyRootId, null, start));
+        for (int i = 1; i <= 5; i++) {
+            legacy.add(legacyDocument(UUID.randomUUID().toString(), legacyRootId, start.plusMinutes(i)));
+        }
+        comments.insertMany(legacy);
+    }
+
+    @Test
+    void testMigrate_RewritesIdsAndParentReferences() {
+        assertEquals(6, migration.migrate());
+
+        List<Comment> roots = commentRepository.findByPostIdOrderByCreatedAtAsc(postId).stream()
+            .filter(comment -> comment.getParentCommentId() == null)
+            .toList();
+        assertEquals(1, roots.size());
+        String newRootId = roots.get(0).getId();
+        assertTrue(ObjectId.isValid(newRootId));
+
+        List<Comment> replies = commentRepository.findByParentCommentIdOrderByCreatedAtAsc(newRootId);
+        assertEquals(5, replies.size());
+        for (Document document : comments.find()) {
+            assertInstanceOf(ObjectId.class, document.get("_id"));
+        }
+        assertEquals(0, comments.countDocuments(new Document("parentCommentId", legacyRootId)));
+    }
+
+    @Test
+    void testMigrate_IdOrderFollowsCreatedAt() {
+        migration.migrate();
+
+        List<Comment> byCreatedAt = commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
+        for (int i = 1; i < byCreatedAt.size(); i++) {
+            ObjectId previous = new ObjectId(byCreatedAt.get(i - 1).getId());
+            ObjectId current = new ObjectId(byCreatedAt.get(i).getId());
+            assertTrue(previous.compareTo(current) < 0);
+        }
+    }
+
+    @Test
+    void testMigrate_IsIdempotent() {
+        migration.migrate();
+        List<Comment> before = commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
+
+        assertEquals(0, migration.migrate());
+        assertEquals(before, commentRepository.findByPostIdOrderByCreatedAtAsc(postId));
+    }
+
+    @Test
+    void testLegacyIds_ResolveToMigratedIds() {
+        migration.migrate();
+
+        String newRootId = legacyCommentIds.resolve(legacyRootId);
+        assertTrue(ObjectId.isValid(newRootId));
+        assertTrue(commentRepository.findById(newRootId).isPresent());
+        assertEquals(newRootId, legacyCommentIds.resolve(newRootId));
+        String unknownId = UUID.randomUUID().toString();
+        assertEquals(unknownId, legacyCommentIds.resolve(unknownId));
+    }
+
+    @Test
+    void testNewComment_StoredAsObjectId() {
+        Comment comment = new Comment();
+        comment.setPostId(postId);
+        comment.setUserId(UUID.randomUUID());
+        comment.setContent("Fresh");
+        commentRepository.save(comment);
+
+        Document stored = comments.find(new Document("content", "Fresh")).first();
+        assertNotNull(stored);
+        assertEquals(new ObjectId(comment.getId()), stored.get("_id"));
+        assertTrue(commentRepository.findById(comment.getId()).isPresent());
+    }
+
+    private Document legacyDocument(String id, String parentId, LocalDateTime createdAt) {
+        return new Document("_id", id)
+            .append("postId", postId)
+            .append("userId", UUID.randomUUID())
+            .append("parentCommentId", parentId)
+            .append("content", "Legacy " + id)
+            .append("createdAt", Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()))
+            .append("_class", Comment.class.getName());
+    }
+}
@@ -0,0 +1,206 @@
+package com.vividverse.comment.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.vividverse.comment.config.MongoIndexConfig;
+import com.vividverse.comment.entity.Comment;
+import com.vividverse.comment.migration.CommentLayoutMigration;
+
+/**
+ * Exercises the bucketed layout against a real MongoDB with small buckets so pages span
+ * several of them, and moves data between the two layouts. Skipped when Docker is not available.
+ */
+@DataMongoTest(properties = {"vividverse.comment.storage=buckets", "vividverse.comment.bucket-size=10"})
+@Import({BucketedCommentRepository.class, ReactiveBucketedCommentRepository.class, MongoIndexConfig.class})
+@Testcontainers(disabledWithoutDocker = true)
+class BucketedCommentRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private CommentStore commentStore;
+
+    @Autowired
+    private ReactiveBucketedCommentRepository reactiveBucketedCommentRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private UUID postId;
+    private List<Comment> roots;
+    private List<Comment> replies;
+
+    @BeforeEach
+    void setUp() {
+        commentStore.deleteAll();
+        mongoTemplate.remove(new Query(), Comment.class);
+        postId = UUID.randomUUID();
+        roots = new ArrayList<>();
+        replies = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 8, 0);
+        for (int i = 0; i < 25; i++) {
+            roots.add(comment(null, start.plusSeconds(i * 2L)));
+        }
+        for (int i = 0; i < 12; i++) {
+            replies.add(comment(roots.get(0).getId(), start.plusSeconds(i * 2L + 1)));
+        }
+    }
+
+    @Test
+    void testAppendsFillBuckets() {
+        commentStore.saveAll(roots);
+        commentStore.saveAll(replies);
+
+        assertEquals(4, mongoTemplate.getCollection(CommentBuckets.COLLECTION).countDocuments(new Document("postId", postId)));
+        assertEquals(37, commentStore.count());
+        assertEquals(37, commentStore.findByPostIdOrderByCreatedAtAsc(postId).size());
+    }
+
+    @Test
+    void testBatchInsertFillsOpenBucketThenNewOnes() {
+        commentStore.saveAll(roots.subList(0, 5));
+        List<Comment> batch = new ArrayList<>(roots.subList(5, 25));
+        UUID otherPostId = UUID.randomUUID();
+        Comment other = comment(null, LocalDateTime.of(2026, 3, 1, 9, 0));
+        other.setPostId(otherPostId);
+        batch.add(other);
+
+        commentStore.insert(batch);
+
+        // 5 + 5 in the open bucket, then 10 and 5 in two new ones
+        List<Integer> counts = new ArrayList<>();
+        mongoTemplate.getCollection(CommentBuckets.COLLECTION).find(new Document("postId", postId))
+            .sort(new Document(CommentBuckets.FIRST_CREATED_AT, 1))
+            .forEach(bucket -> counts.add(bucket.getInteger(CommentBuckets.COUNT)));
+        assertEquals(List.of(10, 10, 5), counts);
+        assertEquals(ids(roots), ids(commentStore.findByPostIdOrderByCreatedAtAsc(postId)));
+        assertEquals(List.of(other.getId()), ids(commentStore.findByPostIdOrderByCreatedAtAsc(otherPostId)));
+    }
+
+    @Test
+    void testStreamMergesOverlappingBuckets() {
+        // Replies land in the third and fourth buckets, both of which start before the second
+        commentStore.saveAll(roots);
+        commentStore.saveAll(replies);
+
+        List<Comment> streamed = reactiveBucketedCommentRepository.findByPostIdOrderByCreatedAtAsc(postId)
+            .collectList().block();
+
+        assertEquals(ids(commentStore.findByPostIdOrderByCreatedAtAsc(postId)), ids(streamed));
+        assertEquals(37, streamed.size());
+    }
+
+    @Test
+    void testRootPagesAcrossBuckets() {
+        commentStore.saveAll(roots);
+        commentStore.saveAll(replies);
+
+        List<Comment> first = commentStore.findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(postId, PageRequest.of(0, 10));
+        Comment last = first.get(first.size() - 1);
+        List<Comment> second = commentStore.findRootsAfter(postId, last.getCreatedAt(), last.getId(), PageRequest.of(0, 20));
+
+        assertEquals(ids(roots.subList(0, 10)), ids(first));
+        assertEquals(ids(roots.subList(10, 25)), ids(second));
+    }
+
+    @Test
+    void testRepliesAndCount() {
+        commentStore.saveAll(roots);
+        commentStore.saveAll(replies);
+        String rootId = roots.get(0).getId();
+
+        List<Comment> first = commentStore.findByParentCommentIdOrderByCreatedAtAscIdAsc(rootId, PageRequest.of(0, 5));
+        Comment last = first.get(first.size() - 1);
+        List<Comment> rest = commentStore.findRepliesAfter(rootId, last.getCreatedAt(), last.getId(), PageRequest.of(0, 50));
+
+        assertEquals(ids(replies.subList(0, 5)), ids(first));
+        assertEquals(ids(replies.subList(5, 12)), ids(rest));
+        List<ReplyGroup> groups = commentStore.findFirstReplies(List.of(rootId, roots.get(1).getId()), 3);
+        assertEquals(1, groups.size()); // The second root has no replies
+        assertEquals(rootId, groups.get(0).getParentCommentId());
+        assertEquals(ids(replies.subList(0, 3)), ids(groups.get(0).getReplies()));
+        assertEquals(12, groups.get(0).getCount());
+    }
+
+    @Test
+    void testFindUpdateAndDeleteById() {
+        commentStore.saveAll(roots);
+        Comment target = roots.get(13);
+
+        target.setContent("Edited");
+        commentStore.save(target);
+        assertEquals("Edited", commentStore.findById(target.getId()).orElseThrow().getContent());
+        assertEquals(25, commentStore.count());
+
+        commentStore.deleteById(target.getId());
+        assertFalse(commentStore.existsById(target.getId()));
+        assertEquals(24, commentStore.count());
+    }
+
+    @Test
+    void testMigrationRoundTrip() {
+        mongoTemplate.insertAll(roots);
+        mongoTemplate.insertAll(replies);
+        CommentLayoutMigration migration = new CommentLayoutMigration(mongoTemplate, "buckets", 10, true);
+
+        assertEquals(37, migration.toBuckets());
+        assertEquals(0, mongoTemplate.count(new Query(), Comment.class));
+        assertEquals(ids(replies), ids(commentStore.findByParentCommentIdOrderByCreatedAtAsc(roots.get(0).getId())));
+        assertEquals(0, migration.toBuckets()); // Nothing left to move
+
+        assertEquals(37, migration.toDocuments());
+        assertEquals(0, commentStore.count());
+        assertEquals(37, mongoTemplate.count(new Query(), Comment.class));
+        assertEquals(roots.get(3), mongoTemplate.findById(roots.get(3).getId(), Comment.class));
+    }
+
+    @Test
+    void testMigrationKeepsSourceAndCanBeRerun() {
+        mongoTemplate.insertAll(roots);
+        mongoTemplate.insertAll(replies);
+        CommentLayoutMigration migration = new CommentLayoutMigration(mongoTemplate, "buckets", 10, false);
+
+        assertEquals(37, migration.toBuckets());
+        assertEquals(37, migration.toBuckets()); // The earlier copy is replaced, not duplicated
+
+        assertEquals(37, mongoTemplate.count(new Query(), Comment.class));
+        assertEquals(37, commentStore.count());
+        assertEquals(4, mongoTemplate.getCollection(CommentBuckets.COLLECTION).countDocuments(new Document("postId", postId)));
+        assertEquals(ids(replies), ids(commentStore.findByParentCommentIdOrderByCreatedAtAsc(roots.get(0).getId())));
+    }
+
+    private Comment comment(String parentId, LocalDateTime createdAt) {
+        Comment comment = new Comment();
+        comment.setPostId(postId);
+        comment.setUserId(UUID.randomUUID());
+        comment.setParentCommentId(parentId);
+        comment.setContent("Comment at " + createdAt);
+        comment.setCreatedAt(createdAt);
+        return comment;
+    }
+
+    private static List<String> ids(List<Comment> comments) {
+        return comments.stream().map(Comment::getId).toList();
+    }
+}
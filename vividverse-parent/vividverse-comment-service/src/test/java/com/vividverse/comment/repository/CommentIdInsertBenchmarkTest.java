@@ -0,0 +1,100 @@
+package com.vividverse.comment.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Indexes;
+
+/**
+ * Inserts the same comment stream keyed by random UUID strings (the old scheme) and by
+ * ObjectIds, then reports insert throughput and the on-disk size of _id and the parent index.
+ * Skipped when Docker is not available.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class CommentIdInsertBenchmarkTest {
+
+    private static final int DOCUMENTS = 200_000;
+    private static final int BATCH = 1_000;
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void testObjectIdKeysInsertFasterAndIndexSmaller() {
+        Result uuid = run("bench_uuid", () -> UUID.randomUUID().toString(), id -> (String) id);
+        Result objectId = run("bench_objectid", ObjectId::new, id -> ((ObjectId) id).toHexString());
+
+        System.out.printf("uuid string ids: %,.0f inserts/s, _id index %,d bytes, parent index %,d bytes%n",
+                          uuid.insertsPerSecond, uuid.idIndexBytes, uuid.parentIndexBytes);
+        System.out.printf("objectid ids:    %,.0f inserts/s, _id index %,d bytes, parent index %,d bytes%n",
+                          objectId.insertsPerSecond, objectId.idIndexBytes, objectId.parentIndexBytes);
+
+        // Throughput depends on the host; the index footprint is the stable signal
+        assertTrue(objectId.idIndexBytes < uuid.idIndexBytes);
+        assertTrue(objectId.parentIndexBytes < uuid.parentIndexBytes);
+    }
+
+    private Result run(String name, Supplier<Object> ids, Function<Object, String> asReference) {
+        mongoTemplate.dropCollection(name);
+        MongoCollection<Document> collection = mongoTemplate.getCollection(name);
+        collection.createIndex(Indexes.ascending("parentCommentId", "createdAt", "_id"));
+
+        UUID postId = UUID.randomUUID();
+        List<String> roots = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int offset = 0; offset < DOCUMENTS; offset += BATCH) {
+            List<Document> batch = new ArrayList<>(BATCH);
+            for (int i = offset; i < offset + BATCH; i++) {
+                Object id = ids.get();
+                // Every fourth comment starts a thread; the rest reply to one of the 50 newest roots
+                String parent = null;
+                if (i % 4 == 0) {
+                    roots.add(asReference.apply(id));
+                } else {
+                    parent = roots.get(roots.size() - 1 - (i % Math.min(roots.size(), 50)));
+                }
+                batch.add(new Document("_id", id)
+                    .append("postId", postId)
+                    .append("userId", UUID.randomUUID())
+                    .append("parentCommentId", parent)
+                    .append("content", "Comment " + i)
+                    .append("createdAt", new Date()));
+            }
+            collection.insertMany(batch);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        // Checkpoint so collStats reports the on-disk index sizes
+        mongoTemplate.getMongoDatabaseFactory().getMongoDatabase("admin").runCommand(new Document("fsync", 1));
+        Document indexSizes = mongoTemplate.getDb().runCommand(new Document("collStats", name)).get("indexSizes", Document.class);
+        return new Result(DOCUMENTS / seconds,
+                          indexSizes.get("_id_", Number.class).longValue(),
+                          indexSizes.get("parentCommentId_1_createdAt_1__id_1", Number.class).longValue());
+    }
+
+    private record Result(double insertsPerSecond, long idIndexBytes, long parentIndexBytes) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.vividverse.comment.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.vividverse.comment.config.MongoIndexConfig;
+import com.vividverse.comment.entity.Comment;
+
+/**
+ * Runs the comment queries against a real MongoDB and checks the query planner answers
+ * them from the declared compound indexes: an IXSCAN and no in-memory SORT stage.
+ * Skipped when Docker is not available.
+ */
+@DataMongoTest
+@Import(MongoIndexConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class CommentRepositoryIndexTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private UUID postId;
+    private String rootId;
+    private List<String> replyIds;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        postId = UUID.randomUUID();
+        List<Comment> comments = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+        for (int i = 0; i < 200; i++) {
+            Comment comment = new Comment();
+            comment.setPostId(i % 2 == 0 ? postId : UUID.randomUUID());
+            comment.setUserId(UUID.randomUUID());
+            comment.setContent("Comment " + i);
+            comment.setCreatedAt(start.plusSeconds(i));
+            comments.add(comment);
+        }
+        rootId = comments.get(0).getId();
+        for (int i = 1; i < 40; i += 2) {
+            comments.get(i).setParentCommentId(rootId);
+        }
+        commentRepository.saveAll(comments);
+        replyIds = comments.stream().filter(comment -> rootId.equals(comment.getParentCommentId())).map(Comment::getId).toList();
+    }
+
+    @Test
+    void testDeclaredIndexesExist() {
+        Set<String> names = new HashSet<>();
+        mongoTemplate.indexOps(Comment.class).getIndexInfo().forEach(index -> names.add(index.getName()));
+
+        assertTrue(names.containsAll(Set.of("post_created_idx", "parent_created_idx", "post_root_created_idx")), names.toString());
+    }
+
+    @Test
+    void testFindByPostIdOrderByCreatedAtAsc_UsesIndexWithoutSort() {
+        // Same filter and sort as the derived query
+        Document plan = explain(new Document("postId", postId), new Document("createdAt", 1));
+
+        assertIndexedWithoutSort(plan, "post_created_idx");
+        assertEquals(100, commentRepository.findByPostIdOrderByCreatedAtAsc(postId).size());
+    }
+
+    @Test
+    void testFindByParentCommentIdOrderByCreatedAtAsc_UsesIndexWithoutSort() {
+        Document plan = explain(new Document("parentCommentId", rootId), new Document("createdAt", 1));
+
+        assertIndexedWithoutSort(plan, "parent_created_idx");
+        assertEquals(20, commentRepository.findByParentCommentIdOrderByCreatedAtAsc(rootId).size());
+    }
+
+    @Test
+    void testRootThreadPage_UsesIndexWithoutSort() {
+        Document plan = explain(new Document("postId", postId).append("parentCommentId", null),
+                                new Document("createdAt", 1).append("_id", 1));
+
+        assertIndexedWithoutSort(plan, "post_root_created_idx");
+        assertEquals(10, commentRepository
+            .findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(postId, PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void testFindFirstReplies_GroupsAndCountsPerParent() {
+        List<ReplyGroup> groups = commentRepository.findFirstReplies(List.of(rootId, replyIds.get(0)), 3);
+
+        assertEquals(1, groups.size()); // Replies have no replies of their own
+        ReplyGroup group = groups.get(0);
+        assertEquals(rootId, group.getParentCommentId());
+        assertEquals(replyIds.subList(0, 3), group.getReplies().stream().map(Comment::getId).toList());
+        assertEquals(20, group.getCount());
+    }
+
+    private Document explain(Document filter, Document sort) {
+        return mongoTemplate.getCollection("comments").find(filter).sort(sort).explain();
+    }
+
+    private static void assertIndexedWithoutSort(Document explain, String indexName) {
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+
+        assertTrue(stages.stream().anyMatch(stage -> "IXSCAN".equals(stage.getString("stage"))
+                                                     && indexName.equals(stage.getString("indexName"))),
+                   "Expected IXSCAN on " + indexName + ": " + winningPlan.toJson());
+        assertTrue(stages.stream().noneMatch(stage -> "SORT".equals(stage.getString("stage"))),
+                   "Unexpected in-memory SORT: " + winningPlan.toJson());
+    }
+
+    // Walks the plan tree; the stage nesting differs between the classic and slot-based engines
+    private static void collectStages(Object node, List<Document> stages) {
+        if (node instanceof Document document) {
+            if (document.containsKey("stage")) {
+                stages.add(document);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
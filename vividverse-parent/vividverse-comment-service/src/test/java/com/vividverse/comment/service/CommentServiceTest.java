@@ -2,29 +2,52 @@ package com.vividverse.comment.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import com.vividverse.comment.dto.CommentCreateRequest;
 import com.vividverse.comment.dto.CommentResponse;
+import com.vividverse.comment.dto.CommentThreadResponse;
+import com.vividverse.comment.dto.SliceResponse;
+import com.vividverse.comment.cache.CommentListCache;
 import com.vividverse.comment.entity.Comment;
-import com.vividverse.comment.repository.CommentRepository;
+import com.vividverse.comment.live.CommentCreatedEvent;
+import com.vividverse.comment.migration.LegacyCommentIds;
+import com.vividverse.comment.repository.CommentStore;
+import com.vividverse.comment.repository.ReplyGroup;
+import com.vividverse.comment.util.CommentCursor;
 
 @ExtendWith(MockitoExtension.class)
 class CommentServiceTest {
 
     @Mock
-    private CommentRepository commentRepository;
+    private CommentStore commentStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CommentListCache commentListCache;
+
+    @Mock
+    private LegacyCommentIds legacyCommentIds;
 
     @InjectMocks
     private CommentService commentService;
@@ -41,7 +64,9 @@ class CommentServiceTest {
         testCommentId = UUID.randomUUID();
         testPostId = UUID.randomUUID();
         testUserId = UUID.randomUUID();
-        
+        // No comment in these tests was migrated from a legacy id
+        lenient().when(legacyCommentIds.resolve(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
         testComment = new Comment();
         testComment.setId(testCommentId.toString());
         testComment.setPostId(testPostId);
@@ -67,8 +92,8 @@ class CommentServiceTest {
 
     @Test
     void testAddComment_Success() {
-        // Arrange
-        when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
+        // Arrange: the repository returns the entity it was given
+        when(commentStore.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         CommentResponse result = commentService.addComment(createRequest);
@@ -79,7 +104,83 @@ class CommentServiceTest {
         assertEquals(createRequest.getUserId(), result.getUserId());
         assertEquals(createRequest.getContent(), result.getContent());
         assertEquals(createRequest.getParentCommentId(), result.getParentCommentId());
-        verify(commentRepository).save(any(Comment.class));
+        verify(commentStore).save(any(Comment.class));
+    }
+
+    @Test
+    void testAddComment_PublishesCreatedEvent() {
+        // Arrange
+        when(commentStore.save(any(Comment.class))).thenReturn(testComment);
+
+        // Act
+        CommentResponse result = commentService.addComment(createRequest);
+
+        // Assert
+        verify(eventPublisher).publishEvent(new CommentCreatedEvent(result));
+    }
+
+    @Test
+    void testAddComment_WritesThroughToListCache() {
+        // Arrange
+        when(commentStore.save(any(Comment.class))).thenReturn(testComment);
+
+        // Act
+        CommentResponse result = commentService.addComment(createRequest);
+
+        // Assert
+        verify(commentListCache).append(result);
+    }
+
+    @Test
+    void testGetCommentsForPostJson_ServedByListCache() {
+        // Arrange
+        byte[] cached = "[]".getBytes();
+        when(commentListCache.getJson(eq(testPostId), any())).thenReturn(cached);
+
+        // Act
+        byte[] result = commentService.getCommentsForPostJson(testPostId);
+
+        // Assert
+        assertSame(cached, result);
+        verifyNoInteractions(commentStore);
+    }
+
+    @Test
+    void testAddComment_UsesWriteBufferWhenEnabled() {
+        // Arrange
+        CommentWriteBuffer writeBuffer = mock(CommentWriteBuffer.class);
+        when(writeBuffer.insert(any(Comment.class), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        CommentService bufferedService = new CommentService(commentStore, writeBuffer, eventPublisher, commentListCache,
+                                                           legacyCommentIds);
+
+        // Act
+        CommentResponse result = bufferedService.addComment(createRequest);
+
+        // Assert
+        assertEquals(createRequest.getContent(), result.getContent());
+        verify(writeBuffer).insert(any(Comment.class), any());
+        verify(commentStore, never()).save(any(Comment.class));
+    }
+
+    @Test
+    void testAddComment_BufferedCommentStoredLateIsPublished() {
+        // Arrange: the caller times out, then the writer stores the comment
+        CommentWriteBuffer writeBuffer = mock(CommentWriteBuffer.class);
+        when(writeBuffer.insert(any(Comment.class), any())).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            invocation.<Consumer<Comment>>getArgument(1).accept(comment);
+            throw new CommentWritePendingException("pending", CommentService.convertToDto(comment));
+        });
+        CommentService bufferedService = new CommentService(commentStore, writeBuffer, eventPublisher, commentListCache,
+                                                            legacyCommentIds);
+
+        // Act
+        CommentWritePendingException pending = assertThrows(CommentWritePendingException.class,
+                                                            () -> bufferedService.addComment(createRequest));
+
+        // Assert
+        verify(commentListCache).append(pending.getComment());
+        verify(eventPublisher).publishEvent(new CommentCreatedEvent(pending.getComment()));
     }
 
     @Test
@@ -96,7 +197,7 @@ class CommentServiceTest {
         commentWithParent.setParentCommentId(parentCommentId);
         commentWithParent.setCreatedAt(LocalDateTime.now());
 
-        when(commentRepository.save(any(Comment.class))).thenReturn(commentWithParent);
+        when(commentStore.save(any(Comment.class))).thenReturn(commentWithParent);
 
         // Act
         CommentResponse result = commentService.addComment(createRequest);
@@ -104,7 +205,7 @@ class CommentServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(parentCommentId, result.getParentCommentId());
-        verify(commentRepository).save(any(Comment.class));
+        verify(commentStore).save(any(Comment.class));
     }
 
     @Test
@@ -113,21 +214,21 @@ class CommentServiceTest {
         CommentCreateRequest nullRequest = new CommentCreateRequest();
         // Don't set any values, leaving them null
 
-        when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
+        when(commentStore.save(any(Comment.class))).thenReturn(testComment);
 
         // Act
         CommentResponse result = commentService.addComment(nullRequest);
 
         // Assert
         assertNotNull(result);
-        verify(commentRepository).save(any(Comment.class));
+        verify(commentStore).save(any(Comment.class));
     }
 
     @Test
     void testGetCommentsForPost_Success() {
         // Arrange
         List<Comment> comments = List.of(testComment);
-        when(commentRepository.findByPostIdOrderByCreatedAtAsc(testPostId)).thenReturn(comments);
+        when(commentStore.findByPostIdOrderByCreatedAtAsc(testPostId)).thenReturn(comments);
 
         // Act
         List<CommentResponse> result = commentService.getCommentsForPost(testPostId);
@@ -138,13 +239,13 @@ class CommentServiceTest {
         assertEquals(testCommentId.toString(), result.get(0).getId());
         assertEquals(testPostId, result.get(0).getPostId());
         assertEquals(testUserId, result.get(0).getUserId());
-        verify(commentRepository).findByPostIdOrderByCreatedAtAsc(testPostId);
+        verify(commentStore).findByPostIdOrderByCreatedAtAsc(testPostId);
     }
 
     @Test
     void testGetCommentsForPost_EmptyList() {
         // Arrange
-        when(commentRepository.findByPostIdOrderByCreatedAtAsc(testPostId)).thenReturn(List.of());
+        when(commentStore.findByPostIdOrderByCreatedAtAsc(testPostId)).thenReturn(List.of());
 
         // Act
         List<CommentResponse> result = commentService.getCommentsForPost(testPostId);
@@ -152,7 +253,7 @@ class CommentServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(0, result.size());
-        verify(commentRepository).findByPostIdOrderByCreatedAtAsc(testPostId);
+        verify(commentStore).findByPostIdOrderByCreatedAtAsc(testPostId);
     }
 
     @Test
@@ -173,7 +274,7 @@ class CommentServiceTest {
         comment2.setCreatedAt(LocalDateTime.now());
 
         List<Comment> comments = List.of(comment1, comment2);
-        when(commentRepository.findByPostIdOrderByCreatedAtAsc(testPostId)).thenReturn(comments);
+        when(commentStore.findByPostIdOrderByCreatedAtAsc(testPostId)).thenReturn(comments);
 
         // Act
         List<CommentResponse> result = commentService.getCommentsForPost(testPostId);
@@ -183,7 +284,7 @@ class CommentServiceTest {
         assertEquals(2, result.size());
         assertEquals("First comment", result.get(0).getContent());
         assertEquals("Second comment", result.get(1).getContent());
-        verify(commentRepository).findByPostIdOrderByCreatedAtAsc(testPostId);
+        verify(commentStore).findByPostIdOrderByCreatedAtAsc(testPostId);
     }
 
     @Test
@@ -193,7 +294,7 @@ class CommentServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(commentRepository).findByPostIdOrderByCreatedAtAsc(null);
+        verify(commentStore).findByPostIdOrderByCreatedAtAsc(null);
     }
 
     @Test
@@ -208,7 +309,7 @@ class CommentServiceTest {
         comment.setCreatedAt(LocalDateTime.now());
 
         List<Comment> comments = List.of(comment);
-        when(commentRepository.findByPostIdOrderByCreatedAtAsc(testPostId)).thenReturn(comments);
+        when(commentStore.findByPostIdOrderByCreatedAtAsc(testPostId)).thenReturn(comments);
 
         // Act
         List<CommentResponse> result = commentService.getCommentsForPost(testPostId);
@@ -228,7 +329,7 @@ class CommentServiceTest {
     @Test
     void testAddComment_RepositoryThrowsException() {
         // Arrange
-        when(commentRepository.save(any(Comment.class)))
+        when(commentStore.save(any(Comment.class)))
             .thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
@@ -240,7 +341,7 @@ class CommentServiceTest {
     @Test
     void testGetCommentsForPost_RepositoryThrowsException() {
         // Arrange
-        when(commentRepository.findByPostIdOrderByCreatedAtAsc(testPostId))
+        when(commentStore.findByPostIdOrderByCreatedAtAsc(testPostId))
             .thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
@@ -254,7 +355,7 @@ class CommentServiceTest {
         // Arrange
         createRequest.setContent("");
 
-        when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
+        when(commentStore.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         CommentResponse result = commentService.addComment(createRequest);
@@ -262,7 +363,7 @@ class CommentServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("", result.getContent());
-        verify(commentRepository).save(any(Comment.class));
+        verify(commentStore).save(any(Comment.class));
     }
 
     @Test
@@ -278,7 +379,7 @@ class CommentServiceTest {
         longComment.setContent(longContent);
         longComment.setCreatedAt(LocalDateTime.now());
 
-        when(commentRepository.save(any(Comment.class))).thenReturn(longComment);
+        when(commentStore.save(any(Comment.class))).thenReturn(longComment);
 
         // Act
         CommentResponse result = commentService.addComment(createRequest);
@@ -286,6 +387,170 @@ class CommentServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(longContent, result.getContent());
-        verify(commentRepository).save(any(Comment.class));
+        verify(commentStore).save(any(Comment.class));
+    }
+
+    @Test
+    void testGetThreadsForPost_FirstPageEmbedsReplies() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<Comment> roots = comments(null, base, 3); // limit 2 + 1 look-ahead
+        List<Comment> replies = comments(roots.get(0).getId(), base.plusMinutes(10), 2);
+        when(commentStore.findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(testPostId, PageRequest.of(0, 3)))
+            .thenReturn(roots);
+        when(commentStore.findFirstReplies(List.of(roots.get(0).getId(), roots.get(1).getId()), 3))
+            .thenReturn(List.of(replyGroup(roots.get(0).getId(), replies, 2)));
+
+        // Act
+        SliceResponse<CommentThreadResponse> result = commentService.getThreadsForPost(testPostId, null, 2, 3);
+
+        // Assert
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasNext());
+        assertEquals(new CommentCursor(roots.get(1).getCreatedAt(), roots.get(1).getId()).encode(), result.getNextCursor());
+        CommentThreadResponse first = result.getContent().get(0);
+        assertEquals(roots.get(0).getId(), first.getId());
+        assertEquals(2, first.getReplies().size());
+        assertEquals(2, first.getReplyCount());
+        assertNull(first.getMoreRepliesCursor());
+        assertEquals(0, result.getContent().get(1).getReplyCount());
+        assertTrue(result.getContent().get(1).getReplies().isEmpty());
+        verify(commentStore, never()).findByParentCommentIdOrderByCreatedAtAscIdAsc(any(), any());
+        verify(commentStore, never()).findByPostIdOrderByCreatedAtAsc(any());
+    }
+
+    @Test
+    void testGetThreadsForPost_OverflowingRepliesAreCountedWithCursor() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Comment root = comments(null, base, 1).get(0);
+        List<Comment> replies = comments(root.getId(), base.plusMinutes(1), 2);
+        when(commentStore.findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(testPostId, PageRequest.of(0, 21)))
+            .thenReturn(List.of(root));
+        when(commentStore.findFirstReplies(List.of(root.getId()), 2)).thenReturn(List.of(replyGroup(root.getId(), replies, 57)));
+
+        // Act
+        SliceResponse<CommentThreadResponse> result = commentService.getThreadsForPost(testPostId, "", 20, 2);
+
+        // Assert
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        CommentThreadResponse thread = result.getContent().get(0);
+        assertEquals(2, thread.getReplies().size());
+        assertEquals(57, thread.getReplyCount());
+        assertEquals(new CommentCursor(replies.get(1).getCreatedAt(), replies.get(1).getId()).encode(),
+                     thread.getMoreRepliesCursor());
+    }
+
+    @Test
+    void testGetThreadsForPost_WithCursorSeeksPastLastRoot() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        String cursor = new CommentCursor(createdAt, "c-1").encode();
+        when(commentStore.findRootsAfter(testPostId, createdAt, "c-1", PageRequest.of(0, 11))).thenReturn(List.of());
+
+        // Act
+        SliceResponse<CommentThreadResponse> result = commentService.getThreadsForPost(testPostId, cursor, 10, 3);
+
+        // Assert
+        assertEquals(0, result.getSize());
+        assertFalse(result.isHasNext());
+        verify(commentStore).findRootsAfter(testPostId, createdAt, "c-1", PageRequest.of(0, 11));
+    }
+
+    @Test
+    void testGetThreadsForPost_ClampsLimits() {
+        // Arrange
+        when(commentStore.findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(any(), any()))
+            .thenReturn(List.of());
+
+        // Act
+        commentService.getThreadsForPost(testPostId, null, 10_000, 10_000);
+
+        // Assert
+        verify(commentStore).findByPostIdAndParentCommentIdIsNullOrderByCreatedAtAscIdAsc(
+            testPostId, PageRequest.of(0, CommentService.MAX_PAGE_SIZE + 1));
+        verify(commentStore, never()).findFirstReplies(any(), anyInt()); // No roots, no replies to look up
+    }
+
+    @Test
+    void testGetThreadsForPost_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+            () -> commentService.getThreadsForPost(testPostId, "not-a-cursor", 10, 3));
+    }
+
+    @Test
+    void testGetReplies_PagesWithCursor() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        String parentId = testCommentId.toString();
+        List<Comment> replies = comments(parentId, base, 3);
+        String cursor = new CommentCursor(base, "r-0").encode();
+        when(commentStore.findRepliesAfter(parentId, base, "r-0", PageRequest.of(0, 3))).thenReturn(replies);
+
+        // Act
+        SliceResponse<CommentResponse> result = commentService.getReplies(parentId, cursor, 2);
+
+        // Assert
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasNext());
+        assertEquals(new CommentCursor(replies.get(1).getCreatedAt(), replies.get(1).getId()).encode(), result.getNextCursor());
+    }
+
+    @Test
+    void testAddComment_LegacyParentIdStoredAsMigratedId() {
+        // Arrange
+        String legacyParentId = UUID.randomUUID().toString();
+        String migratedParentId = new ObjectId().toHexString();
+        when(legacyCommentIds.resolve(legacyParentId)).thenReturn(migratedParentId);
+        when(commentStore.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        createRequest.setParentCommentId(legacyParentId);
+
+        // Act
+        CommentResponse result = commentService.addComment(createRequest);
+
+        // Assert
+        assertEquals(migratedParentId, result.getParentCommentId());
+    }
+
+    @Test
+    void testGetReplies_LegacyIdReadsMigratedReplies() {
+        // Arrange
+        String legacyParentId = UUID.randomUUID().toString();
+        String migratedParentId = new ObjectId().toHexString();
+        when(legacyCommentIds.resolve(legacyParentId)).thenReturn(migratedParentId);
+        List<Comment> replies = comments(migratedParentId, LocalDateTime.of(2026, 1, 1, 12, 0), 2);
+        when(commentStore.findByParentCommentIdOrderByCreatedAtAscIdAsc(migratedParentId, PageRequest.of(0, 3)))
+            .thenReturn(replies);
+
+        // Act
+        SliceResponse<CommentResponse> result = commentService.getReplies(legacyParentId, null, 2);
+
+        // Assert
+        assertEquals(2, result.getSize());
+        assertFalse(result.isHasNext());
+    }
+
+    private List<Comment> comments(String parentCommentId, LocalDateTime start, int count) {
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Comment comment = new Comment();
+            comment.setId((parentCommentId == null ? "c-" : "r-") + i);
+            comment.setPostId(testPostId);
+            comment.setUserId(testUserId);
+            comment.setParentCommentId(parentCommentId);
+            comment.setContent("Comment " + i);
+            comment.setCreatedAt(start.plusSeconds(i));
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    private static ReplyGroup replyGroup(String parentCommentId, List<Comment> replies, long count) {
+        ReplyGroup group = new ReplyGroup();
+        group.setParentCommentId(parentCommentId);
+        group.setReplies(replies);
+        group.setCount(count);
+        return group;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.vividverse.comment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.vividverse.comment.entity.Comment;
+import com.vividverse.comment.repository.ReactiveBucketedCommentRepository;
+import com.vividverse.comment.repository.ReactiveCommentRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class CommentStreamServiceTest {
+
+    private final ReactiveCommentRepository reactiveCommentRepository = mock(ReactiveCommentRepository.class);
+    private final ReactiveBucketedCommentRepository reactiveBucketedCommentRepository = mock(ReactiveBucketedCommentRepository.class);
+    private final UUID postId = UUID.randomUUID();
+
+    @Test
+    void testStreamCommentsForPost_MapsInOrder() {
+        // Arrange
+        List<Comment> comments = comments(3);
+        when(reactiveCommentRepository.findByPostIdOrderByCreatedAtAsc(postId)).thenReturn(Flux.fromIterable(comments));
+        CommentStreamService service = new CommentStreamService(reactiveCommentRepository,
+            reactiveBucketedCommentRepository, "documents");
+
+        // Act & Assert
+        StepVerifier.create(service.streamCommentsForPost(postId))
+            .expectNextMatches(response -> response.getId().equals(comments.get(0).getId()))
+            .expectNextMatches(response -> response.getId().equals(comments.get(1).getId()))
+            .expectNextMatches(response -> response.getContent().equals(comments.get(2).getContent()))
+            .verifyComplete();
+        verifyNoInteractions(reactiveBucketedCommentRepository);
+    }
+
+    @Test
+    void testStreamCommentsForPost_HonoursDemand() {
+        // Arrange: count what the source is asked for, not what it could emit
+        AtomicLong requested = new AtomicLong();
+        Flux<Comment> source = Flux.fromIterable(comments(1_000)).doOnRequest(requested::addAndGet);
+        when(reactiveCommentRepository.findByPostIdOrderByCreatedAtAsc(postId)).thenReturn(source);
+        CommentStreamService service = new CommentStreamService(reactiveCommentRepository,
+            reactiveBucketedCommentRepository, "documents");
+
+        // Act & Assert
+        StepVerifier.create(service.streamCommentsForPost(postId), 5)
+            .expectNextCount(5)
+            .then(() -> assertEquals(5, requested.get()))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void testStreamCommentsForPost_BucketedLayout() {
+        // Arrange
+        List<Comment> comments = comments(2);
+        when(reactiveBucketedCommentRepository.findByPostIdOrderByCreatedAtAsc(postId)).thenReturn(Flux.fromIterable(comments));
+        CommentStreamService service = new CommentStreamService(reactiveCommentRepository,
+            reactiveBucketedCommentRepository, "buckets");
+
+        // Act & Assert
+        StepVerifier.create(service.streamCommentsForPost(postId))
+            .expectNextCount(2)
+            .verifyComplete();
+        verifyNoInteractions(reactiveCommentRepository);
+    }
+
+    private List<Comment> comments(int count) {
+        LocalDateTime start = LocalDateTime.of(2026, 4, 1, 10, 0);
+        return IntStream.range(0, count).mapToObj(i -> {
+            Comment comment = new Comment();
+            comment.setPostId(postId);
+            comment.setUserId(UUID.randomUUID());
+            comment.setContent("Comment " + i);
+            comment.setCreatedAt(start.plusSeconds(i));
+            return comment;
+        }).toList();
+    }
+}
@@ -0,0 +1,174 @@
+package com.vividverse.comment.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.vividverse.comment.entity.Comment;
+import com.vividverse.comment.repository.CommentStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CommentWriteBufferTest {
+
+    private final CommentStore commentStore = mock(CommentStore.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(32);
+    private CommentWriteBuffer writeBuffer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (writeBuffer != null) {
+            writeBuffer.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentInsertsAreBatched() throws Exception {
+        // Arrange
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        when(commentStore.insert(anyIterable())).thenAnswer(invocation -> {
+            List<Comment> batch = new ArrayList<>();
+            invocation.<Iterable<Comment>>getArgument(0).forEach(batch::add);
+            batchSizes.add(batch.size());
+            return batch;
+        });
+        writeBuffer = new CommentWriteBuffer(commentStore, 16, Duration.ofMillis(20), 1_000, Duration.ofSeconds(5), registry);
+
+        // Act
+        List<Future<Comment>> results = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            Comment comment = comment();
+            results.add(callers.submit(() -> writeBuffer.insert(comment)));
+        }
+        for (Future<Comment> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertEquals(64, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.size() < 64, "Expected batching, got " + batchSizes);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 16));
+        assertEquals(64, registry.get("comment.write.latency").timer().count());
+        assertEquals(64, (long) registry.get("comment.write.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void testCallerReleasedOnlyAfterBatchIsStored() throws Exception {
+        // Arrange
+        CountDownLatch storeStarted = new CountDownLatch(1);
+        CountDownLatch releaseStore = new CountDownLatch(1);
+        when(commentStore.insert(anyIterable())).thenAnswer(invocation -> {
+            storeStarted.countDown();
+            releaseStore.await();
+            return List.of();
+        });
+        writeBuffer = new CommentWriteBuffer(commentStore, 16, Duration.ofMillis(1), 1_000, Duration.ofSeconds(5), registry);
+
+        // Act
+        Future<Comment> result = callers.submit(() -> writeBuffer.insert(comment()));
+        assertTrue(storeStarted.await(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertFalse(result.isDone());
+        releaseStore.countDown();
+        assertNotNull(result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailedBatchRetriedIndividually() throws Exception {
+        // Arrange
+        Comment good = comment();
+        Comment bad = comment();
+        when(commentStore.insert(anyIterable())).thenThrow(new RuntimeException("E11000 duplicate key"));
+        when(commentStore.existsById(anyString())).thenReturn(false);
+        when(commentStore.insert(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            if (comment == bad) {
+                throw new IllegalStateException("rejected");
+            }
+            return comment;
+        });
+        writeBuffer = new CommentWriteBuffer(commentStore, 16, Duration.ofMillis(50), 1_000, Duration.ofSeconds(5), registry);
+
+        // Act
+        Future<Comment> goodResult = callers.submit(() -> writeBuffer.insert(good));
+        Future<Comment> badResult = callers.submit(() -> writeBuffer.insert(bad));
+
+        // Assert
+        assertSame(good, goodResult.get(5, TimeUnit.SECONDS));
+        Exception failure = assertThrows(Exception.class, () -> badResult.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    void testTimedOutCallerGetsCommentAndLateStoreIsReported() throws Exception {
+        // Arrange: the store outlasts the write timeout
+        CountDownLatch releaseStore = new CountDownLatch(1);
+        when(commentStore.insert(anyIterable())).thenAnswer(invocation -> {
+            releaseStore.await();
+            return List.of();
+        });
+        writeBuffer = new CommentWriteBuffer(commentStore, 16, Duration.ZERO, 1_000, Duration.ofMillis(50), registry);
+        Comment comment = comment();
+        CompletableFuture<Comment> storedLate = new CompletableFuture<>();
+
+        // Act
+        CommentWritePendingException pending = assertThrows(CommentWritePendingException.class,
+                                                            () -> writeBuffer.insert(comment, storedLate::complete));
+        releaseStore.countDown();
+
+        // Assert: the caller learns the id it would otherwise post twice
+        assertEquals(comment.getId(), pending.getComment().getId());
+        assertSame(comment, storedLate.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFullQueueFailsFast() throws Exception {
+        // Arrange: the writer blocks on its first batch, so the queue fills up behind it
+        CountDownLatch releaseStore = new CountDownLatch(1);
+        CountDownLatch storeStarted = new CountDownLatch(1);
+        when(commentStore.insert(anyIterable())).thenAnswer(invocation -> {
+            storeStarted.countDown();
+            releaseStore.await();
+            return List.of();
+        });
+        writeBuffer = new CommentWriteBuffer(commentStore, 1, Duration.ZERO, 1, Duration.ofSeconds(5), registry);
+        callers.submit(() -> writeBuffer.insert(comment()));
+        assertTrue(storeStarted.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> writeBuffer.insert(comment()));
+        while (registry.get("comment.write.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThrows(CommentWriteBusyException.class, () -> writeBuffer.insert(comment()));
+        releaseStore.countDown();
+    }
+
+    private static Comment comment() {
+        Comment comment = new Comment();
+        comment.setPostId(UUID.randomUUID());
+        comment.setUserId(UUID.randomUUID());
+        comment.setContent("Live comment");
+        return comment;
+    }
+}
@@ -0,0 +1,40 @@
+package com.vividverse.comment.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class CommentCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123000000);
+        String id = "0b4f7c2e-9a41-4d7e-8f55-3c1d2e6a9b10";
+
+        // Act
+        CommentCursor decoded = CommentCursor.decode(new CommentCursor(createdAt, id).encode());
+
+        // Assert
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(id, decoded.getId());
+    }
+
+    @Test
+    void testEncode_IsUrlSafe() {
+        // Act
+        String token = new CommentCursor(LocalDateTime.now(), "some-comment-id").encode();
+
+        // Assert
+        assertTrue(token.matches("^[A-Za-z0-9_-]+$"));
+    }
+
+    @Test
+    void testDecode_InvalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> CommentCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> CommentCursor.decode("Zm9vYmFy")); // "foobar"
+        assertThrows(IllegalArgumentException.class, () -> CommentCursor.decode("Zm9vfGJhcg")); // "foo|bar"
+    }
+}
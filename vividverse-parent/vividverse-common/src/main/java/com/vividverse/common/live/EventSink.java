@@ -0,0 +1,20 @@
+package com.vividverse.common.live;
+
+import java.io.IOException;
+
+/**
+ * Transport side of a live subscription, e.g. one SSE connection.
+ * send and heartbeat are called from the hub's dispatcher threads, never concurrently for the
+ * same sink. close may be called from another thread while a write is still in progress.
+ */
+public interface EventSink {
+
+    // Writes one event; an IOException means the client is gone
+    void send(Object event) throws IOException;
+
+    // Keep-alive for idle connections, so proxies keep them open and dead clients are noticed
+    void heartbeat() throws IOException;
+
+    // Ends the subscription from the server side
+    void close();
+}
@@ -0,0 +1,29 @@
+package com.vividverse.common.live;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Reads the vividverse.live.* settings into a {@link LiveUpdateHubFactory}.
+ * A service imports this and declares its hub beans with {@link LiveUpdateHubFactory#create}.
+ */
+@Configuration
+public class LiveUpdateConfiguration {
+
+    @Bean
+    public LiveUpdateHubFactory liveUpdateHubFactory(@Value("${vividverse.live.dispatcher-threads:4}") int dispatcherThreads,
+                                                     @Value("${vividverse.live.heartbeat-interval:25s}") Duration heartbeatInterval,
+                                                     @Value("${vividverse.live.write-timeout:10s}") Duration writeTimeout,
+                                                     @Value("${vividverse.live.buffer-size:64}") int bufferSize,
+                                                     @Value("${vividverse.live.overflow-policy:DROP_OLDEST}") LiveUpdateHub.OverflowPolicy overflowPolicy,
+                                                     @Value("${vividverse.live.max-subscribers:20000}") int maxSubscribers,
+                                                     MeterRegistry meterRegistry) {
+        return new LiveUpdateHubFactory(dispatcherThreads, heartbeatInterval, writeTimeout, bufferSize,
+                                        overflowPolicy, maxSubscribers, meterRegistry);
+    }
+}
@@ -0,0 +1,244 @@
+package com.vividverse.common.live;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process fan-out of live events to subscribers grouped by key (e.g. a post id).
+ * Publishing never blocks on a subscriber. Each subscriber has its own bounded buffer,
+ * drained on a shared dispatcher, so one slow connection cannot hold up the others.
+ * When a buffer is full the {@link OverflowPolicy} decides whether to drop events or
+ * disconnect the subscriber. A write that blocks for longer than the write timeout is
+ * treated the same way as a DISCONNECT overflow, see {@link #disconnectStuckWriters()}.
+ * Idle subscribers hold no buffer array and no thread.
+ * Events reach only subscribers connected to the same JVM; there is no cross-instance
+ * fan-out, so a service using the hub runs as a single instance.
+ */
+public class LiveUpdateHub<K> {
+
+    public enum OverflowPolicy {
+        // Discard the oldest buffered event to make room: the client always sees the latest
+        DROP_OLDEST,
+        // Discard the new event: the client sees a gap but keeps its backlog
+        DROP_NEWEST,
+        // Close the connection: the client reconnects and reloads instead of silently missing events
+        DISCONNECT
+    }
+
+    // Marker queued behind real events so heartbeats never overtake them
+    private static final Object HEARTBEAT = new Object();
+    private static final long NOT_WRITING = Long.MIN_VALUE;
+
+    private final ConcurrentHashMap<K, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxSubscribers;
+    private final long writeTimeoutNanos;
+    private final Executor dispatcher;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    public LiveUpdateHub(String name, int bufferSize, OverflowPolicy overflowPolicy, int maxSubscribers,
+                         Duration writeTimeout, Executor dispatcher, MeterRegistry meterRegistry) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.maxSubscribers = maxSubscribers;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.dispatcher = dispatcher;
+        this.dropped = Counter.builder("live.events.dropped").tag("hub", name)
+            .description("Events discarded because a subscriber's buffer was full")
+            .register(meterRegistry);
+        this.disconnected = Counter.builder("live.subscribers.disconnected").tag("hub", name)
+            .description("Subscribers closed for falling behind or for a write stuck past the write timeout")
+            .register(meterRegistry);
+        Gauge.builder("live.subscribers", subscriberCount, AtomicInteger::get).tag("hub", name)
+            .description("Open live subscriptions")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Registers a sink for a key's events
+     * @return the subscription, to be passed to {@link #unsubscribe} when the connection ends
+     * @throws TooManySubscribersException if the hub is at its subscriber limit
+     */
+    public Subscriber subscribe(K key, EventSink sink) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TooManySubscribersException("Too many live subscribers, please try again later.");
+        }
+        Subscriber subscriber = new Subscriber(key, sink);
+        // Added inside compute so it cannot race with unsubscribe removing an emptied set
+        subscribers.compute(key, (k, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        return subscriber;
+    }
+
+    public void unsubscribe(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            // Drop the key's set once empty so keys of inactive posts do not accumulate
+            subscribers.computeIfPresent(subscriber.key, (key, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * Queues an event for every subscriber of the key; returns without waiting for delivery
+     */
+    public void publish(K key, Object event) {
+        Set<Subscriber> targets = subscribers.get(key);
+        if (targets != null) {
+            targets.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    /**
+     * Queues a keep-alive for every subscriber whose buffer is empty
+     */
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offerHeartbeat()));
+    }
+
+    /**
+     * Disconnects every subscriber whose current write has been blocked for longer than the
+     * write timeout, e.g. a client that stopped reading while its TCP window is full.
+     * A blocked write holds a dispatcher thread, so a handful of such clients would otherwise
+     * stall delivery to everyone. Closing the sink ends the subscription at once; the thread
+     * itself is released when the transport gives up on the write, so the servlet container's
+     * socket write timeout should not be longer than the hub's write timeout.
+     */
+    public void disconnectStuckWriters() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            long startedAt = subscriber.writeStartedAt;
+            if (startedAt != NOT_WRITING && now - startedAt > writeTimeoutNanos) {
+                subscriber.disconnect();
+            }
+        }));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public final class Subscriber implements Runnable {
+
+        private final K key;
+        private final EventSink sink;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private ArrayDeque<Object> buffer; // Guarded by this; allocated on first event
+        private volatile long writeStartedAt = NOT_WRITING; // System.nanoTime() of the write in progress
+
+        private Subscriber(K key, EventSink sink) {
+            this.key = key;
+            this.sink = sink;
+        }
+
+        private void offer(Object event) {
+            boolean overflow = false;
+            synchronized (this) {
+                if (buffer == null) {
+                    buffer = new ArrayDeque<>(Math.min(bufferSize, 16));
+                }
+                if (buffer.size() < bufferSize) {
+                    buffer.addLast(event);
+                } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    buffer.pollFirst();
+                    buffer.addLast(event);
+                    dropped.increment();
+                } else if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    dropped.increment();
+                    return;
+                } else {
+                    overflow = true;
+                }
+            }
+            if (overflow) {
+                disconnect();
+                return;
+            }
+            schedule();
+        }
+
+        private void disconnect() {
+            if (!closed.get()) {
+                disconnected.increment();
+                unsubscribe(this);
+                sink.close();
+            }
+        }
+
+        private void offerHeartbeat() {
+            synchronized (this) {
+                if (buffer != null && !buffer.isEmpty()) {
+                    return; // Pending events keep the connection busy anyway
+                }
+                if (buffer == null) {
+                    buffer = new ArrayDeque<>(1);
+                }
+                buffer.addLast(HEARTBEAT);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this);
+            }
+        }
+
+        // Drains the buffer on a dispatcher thread; at most one drain per subscriber at a time
+        @Override
+        public void run() {
+            while (true) {
+                Object event;
+                synchronized (this) {
+                    // Null when a previous drain already took the event this run was scheduled for
+                    event = buffer == null ? null : buffer.pollFirst();
+                    if (event == null) {
+                        buffer = null; // Release the array while idle
+                        scheduled.set(false);
+                        return;
+                    }
+                }
+                if (closed.get()) {
+                    continue; // Discard what is left
+                }
+                writeStartedAt = System.nanoTime();
+                try {
+                    if (event == HEARTBEAT) {
+                        sink.heartbeat();
+                    } else {
+                        sink.send(event);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Client went away mid-write, or the write timed out
+                    unsubscribe(this);
+                    sink.close();
+                } finally {
+                    writeStartedAt = NOT_WRITING;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.vividverse.common.live;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Builds {@link LiveUpdateHub}s that share one small dispatcher pool, which writes to the
+ * connections, and one scheduler, which sends keep-alives to idle subscribers and disconnects
+ * those whose write has been blocked past the write timeout.
+ * Closing the factory stops both for every hub it created.
+ */
+public class LiveUpdateHubFactory implements AutoCloseable {
+
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeats;
+    private final Duration heartbeatInterval;
+    private final Duration writeTimeout;
+    private final int bufferSize;
+    private final LiveUpdateHub.OverflowPolicy overflowPolicy;
+    private final int maxSubscribers;
+    private final MeterRegistry meterRegistry;
+
+    public LiveUpdateHubFactory(int dispatcherThreads, Duration heartbeatInterval, Duration writeTimeout, int bufferSize,
+                                LiveUpdateHub.OverflowPolicy overflowPolicy, int maxSubscribers, MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeatInterval = heartbeatInterval;
+        this.writeTimeout = writeTimeout;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.maxSubscribers = maxSubscribers;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates a hub and schedules its heartbeats and stuck-write checks
+     * @param name tags the hub's metrics, e.g. "posts"
+     */
+    public <K> LiveUpdateHub<K> create(String name) {
+        LiveUpdateHub<K> hub = new LiveUpdateHub<>(name, bufferSize, overflowPolicy, maxSubscribers, writeTimeout, dispatcher, meterRegistry);
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(hub::heartbeat, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        // Checked at half the timeout, so a stuck write is cut off within 1.5x the write timeout
+        long checkMillis = Math.max(writeTimeout.toMillis() / 2, 1);
+        heartbeats.scheduleAtFixedRate(hub::disconnectStuckWriters, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        return hub;
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,48 @@
+package com.vividverse.common.live;
+
+import java.io.IOException;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Writes hub events to a Server-Sent Events connection as named JSON events
+ */
+public class SseEventSink implements EventSink {
+
+    private final SseEmitter emitter;
+    private final String eventName;
+
+    public SseEventSink(SseEmitter emitter, String eventName) {
+        this.emitter = emitter;
+        this.eventName = eventName;
+    }
+
+    @Override
+    public void send(Object event) throws IOException {
+        emitter.send(SseEmitter.event().name(eventName).data(event, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("keep-alive"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+
+    /**
+     * Subscribes a new emitter and unsubscribes it when the connection completes, times out or fails
+     * @throws TooManySubscribersException if the hub is at its subscriber limit
+     */
+    public static <K> SseEmitter subscribe(LiveUpdateHub<K> hub, K key, String eventName, long timeoutMillis) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        LiveUpdateHub<K>.Subscriber subscriber = hub.subscribe(key, new SseEventSink(emitter, eventName));
+        emitter.onCompletion(() -> hub.unsubscribe(subscriber));
+        emitter.onTimeout(() -> hub.unsubscribe(subscriber));
+        emitter.onError(error -> hub.unsubscribe(subscriber));
+        return emitter;
+    }
+}
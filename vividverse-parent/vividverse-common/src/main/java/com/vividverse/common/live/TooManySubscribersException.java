@@ -0,0 +1,9 @@
+package com.vividverse.common.live;
+
+// Thrown when a hub is at its subscriber limit; mapped to 503 by the controller
+public class TooManySubscribersException extends RuntimeException {
+
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
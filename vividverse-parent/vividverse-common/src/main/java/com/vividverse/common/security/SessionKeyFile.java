@@ -0,0 +1,71 @@
+package com.vividverse.common.security;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * The base64 file holding the session token signing key that user-service signs with and the
+ * gateway verifies with. Both read the same file.
+ */
+public final class SessionKeyFile {
+
+    public static final int KEY_BYTES = 32;
+
+    private SessionKeyFile() {
+    }
+
+    /**
+     * Reads the signing key. A missing file is an error unless createIfMissing is set (local
+     * development only), in which case a random key is created readable by the owner only and
+     * published atomically, so the other service never reads a partly written key and the first
+     * service to create it wins.
+     */
+    public static byte[] loadOrCreate(Path keyFile, boolean createIfMissing) throws IOException {
+        if (Files.notExists(keyFile)) {
+            if (!createIfMissing) {
+                throw new IllegalStateException("Session token key file " + keyFile + " does not exist; provision it "
+                    + "(the same file for user-service and the gateway) or set vividverse.auth.create-missing-key=true "
+                    + "for local development");
+            }
+            create(keyFile);
+        }
+        return Base64.getDecoder().decode(Files.readString(keyFile).trim());
+    }
+
+    private static void create(Path keyFile) throws IOException {
+        byte[] key = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(key);
+        Path directory = keyFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        FileAttribute<?>[] ownerOnly = keyFile.getFileSystem().supportedFileAttributeViews().contains("posix")
+            ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))}
+            : new FileAttribute<?>[0];
+        Path temp = Files.createTempFile(directory, ".session-token", ".tmp", ownerOnly);
+        try {
+            Files.writeString(temp, Base64.getEncoder().encodeToString(key), StandardOpenOption.SYNC);
+            try {
+                // A hard link publishes the complete file atomically and, unlike a rename, never
+                // replaces a key the other service created in the meantime
+                Files.createLink(keyFile, temp);
+            } catch (FileAlreadyExistsException e) {
+                // Keep the existing key
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                // No hard links on this file system: fall back to an atomic rename
+                if (Files.notExists(keyFile)) {
+                    Files.move(temp, keyFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
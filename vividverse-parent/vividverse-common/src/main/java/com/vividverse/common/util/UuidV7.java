@@ -0,0 +1,20 @@
+package com.vividverse.common.util;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks a UUID id attribute to be assigned a time-ordered UUIDv7 by {@link UuidV7Generator}
+ * when the entity is persisted. Used instead of @GeneratedValue.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
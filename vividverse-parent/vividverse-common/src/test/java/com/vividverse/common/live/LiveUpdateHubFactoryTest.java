@@ -0,0 +1,61 @@
+package com.vividverse.common.live;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LiveUpdateHubFactoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testCreatedHubsShareDispatcherAndGetHeartbeats() throws InterruptedException {
+        // Arrange
+        try (LiveUpdateHubFactory hubs = new LiveUpdateHubFactory(2, Duration.ofMillis(20), Duration.ofSeconds(10), 8,
+                                                                  LiveUpdateHub.OverflowPolicy.DROP_OLDEST, 100, registry)) {
+            LiveUpdateHub<String> posts = hubs.create("posts");
+            LiveUpdateHub<String> comments = hubs.create("comments");
+            LatchSink postSink = new LatchSink();
+            LatchSink commentSink = new LatchSink();
+            posts.subscribe("timeline", postSink);
+            comments.subscribe("p1", commentSink);
+
+            // Act
+            posts.publish("timeline", "post");
+            comments.publish("p1", "comment");
+
+            // Assert: events are dispatched and the scheduler keeps idle subscribers alive, per hub
+            assertTrue(postSink.delivered.await(5, TimeUnit.SECONDS));
+            assertTrue(commentSink.delivered.await(5, TimeUnit.SECONDS));
+            assertTrue(postSink.heartbeats.await(5, TimeUnit.SECONDS));
+            assertTrue(commentSink.heartbeats.await(5, TimeUnit.SECONDS));
+            assertEquals(1.0, registry.get("live.subscribers").tag("hub", "posts").gauge().value());
+            assertEquals(1.0, registry.get("live.subscribers").tag("hub", "comments").gauge().value());
+        }
+    }
+
+    private static final class LatchSink implements EventSink {
+        private final CountDownLatch delivered = new CountDownLatch(1);
+        private final CountDownLatch heartbeats = new CountDownLatch(2);
+
+        @Override
+        public void send(Object event) {
+            delivered.countDown();
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats.countDown();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
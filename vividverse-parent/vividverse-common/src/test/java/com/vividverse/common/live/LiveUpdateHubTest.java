@@ -0,0 +1,297 @@
+package com.vividverse.common.live;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LiveUpdateHubTest {
+
+    private static final Duration WRITE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testPublishReachesOnlySubscribersOfKey() {
+        // Arrange
+        LiveUpdateHub<UUID> hub = hub(8, LiveUpdateHub.OverflowPolicy.DROP_OLDEST, Runnable::run);
+        UUID post = UUID.randomUUID();
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        RecordingSink other = new RecordingSink();
+        hub.subscribe(post, first);
+        hub.subscribe(post, second);
+        hub.subscribe(UUID.randomUUID(), other);
+
+        // Act
+        hub.publish(post, "c1");
+        hub.publish(post, "c2");
+
+        // Assert
+        assertEquals(List.of("c1", "c2"), first.events);
+        assertEquals(List.of("c1", "c2"), second.events);
+        assertTrue(other.events.isEmpty());
+    }
+
+    @Test
+    void testDropOldestKeepsLatestEvents() {
+        // Arrange: a manual dispatcher stands in for a subscriber that has not been drained yet
+        ManualExecutor dispatcher = new ManualExecutor();
+        LiveUpdateHub<UUID> hub = hub(2, LiveUpdateHub.OverflowPolicy.DROP_OLDEST, dispatcher);
+        UUID post = UUID.randomUUID();
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(post, sink);
+
+        // Act
+        for (int i = 1; i <= 5; i++) {
+            hub.publish(post, "c" + i);
+        }
+        dispatcher.runAll();
+
+        // Assert
+        assertEquals(List.of("c4", "c5"), sink.events);
+        assertEquals(3, registry.get("live.events.dropped").counter().count());
+    }
+
+    @Test
+    void testDropNewestKeepsBacklog() {
+        // Arrange
+        ManualExecutor dispatcher = new ManualExecutor();
+        LiveUpdateHub<UUID> hub = hub(2, LiveUpdateHub.OverflowPolicy.DROP_NEWEST, dispatcher);
+        UUID post = UUID.randomUUID();
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(post, sink);
+
+        // Act
+        for (int i = 1; i <= 5; i++) {
+            hub.publish(post, "c" + i);
+        }
+        dispatcher.runAll();
+
+        // Assert
+        assertEquals(List.of("c1", "c2"), sink.events);
+    }
+
+    @Test
+    void testDisconnectPolicyClosesOverflowingSubscribers() {
+        // Arrange
+        ManualExecutor dispatcher = new ManualExecutor();
+        LiveUpdateHub<UUID> hub = hub(2, LiveUpdateHub.OverflowPolicy.DISCONNECT, dispatcher);
+        UUID post = UUID.randomUUID();
+        RecordingSink slow = new RecordingSink();
+        hub.subscribe(post, slow);
+        hub.publish(post, "c1");
+        hub.publish(post, "c2");
+        dispatcher.runAll(); // Drains the slow subscriber's backlog
+        RecordingSink fresh = new RecordingSink();
+        hub.subscribe(post, fresh);
+
+        // Act: three more events overflow both buffers of size 2 before any drain
+        hub.publish(post, "c3");
+        hub.publish(post, "c4");
+        hub.publish(post, "c5");
+
+        // Assert
+        assertTrue(slow.closed);
+        assertTrue(fresh.closed);
+        assertEquals(0, hub.getSubscriberCount());
+        assertEquals(2, registry.get("live.subscribers.disconnected").counter().count());
+    }
+
+    @Test
+    void testFailedWriteUnsubscribes() {
+        // Arrange
+        LiveUpdateHub<UUID> hub = hub(8, LiveUpdateHub.OverflowPolicy.DROP_OLDEST, Runnable::run);
+        UUID post = UUID.randomUUID();
+        RecordingSink broken = new RecordingSink();
+        broken.failWrites = true;
+        hub.subscribe(post, broken);
+
+        // Act
+        hub.publish(post, "c1");
+
+        // Assert
+        assertTrue(broken.closed);
+        assertEquals(0, hub.getSubscriberCount());
+    }
+
+    @Test
+    void testStuckWriteDisconnectsSubscriber() throws Exception {
+        // Arrange: one client stops reading, so its write blocks on a real dispatcher thread
+        ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+        LiveUpdateHub<UUID> hub = new LiveUpdateHub<>("test", 8, LiveUpdateHub.OverflowPolicy.DROP_OLDEST, 1_000,
+                                                      Duration.ofMillis(50), dispatcher, registry);
+        UUID post = UUID.randomUUID();
+        BlockingSink stuck = new BlockingSink();
+        RecordingSink idle = new RecordingSink();
+        hub.subscribe(post, stuck);
+        hub.subscribe(UUID.randomUUID(), idle);
+        hub.publish(post, "c1");
+        assertTrue(stuck.writing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        hub.disconnectStuckWriters(); // Within the write timeout
+        boolean closedEarly = stuck.closed.getCount() == 0;
+        Thread.sleep(100);
+        hub.disconnectStuckWriters();
+
+        // Assert
+        assertFalse(closedEarly);
+        assertTrue(stuck.closed.await(5, TimeUnit.SECONDS));
+        assertFalse(idle.closed);
+        assertEquals(1, hub.getSubscriberCount());
+        assertEquals(1, registry.get("live.subscribers.disconnected").counter().count());
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    void testHeartbeatOnlyForIdleSubscribers() {
+        // Arrange
+        ManualExecutor dispatcher = new ManualExecutor();
+        LiveUpdateHub<UUID> hub = hub(8, LiveUpdateHub.OverflowPolicy.DROP_OLDEST, dispatcher);
+        RecordingSink idle = new RecordingSink();
+        RecordingSink busy = new RecordingSink();
+        UUID busyPost = UUID.randomUUID();
+        hub.subscribe(UUID.randomUUID(), idle);
+        hub.subscribe(busyPost, busy);
+        hub.publish(busyPost, "c1");
+
+        // Act
+        hub.heartbeat();
+        dispatcher.runAll();
+
+        // Assert
+        assertEquals(1, idle.heartbeats);
+        assertEquals(0, busy.heartbeats);
+        assertEquals(List.of("c1"), busy.events);
+    }
+
+    @Test
+    void testSubscriberLimit() {
+        // Arrange
+        LiveUpdateHub<UUID> hub = new LiveUpdateHub<>("test", 8, LiveUpdateHub.OverflowPolicy.DROP_OLDEST, 1, WRITE_TIMEOUT, Runnable::run, registry);
+        LiveUpdateHub<UUID>.Subscriber subscriber = hub.subscribe(UUID.randomUUID(), new RecordingSink());
+
+        // Act & Assert
+        assertThrows(TooManySubscribersException.class, () -> hub.subscribe(UUID.randomUUID(), new RecordingSink()));
+        hub.unsubscribe(subscriber);
+        assertNotNull(hub.subscribe(UUID.randomUUID(), new RecordingSink()));
+    }
+
+    @Test
+    void testTenThousandIdleSubscribersMemory() {
+        // Heap cost of an idle SSE subscription as held by this service: emitter, sink and hub entry.
+        // The servlet container's per-connection socket buffers come on top and are not measured here.
+        LiveUpdateHub<UUID> hub = new LiveUpdateHub<>("memory", 64, LiveUpdateHub.OverflowPolicy.DROP_OLDEST, 20_000, WRITE_TIMEOUT,
+                                                      Runnable::run, registry);
+        List<UUID> posts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            posts.add(UUID.randomUUID());
+        }
+        List<LiveUpdateHub<UUID>.Subscriber> subscriptions = new ArrayList<>(10_000);
+        long before = usedHeap();
+
+        for (int i = 0; i < 10_000; i++) {
+            SseEmitter emitter = new SseEmitter(0L);
+            subscriptions.add(hub.subscribe(posts.get(i % posts.size()), new SseEventSink(emitter, "comment")));
+        }
+        long after = usedHeap();
+
+        long bytesPerSubscriber = (after - before) / subscriptions.size();
+        System.out.printf("10000 idle subscribers: %,d bytes heap each%n", bytesPerSubscriber);
+        assertEquals(10_000, hub.getSubscriberCount());
+        assertTrue(bytesPerSubscriber < 2_048, "Idle subscriber costs " + bytesPerSubscriber + " bytes");
+    }
+
+    private LiveUpdateHub<UUID> hub(int bufferSize, LiveUpdateHub.OverflowPolicy policy, Executor dispatcher) {
+        return new LiveUpdateHub<>("test", bufferSize, policy, 1_000, WRITE_TIMEOUT, dispatcher, registry);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class RecordingSink implements EventSink {
+        private final List<Object> events = new ArrayList<>();
+        private int heartbeats;
+        private boolean closed;
+        private boolean failWrites;
+
+        @Override
+        public void send(Object event) throws IOException {
+            if (failWrites) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    // Blocks in send until closed, like a servlet write to a client whose TCP window is full
+    private static final class BlockingSink implements EventSink {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(Object event) throws IOException {
+            writing.countDown();
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Write timed out");
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            send(null);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
+    private static final class ManualExecutor implements Executor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.vividverse.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessionKeyFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadOrCreateIsStable() throws Exception {
+        Path keyFile = tempDir.resolve("keys").resolve("session-token.key");
+
+        byte[] created = SessionKeyFile.loadOrCreate(keyFile, true);
+        byte[] reloaded = SessionKeyFile.loadOrCreate(keyFile, false);
+
+        assertEquals(SessionKeyFile.KEY_BYTES, created.length);
+        assertArrayEquals(created, reloaded);
+        try (Stream<Path> files = Files.list(keyFile.getParent())) {
+            assertEquals(List.of(keyFile), files.toList()); // No temp file left behind
+        }
+        if (Files.getFileStore(keyFile).supportsFileAttributeView("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(keyFile)));
+        }
+    }
+
+    @Test
+    void testExistingKeyIsKept() throws Exception {
+        Path keyFile = tempDir.resolve("session-token.key");
+        byte[] first = SessionKeyFile.loadOrCreate(keyFile, true);
+
+        // A second service starting with creation enabled reads the key the first one created
+        assertArrayEquals(first, SessionKeyFile.loadOrCreate(keyFile, true));
+    }
+
+    @Test
+    void testMissingKeyFailsUnlessCreationEnabled() {
+        Path keyFile = tempDir.resolve("session-token.key");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> SessionKeyFile.loadOrCreate(keyFile, false));
+        assertTrue(exception.getMessage().contains("vividverse.auth.create-missing-key"));
+        assertFalse(Files.exists(keyFile));
+    }
+}
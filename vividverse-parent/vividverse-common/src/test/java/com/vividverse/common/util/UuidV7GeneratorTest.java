@@ -0,0 +1,89 @@
+package com.vividverse.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void testVersionVariantAndTimestamp() {
+        // Arrange
+        long now = 1_760_000_000_000L;
+        UuidV7Generator generator = new UuidV7Generator(() -> now);
+
+        // Act
+        UUID uuid = generator.next();
+
+        // Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(now, UuidV7Generator.timestampMillis(uuid));
+    }
+
+    @Test
+    void testMonotonicWithinSameMillisecond() {
+        // Arrange
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_760_000_000_000L);
+
+        // Act & Assert: 5000 ids overflow the 12-bit counter and borrow the next millisecond
+        UUID previous = generator.next();
+        for (int i = 0; i < 5_000; i++) {
+            UUID current = generator.next();
+            assertTrue(previous.compareTo(current) < 0);
+            previous = current;
+        }
+        assertEquals(1_760_000_000_001L, UuidV7Generator.timestampMillis(previous));
+    }
+
+    @Test
+    void testMonotonicWhenClockStepsBack() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_760_000_000_000L);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+        UUID before = generator.next();
+
+        // Act
+        clock.addAndGet(-5_000);
+        UUID after = generator.next();
+
+        // Assert
+        assertTrue(before.compareTo(after) < 0);
+        assertEquals(UuidV7Generator.timestampMillis(before), UuidV7Generator.timestampMillis(after));
+    }
+
+    @Test
+    void testUniqueAcrossThreads() throws Exception {
+        // Arrange
+        UuidV7Generator generator = new UuidV7Generator();
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    seen.add(generator.next());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(80_000, seen.size());
+    }
+}
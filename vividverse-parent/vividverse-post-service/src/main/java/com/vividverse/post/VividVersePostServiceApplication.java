@@ -3,10 +3,17 @@ package com.vividverse.post;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.context.TypeExcludeFilter;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.FilterType;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"com.vividverse.post"}) // Explicitly scan post-related packages
+@ComponentScan(basePackages = {"com.vividverse.post"}, // Explicitly scan post-related packages
+               // The same filters @SpringBootApplication applies, so test slices still load only their own beans
+               excludeFilters = {@Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+                                 @Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class)})
 public class VividVersePostServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package com.vividverse.post.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import com.vividverse.common.live.LiveUpdateConfiguration;
+import com.vividverse.common.live.LiveUpdateHub;
+import com.vividverse.common.live.LiveUpdateHubFactory;
+
+/**
+ * The live timeline hub; every subscriber shares the one timeline key
+ */
+@Configuration
+@Import(LiveUpdateConfiguration.class)
+public class LiveUpdateConfig {
+
+    @Bean
+    public LiveUpdateHub<String> postUpdates(LiveUpdateHubFactory hubs) {
+        return hubs.create("posts");
+    }
+}
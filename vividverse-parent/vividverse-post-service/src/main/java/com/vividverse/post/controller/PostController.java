@@ -1,14 +1,21 @@
 package com.vividverse.post.controller;
 
+import com.vividverse.common.live.TooManySubscribersException;
 import com.vividverse.post.dto.PostCreateRequest;
 import com.vividverse.post.dto.PostResponse;
+import com.vividverse.post.dto.PostSummaryResponse;
 import com.vividverse.post.dto.PostUpdateRequest;
+import com.vividverse.post.dto.SliceResponse;
+import com.vividverse.post.live.LivePostStreams;
 import com.vividverse.post.service.PostService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.UUID;
 
 @RestController
@@ -16,9 +23,11 @@ import java.util.UUID;
 public class PostController {
 
     private final PostService postService;
+    private final LivePostStreams livePostStreams;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, LivePostStreams livePostStreams) {
         this.postService = postService;
+        this.livePostStreams = livePostStreams;
     }
 
     @PostMapping
@@ -35,13 +44,37 @@ public class PostController {
     }
 
     @GetMapping // Handles /posts and /posts?page=X&size=Y
-    public ResponseEntity<Page<PostResponse>> getAllRecentPosts(
+    public ResponseEntity<Page<PostSummaryResponse>> getAllRecentPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Page<PostResponse> posts = postService.getAllRecentPosts(page, size);
+        Page<PostSummaryResponse> posts = postService.getAllRecentPosts(page, size);
         return ResponseEntity.ok(posts);
     }
 
+    @GetMapping(params = "after") // Handles /posts?after=<cursor>&size=Y (empty cursor = first page)
+    public ResponseEntity<SliceResponse<PostSummaryResponse>> getRecentPostsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(postService.getRecentPostsAfter(after, size));
+        } catch (IllegalArgumentException e) {
+            // Malformed or tampered cursor
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE) // New posts as Server-Sent Events
+    public ResponseEntity<SseEmitter> streamNewPosts() {
+        try {
+            return ResponseEntity.ok(livePostStreams.open());
+        } catch (TooManySubscribersException e) {
+            // Subscriber limit reached; let the client reconnect later
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
     @PutMapping("/{postId}")
     public ResponseEntity<PostResponse> updatePost(@PathVariable UUID postId,
                                                    @Valid @RequestBody PostUpdateRequest request) {
@@ -0,0 +1,18 @@
+package com.vividverse.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // Used by the JPQL constructor expression in PostRepository
+public class PostSummaryResponse {
+    private UUID id;
+    private String title;
+    private String excerpt; // First characters of the content, cut in the database
+    private UUID userId; // Author ID
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.vividverse.post.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class SliceResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // Null when there are no further items
+    // Deliberately no totalElements/totalPages: computing them needs a COUNT(*)
+}
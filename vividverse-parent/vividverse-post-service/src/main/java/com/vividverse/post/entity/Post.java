@@ -1,17 +1,21 @@
 package com.vividverse.post.entity;
 
+import com.vividverse.common.util.UuidV7;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        // Backs the keyset timeline query: ORDER BY createdAt DESC, id DESC
+        @Index(name = "idx_posts_created_at_id", columnList = "createdAt DESC, id DESC")
+})
 @Data
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7 // Time-ordered: new rows append to the primary-key index
     private UUID id;
 
     @Column(nullable = false, length = 255) // Title should not be too long
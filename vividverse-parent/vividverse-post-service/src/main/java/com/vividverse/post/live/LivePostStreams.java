@@ -0,0 +1,45 @@
+package com.vividverse.post.live;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.vividverse.common.live.LiveUpdateHub;
+import com.vividverse.common.live.SseEventSink;
+import com.vividverse.common.live.TooManySubscribersException;
+
+/**
+ * Live timeline stream: opens SSE subscriptions on the post hub and forwards the
+ * summary of every new post to all of them once its transaction has committed.
+ */
+@Component
+public class LivePostStreams {
+
+    // Every subscriber follows the whole timeline, so the hub has a single key
+    static final String TIMELINE = "timeline";
+
+    private final LiveUpdateHub<String> postUpdates;
+    private final long streamTimeoutMillis;
+
+    public LivePostStreams(LiveUpdateHub<String> postUpdates,
+                           @Value("${vividverse.live.stream-timeout:30m}") Duration streamTimeout) {
+        this.postUpdates = postUpdates;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    /**
+     * @throws TooManySubscribersException if the hub is at its subscriber limit
+     */
+    public SseEmitter open() {
+        return SseEventSink.subscribe(postUpdates, TIMELINE, "post", streamTimeoutMillis);
+    }
+
+    // AFTER_COMMIT: a rolled-back post is never announced
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        postUpdates.publish(TIMELINE, event.post());
+    }
+}
@@ -0,0 +1,9 @@
+package com.vividverse.post.live;
+
+import com.vividverse.post.dto.PostSummaryResponse;
+
+/**
+ * Published by PostService once a post has been stored
+ */
+public record PostCreatedEvent(PostSummaryResponse post) {
+}
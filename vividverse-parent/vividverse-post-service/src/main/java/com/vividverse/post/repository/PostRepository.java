@@ -1,12 +1,45 @@
 package com.vividverse.post.repository;
 
+import com.vividverse.post.dto.PostSummaryResponse;
 import com.vividverse.post.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface PostRepository extends JpaRepository<Post, UUID> {
     // Spring Data JPA automatically provides methods like findAll(Pageable)
     // for pagination for the timeline/home page.
-}
\ No newline at end of file
+
+    // Number of content characters returned in a timeline excerpt
+    int EXCERPT_LENGTH = 150;
+
+    // Timeline projection: the excerpt is cut with SUBSTRING in the database so the
+    // full TEXT content column never leaves Postgres for list endpoints.
+    String SUMMARY_SELECT = "SELECT new com.vividverse.post.dto.PostSummaryResponse("
+            + "p.id, p.title, SUBSTRING(p.content, 1, " + EXCERPT_LENGTH + "), p.userId, p.createdAt) "
+            + "FROM Post p ";
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostSummaryResponse> findAllSummaries(Pageable pageable);
+
+    // First page of the keyset timeline. Returning a List (not a Page) means
+    // Spring Data only applies the limit and never issues a COUNT(*).
+    @Query(SUMMARY_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryResponse> findTimeline(Pageable limit);
+
+    // Seek to the rows strictly after the (createdAt, id) cursor, so every page
+    // is an index range scan regardless of how deep the reader has scrolled.
+    // The row-value comparison matters: Postgres turns it into a single index
+    // bound, while the equivalent OR form filters every row before the cursor.
+    @Query(SUMMARY_SELECT
+            + "WHERE (p.createdAt, p.id) < (:createdAt, :id) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryResponse> findTimelineAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") UUID id,
+                                                Pageable limit);
+}
@@ -2,24 +2,34 @@ package com.vividverse.post.service;
 
 import com.vividverse.post.dto.PostCreateRequest;
 import com.vividverse.post.dto.PostResponse;
+import com.vividverse.post.dto.PostSummaryResponse;
 import com.vividverse.post.dto.PostUpdateRequest;
+import com.vividverse.post.dto.SliceResponse;
 import com.vividverse.post.entity.Post;
+import com.vividverse.post.live.PostCreatedEvent;
 import com.vividverse.post.repository.PostRepository;
+import com.vividverse.post.util.TimelineCursor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class PostService {
 
+    static final int MAX_TIMELINE_SIZE = 100;
+
     private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PostService(PostRepository postRepository) {
+    public PostService(PostRepository postRepository, ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -29,6 +39,8 @@ public class PostService {
         post.setContent(request.getContent());
         post.setUserId(request.getUserId()); // Assign the author
         Post savedPost = postRepository.save(post);
+        // Delivered to live timeline subscribers after the transaction commits
+        eventPublisher.publishEvent(new PostCreatedEvent(convertToSummary(savedPost)));
         return convertToDto(savedPost);
     }
 
@@ -38,10 +50,38 @@ public class PostService {
     }
 
     @Transactional(readOnly = true)
-    public Page<PostResponse> getAllRecentPosts(int page, int size) {
+    public Page<PostSummaryResponse> getAllRecentPosts(int page, int size) {
         // Sort by createdAt in descending order (most recent first)
         PageRequest pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return postRepository.findAll(pageable).map(this::convertToDto);
+        return postRepository.findAllSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public SliceResponse<PostSummaryResponse> getRecentPostsAfter(String after, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_TIMELINE_SIZE));
+        // Fetch one extra row to learn whether another page exists without a COUNT(*)
+        PageRequest window = PageRequest.of(0, limit + 1);
+
+        List<PostSummaryResponse> posts;
+        if (after == null || after.isBlank()) {
+            posts = postRepository.findTimeline(window);
+        } else {
+            TimelineCursor cursor = TimelineCursor.decode(after);
+            posts = postRepository.findTimelineAfter(cursor.getCreatedAt(), cursor.getId(), window);
+        }
+
+        boolean hasNext = posts.size() > limit;
+        List<PostSummaryResponse> pageContent = hasNext ? posts.subList(0, limit) : posts;
+
+        SliceResponse<PostSummaryResponse> slice = new SliceResponse<>();
+        slice.setContent(pageContent);
+        slice.setSize(pageContent.size());
+        slice.setHasNext(hasNext);
+        if (hasNext) {
+            PostSummaryResponse last = pageContent.get(pageContent.size() - 1);
+            slice.setNextCursor(new TimelineCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return slice;
     }
 
     @Transactional
@@ -56,7 +96,7 @@ public class PostService {
 
     @Transactional
     public boolean deletePost(UUID id) {
-        if (postRepository.existsById(id)) {
+        if (id != null && postRepository.existsById(id)) {
             postRepository.deleteById(id);
             return true;
         }
@@ -73,4 +113,11 @@ public class PostService {
         dto.setUpdatedAt(post.getUpdatedAt());
         return dto;
     }
+
+    private PostSummaryResponse convertToSummary(Post post) {
+        String content = post.getContent();
+        String excerpt = content == null || content.length() <= PostRepository.EXCERPT_LENGTH
+                ? content : content.substring(0, PostRepository.EXCERPT_LENGTH);
+        return new PostSummaryResponse(post.getId(), post.getTitle(), excerpt, post.getUserId(), post.getCreatedAt());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.vividverse.post.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque cursor for the keyset-paginated timeline.
+ * Encodes the (createdAt, id) of the last post a client has seen so the next
+ * page can seek past it instead of counting and skipping rows with OFFSET.
+ */
+public final class TimelineCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public TimelineCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Encodes this cursor as a URL-safe token
+     * @return the opaque cursor string
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}
+     * @param token the opaque cursor string
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TimelineCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid timeline cursor");
+            }
+            return new TimelineCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                      UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor", e);
+        }
+    }
+}
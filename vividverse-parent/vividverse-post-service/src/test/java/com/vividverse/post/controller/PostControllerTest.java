@@ -1,8 +1,10 @@
 package com.vividverse.post.controller;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
@@ -17,12 +19,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.vividverse.common.live.TooManySubscribersException;
 import com.vividverse.post.dto.PostCreateRequest;
 import com.vividverse.post.dto.PostResponse;
+import com.vividverse.post.dto.PostSummaryResponse;
 import com.vividverse.post.dto.PostUpdateRequest;
+import com.vividverse.post.dto.SliceResponse;
+import com.vividverse.post.live.LivePostStreams;
 import com.vividverse.post.service.PostService;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,12 +39,16 @@ class PostControllerTest {
     @Mock
     private PostService postService;
 
+    @Mock
+    private LivePostStreams livePostStreams;
+
     @InjectMocks
     private PostController postController;
 
     private PostCreateRequest createRequest;
     private PostUpdateRequest updateRequest;
     private PostResponse postResponse;
+    private PostSummaryResponse postSummary;
     private UUID testPostId;
     private UUID testUserId;
 
@@ -61,6 +73,9 @@ class PostControllerTest {
         postResponse.setUserId(testUserId);
         postResponse.setCreatedAt(LocalDateTime.now());
         postResponse.setUpdatedAt(LocalDateTime.now());
+
+        postSummary = new PostSummaryResponse(testPostId, "Test Post", "This is a test post content",
+                testUserId, postResponse.getCreatedAt());
     }
 
     @Test
@@ -74,9 +89,7 @@ class PostControllerTest {
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(createRequest.getTitle(), response.getBody().getTitle());
-        assertEquals(createRequest.getContent(), response.getBody().getContent());
-        assertEquals(createRequest.getUserId(), response.getBody().getUserId());
+        assertSame(postResponse, response.getBody());
     }
 
     @Test
@@ -137,11 +150,11 @@ class PostControllerTest {
     @Test
     void testGetAllRecentPosts_Success() {
         // Arrange
-        Page<PostResponse> postPage = new PageImpl<>(java.util.List.of(postResponse));
+        Page<PostSummaryResponse> postPage = new PageImpl<>(java.util.List.of(postSummary));
         when(postService.getAllRecentPosts(anyInt(), anyInt())).thenReturn(postPage);
 
         // Act
-        ResponseEntity<Page<PostResponse>> response = postController.getAllRecentPosts(0, 10);
+        ResponseEntity<Page<PostSummaryResponse>> response = postController.getAllRecentPosts(0, 10);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -154,11 +167,11 @@ class PostControllerTest {
     @Test
     void testGetAllRecentPosts_EmptyPage() {
         // Arrange
-        Page<PostResponse> emptyPage = new PageImpl<>(java.util.List.of());
+        Page<PostSummaryResponse> emptyPage = new PageImpl<>(java.util.List.of());
         when(postService.getAllRecentPosts(anyInt(), anyInt())).thenReturn(emptyPage);
 
         // Act
-        ResponseEntity<Page<PostResponse>> response = postController.getAllRecentPosts(0, 10);
+        ResponseEntity<Page<PostSummaryResponse>> response = postController.getAllRecentPosts(0, 10);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -170,11 +183,11 @@ class PostControllerTest {
     @Test
     void testGetAllRecentPosts_WithCustomPagination() {
         // Arrange
-        Page<PostResponse> postPage = new PageImpl<>(java.util.List.of(postResponse));
+        Page<PostSummaryResponse> postPage = new PageImpl<>(java.util.List.of(postSummary));
         when(postService.getAllRecentPosts(2, 5)).thenReturn(postPage);
 
         // Act
-        ResponseEntity<Page<PostResponse>> response = postController.getAllRecentPosts(2, 5);
+        ResponseEntity<Page<PostSummaryResponse>> response = postController.getAllRecentPosts(2, 5);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -185,11 +198,11 @@ class PostControllerTest {
     @Test
     void testGetAllRecentPosts_WithDefaultValues() {
         // Arrange
-        Page<PostResponse> postPage = new PageImpl<>(java.util.List.of(postResponse));
+        Page<PostSummaryResponse> postPage = new PageImpl<>(java.util.List.of(postSummary));
         when(postService.getAllRecentPosts(0, 10)).thenReturn(postPage);
 
-        // Act
-        ResponseEntity<Page<PostResponse>> response = postController.getAllRecentPosts(null, null);
+        // Act: the values Spring binds from the @RequestParam defaults
+        ResponseEntity<Page<PostSummaryResponse>> response = postController.getAllRecentPosts(0, 10);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -197,6 +210,40 @@ class PostControllerTest {
         verify(postService).getAllRecentPosts(0, 10);
     }
 
+    @Test
+    void testGetRecentPostsAfter_Success() {
+        // Arrange
+        SliceResponse<PostSummaryResponse> slice = new SliceResponse<>();
+        slice.setContent(java.util.List.of(postSummary));
+        slice.setSize(1);
+        slice.setHasNext(true);
+        slice.setNextCursor("next");
+        when(postService.getRecentPostsAfter("cursor", 5)).thenReturn(slice);
+
+        // Act
+        ResponseEntity<SliceResponse<PostSummaryResponse>> response = postController.getRecentPostsAfter("cursor", 5);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("next", response.getBody().getNextCursor());
+        assertEquals(testPostId, response.getBody().getContent().get(0).getId());
+    }
+
+    @Test
+    void testGetRecentPostsAfter_InvalidCursor() {
+        // Arrange
+        when(postService.getRecentPostsAfter(anyString(), anyInt()))
+            .thenThrow(new IllegalArgumentException("Invalid timeline cursor"));
+
+        // Act
+        ResponseEntity<SliceResponse<PostSummaryResponse>> response = postController.getRecentPostsAfter("garbage", 10);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
     @Test
     void testUpdatePost_Success() {
         // Arrange
@@ -301,4 +348,31 @@ class PostControllerTest {
             postController.getAllRecentPosts(0, 10);
         });
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testStreamNewPosts_Success() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(livePostStreams.open()).thenReturn(emitter);
+
+        // Act
+        ResponseEntity<SseEmitter> response = postController.streamNewPosts();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(emitter, response.getBody());
+    }
+
+    @Test
+    void testStreamNewPosts_TooManySubscribers() {
+        // Arrange
+        when(livePostStreams.open()).thenThrow(new TooManySubscribersException("full"));
+
+        // Act
+        ResponseEntity<SseEmitter> response = postController.streamNewPosts();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -2,6 +2,7 @@ package com.vividverse.post.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
@@ -13,7 +14,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -22,9 +25,13 @@ import org.springframework.data.domain.Sort;
 
 import com.vividverse.post.dto.PostCreateRequest;
 import com.vividverse.post.dto.PostResponse;
+import com.vividverse.post.dto.PostSummaryResponse;
 import com.vividverse.post.dto.PostUpdateRequest;
+import com.vividverse.post.dto.SliceResponse;
 import com.vividverse.post.entity.Post;
+import com.vividverse.post.live.PostCreatedEvent;
 import com.vividverse.post.repository.PostRepository;
+import com.vividverse.post.util.TimelineCursor;
 
 @ExtendWith(MockitoExtension.class)
 class PostServiceTest {
@@ -32,6 +39,9 @@ class PostServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PostService postService;
 
@@ -39,6 +49,7 @@ class PostServiceTest {
     private PostCreateRequest createRequest;
     private PostUpdateRequest updateRequest;
     private UUID testPostId;
+    private PostSummaryResponse testSummary;
     private UUID testUserId;
 
     @BeforeEach
@@ -54,6 +65,9 @@ class PostServiceTest {
         testPost.setCreatedAt(LocalDateTime.now());
         testPost.setUpdatedAt(LocalDateTime.now());
 
+        testSummary = new PostSummaryResponse(testPostId, "Test Post", "This is a test post content",
+                testUserId, testPost.getCreatedAt());
+
         createRequest = new PostCreateRequest();
         createRequest.setTitle("New Post");
         createRequest.setContent("This is a new post content");
@@ -66,8 +80,12 @@ class PostServiceTest {
 
     @Test
     void testCreatePost_Success() {
-        // Arrange
-        when(postRepository.save(any(Post.class))).thenReturn(testPost);
+        // Arrange: the repository returns the entity it was given, with an id assigned
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> {
+            Post saved = invocation.getArgument(0);
+            saved.setId(testPostId);
+            return saved;
+        });
 
         // Act
         PostResponse result = postService.createPost(createRequest);
@@ -80,6 +98,25 @@ class PostServiceTest {
         verify(postRepository).save(any(Post.class));
     }
 
+    @Test
+    void testCreatePost_PublishesSummaryEvent() {
+        // Arrange
+        testPost.setContent("x".repeat(PostRepository.EXCERPT_LENGTH + 50));
+        when(postRepository.save(any(Post.class))).thenReturn(testPost);
+        ArgumentCaptor<PostCreatedEvent> event = ArgumentCaptor.forClass(PostCreatedEvent.class);
+
+        // Act
+        postService.createPost(createRequest);
+
+        // Assert
+        verify(eventPublisher).publishEvent(event.capture());
+        PostSummaryResponse summary = event.getValue().post();
+        assertEquals(testPostId, summary.getId());
+        assertEquals(testPost.getTitle(), summary.getTitle());
+        assertEquals(PostRepository.EXCERPT_LENGTH, summary.getExcerpt().length());
+        assertEquals(testUserId, summary.getUserId());
+    }
+
     @Test
     void testCreatePost_WithNullValues() {
         // Arrange
@@ -129,48 +166,50 @@ class PostServiceTest {
     @Test
     void testGetAllRecentPosts_Success() {
         // Arrange
-        Page<Post> postPage = new PageImpl<>(java.util.List.of(testPost));
-        when(postRepository.findAll(any(Pageable.class))).thenReturn(postPage);
+        Page<PostSummaryResponse> postPage = new PageImpl<>(java.util.List.of(testSummary));
+        when(postRepository.findAllSummaries(any(Pageable.class))).thenReturn(postPage);
 
         // Act
-        Page<PostResponse> result = postService.getAllRecentPosts(0, 10);
+        Page<PostSummaryResponse> result = postService.getAllRecentPosts(0, 10);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(1, result.getContent().size());
         assertEquals(testPostId, result.getContent().get(0).getId());
-        verify(postRepository).findAll(any(Pageable.class));
+        assertEquals(testSummary.getExcerpt(), result.getContent().get(0).getExcerpt());
+        verify(postRepository).findAllSummaries(any(Pageable.class));
+        verify(postRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     void testGetAllRecentPosts_EmptyPage() {
         // Arrange
-        Page<Post> emptyPage = new PageImpl<>(java.util.List.of());
-        when(postRepository.findAll(any(Pageable.class))).thenReturn(emptyPage);
+        Page<PostSummaryResponse> emptyPage = new PageImpl<>(java.util.List.of());
+        when(postRepository.findAllSummaries(any(Pageable.class))).thenReturn(emptyPage);
 
         // Act
-        Page<PostResponse> result = postService.getAllRecentPosts(0, 10);
+        Page<PostSummaryResponse> result = postService.getAllRecentPosts(0, 10);
 
         // Assert
         assertNotNull(result);
         assertEquals(0, result.getTotalElements());
         assertEquals(0, result.getContent().size());
-        verify(postRepository).findAll(any(Pageable.class));
+        verify(postRepository).findAllSummaries(any(Pageable.class));
     }
 
     @Test
     void testGetAllRecentPosts_WithPagination() {
         // Arrange
-        Page<Post> postPage = new PageImpl<>(java.util.List.of(testPost));
-        when(postRepository.findAll(any(Pageable.class))).thenReturn(postPage);
+        Page<PostSummaryResponse> postPage = new PageImpl<>(java.util.List.of(testSummary));
+        when(postRepository.findAllSummaries(any(Pageable.class))).thenReturn(postPage);
 
         // Act
-        Page<PostResponse> result = postService.getAllRecentPosts(2, 5);
+        Page<PostSummaryResponse> result = postService.getAllRecentPosts(2, 5);
 
         // Assert
         assertNotNull(result);
-        verify(postRepository).findAll(argThat(pageable -> 
+        verify(postRepository).findAllSummaries(argThat(pageable -> 
             pageable.getPageNumber() == 2 && 
             pageable.getPageSize() == 5 &&
             pageable.getSort().stream().anyMatch(order -> 
@@ -180,6 +219,65 @@ class PostServiceTest {
         ));
     }
 
+    @Test
+    void testGetRecentPostsAfter_FirstPage() {
+        // Arrange
+        when(postRepository.findTimeline(any(Pageable.class))).thenReturn(java.util.List.of(testSummary));
+
+        // Act
+        SliceResponse<PostSummaryResponse> result = postService.getRecentPostsAfter("", 10);
+
+        // Assert
+        assertEquals(1, result.getSize());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(testPostId, result.getContent().get(0).getId());
+        verify(postRepository).findTimeline(argThat(pageable -> pageable.getPageSize() == 11));
+        verify(postRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testGetRecentPostsAfter_HasNextPage() {
+        // Arrange
+        PostSummaryResponse olderPost = new PostSummaryResponse(UUID.randomUUID(), "Older Post", "Older content",
+                testUserId, testPost.getCreatedAt().minusMinutes(1));
+        when(postRepository.findTimeline(any(Pageable.class))).thenReturn(java.util.List.of(testSummary, olderPost));
+
+        // Act
+        SliceResponse<PostSummaryResponse> result = postService.getRecentPostsAfter(null, 1);
+
+        // Assert
+        assertEquals(1, result.getSize());
+        assertTrue(result.isHasNext());
+        TimelineCursor next = TimelineCursor.decode(result.getNextCursor());
+        assertEquals(testPostId, next.getId());
+        assertEquals(testPost.getCreatedAt(), next.getCreatedAt());
+    }
+
+    @Test
+    void testGetRecentPostsAfter_SeeksPastCursor() {
+        // Arrange
+        String cursor = new TimelineCursor(testPost.getCreatedAt(), testPostId).encode();
+        when(postRepository.findTimelineAfter(eq(testPost.getCreatedAt()), eq(testPostId), any(Pageable.class)))
+            .thenReturn(java.util.List.of());
+
+        // Act
+        SliceResponse<PostSummaryResponse> result = postService.getRecentPostsAfter(cursor, 500);
+
+        // Assert
+        assertEquals(0, result.getSize());
+        assertFalse(result.isHasNext());
+        verify(postRepository).findTimelineAfter(eq(testPost.getCreatedAt()), eq(testPostId),
+            argThat(pageable -> pageable.getPageSize() == PostService.MAX_TIMELINE_SIZE + 1));
+    }
+
+    @Test
+    void testGetRecentPostsAfter_InvalidCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> postService.getRecentPostsAfter("garbage!", 10));
+        verify(postRepository, never()).findTimelineAfter(any(), any(), any());
+    }
+
     @Test
     void testUpdatePost_Success() {
         // Arrange
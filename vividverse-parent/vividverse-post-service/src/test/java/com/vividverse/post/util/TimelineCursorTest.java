@@ -0,0 +1,41 @@
+package com.vividverse.post.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TimelineCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000);
+        UUID id = UUID.randomUUID();
+
+        // Act
+        TimelineCursor decoded = TimelineCursor.decode(new TimelineCursor(createdAt, id).encode());
+
+        // Assert
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(id, decoded.getId());
+    }
+
+    @Test
+    void testEncode_IsUrlSafe() {
+        // Act
+        String token = new TimelineCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        // Assert
+        assertTrue(token.matches("^[A-Za-z0-9_-]+$"));
+    }
+
+    @Test
+    void testDecode_InvalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> TimelineCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> TimelineCursor.decode("Zm9vYmFy")); // "foobar"
+        assertThrows(IllegalArgumentException.class, () -> TimelineCursor.decode("Zm9vfGJhcg")); // "foo|bar"
+    }
+}
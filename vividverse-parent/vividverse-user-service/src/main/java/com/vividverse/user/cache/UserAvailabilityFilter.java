@@ -0,0 +1,57 @@
+package com.vividverse.user.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.vividverse.user.util.BloomFilter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory Bloom filter of every registered username and email.
+ * A definite "not present" answer lets registration skip the existence queries.
+ * Until the startup load has finished the filter reports everything as possibly
+ * present, so callers fall back to the database.
+ */
+@Component
+public class UserAvailabilityFilter {
+
+    private final BloomFilter filter;
+    private volatile boolean ready;
+
+    public UserAvailabilityFilter(@Value("${vividverse.user.availability-filter.expected-insertions:2000000}") long expectedInsertions,
+                                  @Value("${vividverse.user.availability-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                  MeterRegistry meterRegistry) {
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        Gauge.builder("user.availability.filter.false.positive.rate", filter, BloomFilter::expectedFalsePositiveRate)
+             .description("Estimated false-positive rate of the username/email Bloom filter")
+             .register(meterRegistry);
+        Gauge.builder("user.availability.filter.size", filter, BloomFilter::sizeInBytes)
+             .description("Memory held by the username/email Bloom filter")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !ready || filter.mightContain("u:" + username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || filter.mightContain("e:" + email);
+    }
+
+    public void add(String username, String email) {
+        filter.put("u:" + username);
+        filter.put("e:" + email);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Called once every existing row has been added
+    public void markReady() {
+        this.ready = true;
+    }
+}
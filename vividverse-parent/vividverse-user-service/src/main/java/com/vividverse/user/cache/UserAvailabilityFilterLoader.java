@@ -0,0 +1,48 @@
+package com.vividverse.user.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vividverse.user.repository.UserRepository;
+
+// Streams the users table into UserAvailabilityFilter once the application has started
+@Component
+public class UserAvailabilityFilterLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityFilterLoader.class);
+
+    private final UserRepository userRepository;
+    private final UserAvailabilityFilter availabilityFilter;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserAvailabilityFilterLoader(UserRepository userRepository, UserAvailabilityFilter availabilityFilter,
+                                        PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.availabilityFilter = availabilityFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        AtomicLong loaded = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<UserRepository.CredentialKeysView> users = userRepository.streamAllCredentialKeys()) {
+                users.forEach(user -> {
+                    availabilityFilter.add(user.getUsername(), user.getEmail());
+                    loaded.incrementAndGet();
+                });
+            }
+        });
+        availabilityFilter.markReady();
+        log.info("Username/email availability filter loaded with {} users", loaded.get());
+    }
+}
@@ -0,0 +1,26 @@
+package com.vividverse.user.cache;
+
+import org.springframework.stereotype.Component;
+
+import com.vividverse.user.entity.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA entity listener (instantiated through Spring's bean container) that keeps
+// UserProfileCache in step with every update or delete of a users row
+@Component
+public class UserCacheInvalidationListener {
+
+    private final UserProfileCache userProfileCache;
+
+    public UserCacheInvalidationListener(UserProfileCache userProfileCache) {
+        this.userProfileCache = userProfileCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onUserChanged(User user) {
+        userProfileCache.invalidate(user.getId());
+    }
+}
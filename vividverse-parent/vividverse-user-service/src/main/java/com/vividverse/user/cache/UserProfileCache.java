@@ -0,0 +1,94 @@
+package com.vividverse.user.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vividverse.user.dto.UserProfileResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache in front of user profile reads.
+ * Caffeine evicts by size with a W-TinyLFU policy and expires entries after a TTL,
+ * so memory stays predictable no matter how many users exist.
+ * Hit/miss/eviction counters are published as "cache.*" metrics.
+ * Invalidation is local to this instance, which is why user-service runs as one instance.
+ */
+@Component
+public class UserProfileCache {
+
+    private final Cache<UUID, UserProfileResponse> profiles;
+    private final Cache<UUID, String> displayNames;
+
+    public UserProfileCache(@Value("${vividverse.user.cache.max-entries:100000}") long maxEntries,
+                            @Value("${vividverse.user.cache.ttl:10m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.profiles = Caffeine.newBuilder()
+                                .maximumSize(maxEntries)
+                                .expireAfterWrite(ttl)
+                                .recordStats()
+                                .build();
+        this.displayNames = Caffeine.newBuilder()
+                                    .maximumSize(maxEntries)
+                                    .expireAfterWrite(ttl)
+                                    .recordStats()
+                                    .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "userProfiles");
+        CaffeineCacheMetrics.monitor(meterRegistry, displayNames, "userDisplayNames");
+    }
+
+    /**
+     * Returns the cached profile or loads it. Missing users are not cached,
+     * so a freshly registered user is visible immediately.
+     * @param id the user id
+     * @param loader loads the profile on a cache miss
+     * @return the profile, if the user exists
+     */
+    public Optional<UserProfileResponse> getProfile(UUID id, Function<UUID, Optional<UserProfileResponse>> loader) {
+        return Optional.ofNullable(profiles.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Returns display names for the given ids, loading all misses with a single call
+     * @param ids the user ids
+     * @param loader loads the display names of the missing ids in one batch
+     * @return userId to display name for every id that exists
+     */
+    public Map<UUID, String> getDisplayNames(Set<UUID> ids, Function<Set<UUID>, Map<UUID, String>> loader) {
+        return displayNames.getAll(ids, missing -> loader.apply(Set.copyOf(missing)));
+    }
+
+    /**
+     * Drops a user's entries. When called inside a transaction the entries are
+     * dropped again after commit, so a concurrent reader cannot re-cache the old row.
+     * @param id the user id
+     */
+    public void invalidate(UUID id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID id) {
+        profiles.invalidate(id);
+        displayNames.invalidate(id);
+    }
+}
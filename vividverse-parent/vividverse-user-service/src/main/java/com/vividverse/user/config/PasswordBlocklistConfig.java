@@ -0,0 +1,29 @@
+package com.vividverse.user.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.vividverse.user.util.PasswordBlocklist;
+
+@Configuration
+public class PasswordBlocklistConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordBlocklistConfig.class);
+
+    @Bean
+    PasswordBlocklist passwordBlocklist(@Value("${vividverse.user.password.blocklist-file:}") String blocklistFile)
+            throws IOException {
+        if (blocklistFile.isBlank()) {
+            return PasswordBlocklist.empty(); // Only the built-in common password list applies
+        }
+        PasswordBlocklist blocklist = PasswordBlocklist.open(Path.of(blocklistFile));
+        log.info("Mapped password blocklist {} with {} entries", blocklistFile, blocklist.size());
+        return blocklist;
+    }
+}
@@ -1,13 +1,21 @@
 package com.vividverse.user.controller;
 
 import com.vividverse.user.dto.UserLoginRequest;
+import com.vividverse.user.dto.UserLoginResponse;
 import com.vividverse.user.dto.UserProfileResponse;
 import com.vividverse.user.dto.UserRegisterRequest;
+import com.vividverse.user.security.LoginThrottledException;
+import com.vividverse.user.security.PasswordHashingBusyException;
+import com.vividverse.user.security.SessionTokenIssuer;
 import com.vividverse.user.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid; // For validation annotations
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional; // Import Optional
 import java.util.UUID;
 
@@ -16,10 +24,12 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final SessionTokenIssuer sessionTokenIssuer;
 
-    // Constructor injection of UserService
-    public UserController(UserService userService) {
+    // Constructor injection of UserService and SessionTokenIssuer
+    public UserController(UserService userService, SessionTokenIssuer sessionTokenIssuer) {
         this.userService = userService;
+        this.sessionTokenIssuer = sessionTokenIssuer;
     }
 
     @PostMapping("/register")
@@ -30,17 +40,30 @@ public class UserController {
         } catch (IllegalArgumentException e) {
             // Return a String message with BAD_REQUEST status
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST); // 400 Bad Request
+        } catch (PasswordHashingBusyException e) {
+            return serviceBusy(e);
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@Valid @RequestBody UserLoginRequest request) {
-        // In a real app, this would return a JWT or session token.
-        // For MVP, we just return the user profile on successful login.
-        Optional<UserProfileResponse> userProfileOptional = userService.loginUser(request);
+    public ResponseEntity<?> loginUser(@Valid @RequestBody UserLoginRequest request, HttpServletRequest httpRequest) {
+        // Returns the user profile plus a signed session token that the gateway verifies locally
+        Optional<UserProfileResponse> userProfileOptional;
+        try {
+            // Remote address honours X-Forwarded-For from the gateway (server.forward-headers-strategy)
+            userProfileOptional = userService.loginUser(request, httpRequest.getRemoteAddr());
+        } catch (PasswordHashingBusyException e) {
+            return serviceBusy(e);
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS) // 429 Too Many Requests
+                                 .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                                 .body(e.getMessage());
+        }
         if (userProfileOptional.isPresent()) {
-            // If user is found and password matches, return 200 OK with UserProfileResponse
-            return ResponseEntity.ok(userProfileOptional.get());
+            // If user is found and password matches, return 200 OK with the profile and session token
+            UserProfileResponse profile = userProfileOptional.get();
+            String token = sessionTokenIssuer.issue(profile.getId(), profile.getDisplayName());
+            return ResponseEntity.ok(new UserLoginResponse(profile, token, sessionTokenIssuer.getTtl().toSeconds()));
         } else {
             // If login fails (user not found or password mismatch), return 401 Unauthorized with String body
             return new ResponseEntity<>("Invalid username or password", HttpStatus.UNAUTHORIZED);
@@ -58,4 +81,22 @@ public class UserController {
             return new ResponseEntity<>("User not found", HttpStatus.NOT_FOUND);
         }
     }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookupDisplayNames(@RequestBody List<UUID> userIds) {
+        // POST rather than GET so a full batch of ids does not overflow the URL/header limits
+        try {
+            Map<UUID, String> displayNames = userService.getDisplayNames(userIds);
+            return ResponseEntity.ok(displayNames); // 200 OK with userId -> displayName
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST); // 400 Bad Request
+        }
+    }
+
+    // Password hashing pool is saturated: fail fast and ask the client to back off
+    private ResponseEntity<String> serviceBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE) // 503 Service Unavailable
+                             .header(HttpHeaders.RETRY_AFTER, "1")
+                             .body(e.getMessage());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.vividverse.user.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+// Profile fields plus the signed session token; the profile shape is unchanged for existing clients
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class UserLoginResponse extends UserProfileResponse {
+    private String token;
+    private long expiresIn; // Seconds until the token expires
+
+    public UserLoginResponse(UserProfileResponse profile, String token, long expiresIn) {
+        setId(profile.getId());
+        setUsername(profile.getUsername());
+        setEmail(profile.getEmail());
+        setDisplayName(profile.getDisplayName());
+        setCreatedAt(profile.getCreatedAt());
+        setUpdatedAt(profile.getUpdatedAt());
+        this.token = token;
+        this.expiresIn = expiresIn;
+    }
+}
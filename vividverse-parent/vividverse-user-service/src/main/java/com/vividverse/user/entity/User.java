@@ -1,26 +1,36 @@
 package com.vividverse.user.entity;
 
+import com.vividverse.common.util.UuidV7;
+import com.vividverse.user.cache.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.Data; // From Lombok for getters, setters, etc.
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity // Marks this class as a JPA entity
-@Table(name = "users") // Maps to the 'users' table in the database
+@Table(name = "users", uniqueConstraints = { // Maps to the 'users' table in the database
+        // Named so registration can map a violation back to the offending field
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
 @Data // Lombok annotation to auto-generate getters, setters, equals, hashCode, toString
+@EntityListeners(UserCacheInvalidationListener.class) // Evicts cached profiles on update/delete
 public class User {
 
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id // Marks this field as the primary key
-    @GeneratedValue(strategy = GenerationType.AUTO) // Auto-generates UUIDs
+    @UuidV7 // Generates time-ordered UUIDv7 ids in-process
     private UUID id;
 
-    @Column(unique = true, nullable = false) // Unique and cannot be null
+    @Column(nullable = false) // Unique (see uk_users_username) and cannot be null
     private String username;
 
     @Column(nullable = false)
     private String passwordHash; // Stores hashed password
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false) // Unique (see uk_users_email)
     private String email;
 
     @Column(nullable = false)
@@ -0,0 +1,74 @@
+package com.vividverse.user.migration;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.vividverse.user.entity.User;
+
+/**
+ * Drops the unique constraints Hibernate generated for users.username and users.email
+ * back when they were declared with {@code @Column(unique = true)}. ddl-auto=update adds
+ * the named {@link User#USERNAME_CONSTRAINT}/{@link User#EMAIL_CONSTRAINT} but never
+ * removes the old auto-named ones, which would otherwise double every index write and
+ * could report a duplicate under a name registration does not recognise.
+ * Runs after the schema update on every start and does nothing once they are gone.
+ */
+@Component
+public class UserConstraintMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserConstraintMigration.class);
+
+    // Single-column unique constraints on the given users column
+    private static final String UNIQUE_CONSTRAINTS_ON_COLUMN = """
+            SELECT c.conname
+            FROM pg_constraint c
+            JOIN pg_class t ON t.oid = c.conrelid
+            JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = c.conkey[1]
+            WHERE t.relname = 'users' AND t.relnamespace = to_regnamespace(current_schema())
+              AND c.contype = 'u' AND cardinality(c.conkey) = 1 AND a.attname = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserConstraintMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int dropped = migrate();
+        if (dropped > 0) {
+            log.info("Dropped {} legacy unique constraints on users", dropped);
+        }
+    }
+
+    /**
+     * Drops legacy unique constraints, but only on columns already covered by the named one
+     * @return the number of constraints dropped
+     */
+    public int migrate() {
+        return dropLegacy("username", User.USERNAME_CONSTRAINT) + dropLegacy("email", User.EMAIL_CONSTRAINT);
+    }
+
+    private int dropLegacy(String column, String keptConstraint) {
+        List<String> constraints = jdbcTemplate.queryForList(UNIQUE_CONSTRAINTS_ON_COLUMN, String.class, column);
+        if (!constraints.contains(keptConstraint)) {
+            return 0; // Never leave the column without a unique constraint
+        }
+        int dropped = 0;
+        for (String constraint : constraints) {
+            if (!constraint.equals(keptConstraint)) {
+                jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT \"" + constraint.replace("\"", "\"\"") + "\"");
+                log.info("Dropped legacy unique constraint {} on users.{}", constraint, column);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+}
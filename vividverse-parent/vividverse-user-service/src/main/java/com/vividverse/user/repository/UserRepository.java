@@ -1,9 +1,16 @@
 package com.vividverse.user.repository;
 
 import com.vividverse.user.entity.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 // JpaRepository provides methods for CRUD operations for the User entity
 // It takes the Entity type (User) and the type of its primary key (UUID)
@@ -16,4 +23,23 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     // Custom method to check if an email already exists
     boolean existsByEmail(String email);
+
+    // Closed projection: only the id and display_name columns are selected
+    interface DisplayNameView {
+        UUID getId();
+        String getDisplayName();
+    }
+
+    // Single IN (...) query for a batch of authors instead of one findById per user
+    List<DisplayNameView> findDisplayNamesByIdIn(Collection<UUID> ids);
+
+    interface CredentialKeysView {
+        String getUsername();
+        String getEmail();
+    }
+
+    // Streams every username/email pair in chunks; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    Stream<CredentialKeysView> streamAllCredentialKeys();
 }
\ No newline at end of file
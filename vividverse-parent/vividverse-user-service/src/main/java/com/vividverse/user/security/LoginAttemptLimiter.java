@@ -0,0 +1,249 @@
+package com.vividverse.user.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts failed logins per username and per client IP over a sliding window so
+ * credential stuffing is rejected before it costs a BCrypt comparison.
+ * The window is approximated from the previous and current fixed-size buckets,
+ * both packed into one AtomicLong per key, so updates are lock-free. Keys live in
+ * size-bounded Caffeine caches and expire once idle for two windows.
+ * Counts are per instance: behind a balancer over N instances an attacker would get
+ * N times the limit.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private static final int MAX_BUCKET_COUNT = 0xFFFF; // Counts saturate at 16 bits
+
+    private final long windowMillis;
+    private final int maxFailuresPerUsername;
+    private final int maxFailuresPerIp;
+    private final LongSupplier clock;
+    private final Cache<String, FailureWindow> usernames;
+    private final Cache<String, FailureWindow> clientIps;
+    private final Counter usernameRejections;
+    private final Counter ipRejections;
+    private final Set<String> verifying = ConcurrentHashMap.newKeySet(); // Usernames with a password check running
+
+    @Autowired
+    public LoginAttemptLimiter(@Value("${vividverse.user.login-throttle.window:15m}") Duration window,
+                               @Value("${vividverse.user.login-throttle.max-failures-per-username:10}") int maxFailuresPerUsername,
+                               @Value("${vividverse.user.login-throttle.max-failures-per-ip:100}") int maxFailuresPerIp,
+                               @Value("${vividverse.user.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys,
+                               MeterRegistry meterRegistry) {
+        this(window, maxFailuresPerUsername, maxFailuresPerIp, maxTrackedKeys, meterRegistry, System::currentTimeMillis);
+    }
+
+    LoginAttemptLimiter(Duration window, int maxFailuresPerUsername, int maxFailuresPerIp, long maxTrackedKeys,
+                        MeterRegistry meterRegistry, LongSupplier clock) {
+        if (window.toMillis() <= 0 || maxFailuresPerUsername <= 0 || maxFailuresPerIp <= 0
+                || maxFailuresPerUsername > MAX_BUCKET_COUNT || maxFailuresPerIp > MAX_BUCKET_COUNT) {
+            throw new IllegalArgumentException("Invalid login throttle configuration");
+        }
+        this.windowMillis = window.toMillis();
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.clock = clock;
+        this.usernames = Caffeine.newBuilder()
+                                 .maximumSize(maxTrackedKeys)
+                                 .expireAfterAccess(window.multipliedBy(2))
+                                 .build();
+        this.clientIps = Caffeine.newBuilder()
+                                 .maximumSize(maxTrackedKeys)
+                                 .expireAfterAccess(window.multipliedBy(2))
+                                 .build();
+        this.usernameRejections = Counter.builder("user.login.throttled")
+                                         .description("Logins rejected before password verification")
+                                         .tag("scope", "username")
+                                         .register(meterRegistry);
+        this.ipRejections = Counter.builder("user.login.throttled")
+                                   .description("Logins rejected before password verification")
+                                   .tag("scope", "ip")
+                                   .register(meterRegistry);
+        Gauge.builder("user.login.throttle.tracked", usernames, Cache::estimatedSize)
+             .description("Usernames with recent failed logins")
+             .tag("scope", "username")
+             .register(meterRegistry);
+        Gauge.builder("user.login.throttle.tracked", clientIps, Cache::estimatedSize)
+             .description("Client IPs with recent failed logins")
+             .tag("scope", "ip")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the attempt if the username or the client has failed too often recently
+     * @param username the username being logged into
+     * @param clientIp the client address, or null if unknown
+     * @throws LoginThrottledException if either limit has been reached
+     */
+    public void checkAllowed(String username, String clientIp) {
+        long now = clock.getAsLong();
+        long retryAfterMillis = retryAfterMillis(usernames, normalize(username), maxFailuresPerUsername, now);
+        if (retryAfterMillis > 0) {
+            usernameRejections.increment();
+            throw throttled(retryAfterMillis);
+        }
+        retryAfterMillis = retryAfterMillis(clientIps, clientIp, maxFailuresPerIp, now);
+        if (retryAfterMillis > 0) {
+            ipRejections.increment();
+            throw throttled(retryAfterMillis);
+        }
+    }
+
+    /**
+     * Claims the username for one password check. Failures are only counted once a check
+     * completes, so without this every concurrent attempt would get past the limit and
+     * one account under attack could occupy every hashing thread.
+     * Must be paired with {@link #endVerification(String)}.
+     * @param username the username being logged into
+     * @throws LoginThrottledException if a check for the username is already running
+     */
+    public void beginVerification(String username) {
+        String usernameKey = normalize(username);
+        if (usernameKey != null && !verifying.add(usernameKey)) {
+            usernameRejections.increment();
+            throw throttled(0);
+        }
+    }
+
+    public void endVerification(String username) {
+        String usernameKey = normalize(username);
+        if (usernameKey != null) {
+            verifying.remove(usernameKey);
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        long now = clock.getAsLong();
+        String usernameKey = normalize(username);
+        if (usernameKey != null) {
+            usernames.get(usernameKey, key -> new FailureWindow()).increment(now / windowMillis);
+        }
+        if (clientIp != null) {
+            clientIps.get(clientIp, key -> new FailureWindow()).increment(now / windowMillis);
+        }
+    }
+
+    // A successful login clears the username's failures; the client's are kept so an
+    // attacker cannot reset their budget by logging into an account of their own.
+    public void recordSuccess(String username) {
+        String usernameKey = normalize(username);
+        if (usernameKey != null) {
+            usernames.invalidate(usernameKey);
+        }
+    }
+
+    private long retryAfterMillis(Cache<String, FailureWindow> windows, String key, int maxFailures, long now) {
+        if (key == null) {
+            return 0;
+        }
+        FailureWindow window = windows.getIfPresent(key);
+        if (window == null) {
+            return 0;
+        }
+        long bucket = FailureWindow.truncate(now / windowMillis);
+        long elapsed = now % windowMillis;
+        long state = window.state.get();
+        long previous;
+        long current;
+        if (FailureWindow.bucketOf(state) == bucket) {
+            previous = FailureWindow.previousOf(state);
+            current = FailureWindow.currentOf(state);
+        } else if (FailureWindow.bucketOf(state) == bucket - 1) {
+            previous = FailureWindow.currentOf(state);
+            current = 0;
+        } else {
+            return 0;
+        }
+
+        // Sliding estimate: the previous bucket is weighted by how much of it still overlaps the window
+        double estimate = previous * (double) (windowMillis - elapsed) / windowMillis + current;
+        if (estimate < maxFailures) {
+            return 0;
+        }
+        if (current < maxFailures) {
+            // Wait until enough of the previous bucket has slid out of the window
+            double wait = windowMillis - elapsed - (double) (maxFailures - current) * windowMillis / previous;
+            return (long) Math.max(0, wait) + 1;
+        }
+        // The current bucket alone is over the limit: wait for it to roll over and then partly slide out
+        double afterRollover = windowMillis - (double) maxFailures * windowMillis / current;
+        return (windowMillis - elapsed) + (long) Math.max(0, afterRollover) + 1;
+    }
+
+    private static LoginThrottledException throttled(long retryAfterMillis) {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        return new LoginThrottledException("Too many failed login attempts. Please try again later.", retryAfterSeconds);
+    }
+
+    // Usernames are matched case-insensitively so case variations share one budget
+    private static String normalize(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Failure counts for one key: bucket index in the high 32 bits, then the previous
+     * and current bucket counts in 16 bits each, updated with a CAS loop.
+     */
+    static final class FailureWindow {
+
+        private final AtomicLong state = new AtomicLong();
+
+        void increment(long bucketIndex) {
+            long bucket = truncate(bucketIndex);
+            long prev;
+            long next;
+            do {
+                prev = state.get();
+                long previous;
+                long current;
+                if (bucketOf(prev) == bucket) {
+                    previous = previousOf(prev);
+                    current = currentOf(prev);
+                } else if (bucketOf(prev) == bucket - 1) {
+                    previous = currentOf(prev);
+                    current = 0;
+                } else {
+                    previous = 0;
+                    current = 0;
+                }
+                current = Math.min(current + 1, MAX_BUCKET_COUNT);
+                next = (bucket << 32) | (previous << 16) | current;
+            } while (!state.compareAndSet(prev, next));
+        }
+
+        // Bucket indexes are kept to 32 bits; only adjacency is compared, so wrap-around is harmless
+        static long truncate(long bucketIndex) {
+            return bucketIndex & 0xFFFFFFFFL;
+        }
+
+        static long bucketOf(long state) {
+            return state >>> 32;
+        }
+
+        static long previousOf(long state) {
+            return (state >>> 16) & MAX_BUCKET_COUNT;
+        }
+
+        static long currentOf(long state) {
+            return state & MAX_BUCKET_COUNT;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.vividverse.user.security;
+
+// Thrown when too many logins have failed for a username or client; mapped to 429 by the controller
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message, null, false, false); // No stack trace: throttled attempts should stay cheap
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
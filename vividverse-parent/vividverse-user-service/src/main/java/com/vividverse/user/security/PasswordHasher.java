@@ -0,0 +1,160 @@
+package com.vividverse.user.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs BCrypt hashing on a dedicated, bounded pool instead of the request threads.
+ * The pool is sized to the core count and has a bounded queue; when it is full the
+ * call fails fast with {@link PasswordHashingBusyException} rather than letting a
+ * login burst pin every Tomcat thread on CPU.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    static final int MIN_COST = 10; // Never go below Spring Security's default strength
+    static final int MAX_COST = 31;
+
+    private final int cost;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHasher(@Value("${vividverse.user.password.bcrypt-cost:0}") int configuredCost,
+                          @Value("${vividverse.user.password.target-hash-time:100ms}") Duration targetHashTime,
+                          @Value("${vividverse.user.password.hashing-threads:0}") int threads,
+                          @Value("${vividverse.user.password.queue-capacity:64}") int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        // A configured cost of 0 means "calibrate against the target latency on this machine"
+        this.cost = configuredCost > 0 ? configuredCost : calibrate(targetHashTime);
+        this.encoder = new BCryptPasswordEncoder(cost);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+        log.info("Password hashing uses BCrypt cost {} on {} threads (queue capacity {})", cost, poolSize, queueCapacity);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Hashes a raw password with the current work factor
+     * @param rawPassword the password to hash
+     * @return the BCrypt hash
+     * @throws PasswordHashingBusyException if the hashing pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a raw password against a stored hash of any cost
+     * @param rawPassword the password to check
+     * @param passwordHash the stored BCrypt hash
+     * @return true if the password matches
+     * @throws PasswordHashingBusyException if the hashing pool is saturated
+     */
+    public boolean matches(String rawPassword, String passwordHash) {
+        return submit(() -> encoder.matches(rawPassword, passwordHash));
+    }
+
+    /**
+     * Checks whether a stored hash was produced with a lower work factor. A calibrated
+     * cost can differ between instances and restarts, so a hash is never rehashed down;
+     * otherwise instances with different costs would keep rewriting each other's hashes.
+     * @param passwordHash the stored BCrypt hash, e.g. "$2a$10$..."
+     * @return true if the hash should be recomputed with the current cost
+     */
+    public boolean needsRehash(String passwordHash) {
+        return passwordHash == null || costOf(passwordHash) < cost;
+    }
+
+    static int costOf(String passwordHash) {
+        // Modular crypt format: $<version>$<two digit cost>$<salt+hash>
+        int start = passwordHash.indexOf('$', 1) + 1;
+        if (start <= 0 || passwordHash.length() < start + 2) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(passwordHash.substring(start, start + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Picks the largest BCrypt cost whose hash time stays within the target.
+     * Each extra cost round doubles the work, so one timed probe is enough.
+     * @param target the desired time per hash
+     * @return the calibrated cost, never below {@link #MIN_COST}
+     */
+    static int calibrate(Duration target) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_COST);
+        probe.encode("calibration-probe"); // Warm up the JIT before timing
+        long start = System.nanoTime();
+        probe.encode("calibration-probe");
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        int calibrated = MIN_COST;
+        while (calibrated < MAX_COST && elapsed * 2 <= target.toNanos()) {
+            elapsed *= 2;
+            calibrated++;
+        }
+        return calibrated;
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Server is busy, please try again shortly.");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,9 @@
+package com.vividverse.user.security;
+
+// Thrown when the password hashing executor is saturated; mapped to 503 by the controller
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,107 @@
+package com.vividverse.user.security;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.vividverse.common.security.SessionKeyFile;
+
+/**
+ * Issues compact HMAC-SHA256 session tokens that the API gateway verifies locally.
+ * A token is base64url(payload) + "." + base64url(signature), where the payload is
+ * a version byte, the user id (16 bytes), the expiry in epoch seconds (8 bytes) and
+ * the UTF-8 display name. The gateway's SessionTokenVerifier reads the same format
+ * and the same key file.
+ */
+@Component
+public class SessionTokenIssuer {
+
+    static final byte VERSION = 1;
+    static final String ALGORITHM = "HmacSHA256";
+    private static final int MAX_DISPLAY_NAME_BYTES = 256;
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public SessionTokenIssuer(@Value("${vividverse.auth.token-key-file:${user.home}/.vividverse/session-token.key}") Path keyFile,
+                              @Value("${vividverse.auth.create-missing-key:false}") boolean createMissingKey,
+                              @Value("${vividverse.auth.token-ttl:12h}") Duration ttl) throws IOException {
+        this(SessionKeyFile.loadOrCreate(keyFile, createMissingKey), ttl, Clock.systemUTC());
+    }
+
+    SessionTokenIssuer(byte[] key, Duration ttl, Clock clock) {
+        if (key.length < SessionKeyFile.KEY_BYTES) {
+            throw new IllegalArgumentException("Session token key must be at least " + SessionKeyFile.KEY_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(key, ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac); // Mac instances are not thread-safe
+    }
+
+    /**
+     * Issues a token for a successfully authenticated user
+     * @param userId the user id
+     * @param displayName the display name to carry in the token
+     * @return the encoded token
+     */
+    public String issue(UUID userId, String displayName) {
+        byte[] name = truncate(displayName == null ? "" : displayName);
+        long expiresAt = Instant.now(clock).plus(ttl).getEpochSecond();
+        byte[] payload = ByteBuffer.allocate(1 + 16 + 8 + name.length)
+                                   .put(VERSION)
+                                   .putLong(userId.getMostSignificantBits())
+                                   .putLong(userId.getLeastSignificantBits())
+                                   .putLong(expiresAt)
+                                   .put(name)
+                                   .array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(macs.get().doFinal(payload));
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    // Keeps tokens (and the forwarded header) small; cut on a character boundary
+    private static byte[] truncate(String displayName) {
+        byte[] bytes = displayName.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_DISPLAY_NAME_BYTES) {
+            return bytes;
+        }
+        int end = MAX_DISPLAY_NAME_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        byte[] truncated = new byte[end];
+        System.arraycopy(bytes, 0, truncated, 0, end);
+        return truncated;
+    }
+}
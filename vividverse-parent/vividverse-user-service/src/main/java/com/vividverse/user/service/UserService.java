@@ -1,44 +1,86 @@
 package com.vividverse.user.service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // For password hashing
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional; // For transaction management
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.vividverse.user.cache.UserAvailabilityFilter;
+import com.vividverse.user.cache.UserProfileCache;
 import com.vividverse.user.dto.UserLoginRequest;
 import com.vividverse.user.dto.UserProfileResponse;
 import com.vividverse.user.dto.UserRegisterRequest;
 import com.vividverse.user.entity.User;
 import com.vividverse.user.repository.UserRepository;
+import com.vividverse.user.security.LoginAttemptLimiter;
+import com.vividverse.user.security.PasswordHasher; // Bounded BCrypt executor
+import com.vividverse.user.util.PasswordBlocklist;
 import com.vividverse.user.util.PasswordValidator; // Import the new password validator
 
 @Service // Marks this class as a Spring Service component
 public class UserService {
 
+    // Upper bound on ids accepted by a single display name lookup
+    public static final int MAX_LOOKUP_BATCH_SIZE = 500;
+
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder; // Used for secure password hashing
+    private final UserProfileCache userProfileCache; // Read-through cache for profiles and display names
+    private final PasswordHasher passwordHasher; // Used for secure password hashing
+    private final UserAvailabilityFilter availabilityFilter; // Bloom filter of taken usernames/emails
+    private final PasswordBlocklist passwordBlocklist; // Memory-mapped breached password list
+    private final LoginAttemptLimiter loginAttemptLimiter; // Failed-login throttling per username/IP
+    // BCrypt runs between transactions, never inside one: a hash takes tens of milliseconds and
+    // would otherwise hold a pooled connection for its whole duration
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
 
-    // Constructor injection of UserRepository and BCryptPasswordEncoder
-    public UserService(UserRepository userRepository) {
+    // Constructor injection of the repository, caches, password hasher and blocklist
+    public UserService(UserRepository userRepository, UserProfileCache userProfileCache,
+                       PasswordHasher passwordHasher, UserAvailabilityFilter availabilityFilter,
+                       PasswordBlocklist passwordBlocklist, LoginAttemptLimiter loginAttemptLimiter,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder(); // Initialize password encoder
+        this.userProfileCache = userProfileCache;
+        this.passwordHasher = passwordHasher;
+        this.availabilityFilter = availabilityFilter;
+        this.passwordBlocklist = passwordBlocklist;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional // Ensures the entire method runs within a single database transaction
     public UserProfileResponse registerUser(UserRegisterRequest request) {
-        // Check if username or email already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new IllegalArgumentException("Username already taken.");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already registered.");
+        // Registration normally costs a single INSERT: uniqueness is enforced by the username/email
+        // constraints below. Only values the Bloom filter may have seen are checked up front, so an
+        // obvious duplicate is rejected before we spend a BCrypt hash on it.
+        boolean checkUsername = availabilityFilter.mightContainUsername(request.getUsername());
+        boolean checkEmail = availabilityFilter.mightContainEmail(request.getEmail());
+        if (checkUsername || checkEmail) {
+            readTransaction.executeWithoutResult(status -> {
+                if (checkUsername && userRepository.existsByUsername(request.getUsername())) {
+                    throw new IllegalArgumentException("Username already taken.");
+                }
+                if (checkEmail && userRepository.existsByEmail(request.getEmail())) {
+                    throw new IllegalArgumentException("Email already registered.");
+                }
+            });
         }
 
         // Validate password against security requirements
         try {
-            PasswordValidator.validatePassword(request.getPassword(), request.getUsername());
+            PasswordValidator.validatePassword(request.getPassword(), request.getUsername(), passwordBlocklist);
             // Also validate against display name if it's different from username
             if (!request.getDisplayName().equalsIgnoreCase(request.getUsername())) {
                 PasswordValidator.validatePasswordAgainstDisplayName(request.getPassword(), request.getDisplayName());
@@ -49,33 +91,103 @@ public class UserService {
 
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword())); // Hash the password
+        user.setPasswordHash(passwordHasher.encode(request.getPassword())); // Hash the password
         user.setEmail(request.getEmail());
         user.setDisplayName(request.getDisplayName());
 
-        User savedUser = userRepository.save(user); // Save the new user to the database
+        User savedUser;
+        try {
+            savedUser = writeTransaction.execute(status -> {
+                User saved = userRepository.save(user); // Save the new user to the database
+                userRepository.flush(); // Surface unique constraint violations here rather than at commit
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUserException(e);
+        }
+        availabilityFilter.add(savedUser.getUsername(), savedUser.getEmail());
 
         return convertToDto(savedUser); // Convert entity to DTO for response
     }
 
-    @Transactional(readOnly = true) // Read-only transaction for fetching data
-    public Optional<UserProfileResponse> loginUser(UserLoginRequest request) {
-        Optional<User> userOptional = userRepository.findByUsername(request.getUsername());
+    public Optional<UserProfileResponse> loginUser(UserLoginRequest request, String clientIp) {
+        // Throttled attempts are rejected before the lookup and the BCrypt comparison
+        loginAttemptLimiter.checkAllowed(request.getUsername(), clientIp);
+        // One password check per username at a time
+        loginAttemptLimiter.beginVerification(request.getUsername());
+        try {
+            Optional<User> userOptional = readTransaction.execute(status -> userRepository.findByUsername(request.getUsername()));
 
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            // Compare raw password with hashed password
-            if (passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-                return Optional.of(convertToDto(user)); // Login successful, return user profile
+            if (userOptional.isPresent()) {
+                User user = userOptional.get();
+                // Compare raw password with hashed password
+                if (passwordHasher.matches(request.getPassword(), user.getPasswordHash())) {
+                    // Transparently re-hash when the stored work factor is below the current target
+                    if (passwordHasher.needsRehash(user.getPasswordHash())) {
+                        user.setPasswordHash(passwordHasher.encode(request.getPassword()));
+                        writeTransaction.executeWithoutResult(status -> userRepository.save(user));
+                    }
+                    loginAttemptLimiter.recordSuccess(request.getUsername());
+                    return Optional.of(convertToDto(user)); // Login successful, return user profile
+                }
             }
+            loginAttemptLimiter.recordFailure(request.getUsername(), clientIp);
+            return Optional.empty(); // Login failed
+        } finally {
+            loginAttemptLimiter.endVerification(request.getUsername());
         }
-        return Optional.empty(); // Login failed
     }
 
     @Transactional(readOnly = true)
     public Optional<UserProfileResponse> getUserProfile(UUID id) {
-        return userRepository.findById(id)
-                             .map(this::convertToDto); // Find by ID and convert to DTO
+        return userProfileCache.getProfile(id, key -> userRepository.findById(key)
+                                                                    .map(this::convertToDto)); // Find by ID and convert to DTO
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, String> getDisplayNames(Collection<UUID> ids) {
+        if (ids.size() > MAX_LOOKUP_BATCH_SIZE) {
+            throw new IllegalArgumentException("Cannot look up more than " + MAX_LOOKUP_BATCH_SIZE + " users at once.");
+        }
+        Set<UUID> distinctIds = ids.stream()
+                                   .filter(Objects::nonNull)
+                                   .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+        // Cache misses are loaded together; unknown ids are simply absent from the result
+        return userProfileCache.getDisplayNames(distinctIds, missingIds ->
+                userRepository.findDisplayNamesByIdIn(missingIds).stream()
+                              .collect(Collectors.toMap(UserRepository.DisplayNameView::getId,
+                                                        UserRepository.DisplayNameView::getDisplayName)));
+    }
+
+    // Maps a unique constraint violation on users back to the same message the pre-checks use
+    private IllegalArgumentException duplicateUserException(DataIntegrityViolationException e) {
+        String constraintName = null;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                constraintName = violation.getConstraintName().toLowerCase();
+                break;
+            }
+        }
+        if (constraintName != null) {
+            if (constraintName.contains(User.USERNAME_CONSTRAINT)) {
+                return new IllegalArgumentException("Username already taken.");
+            }
+            if (constraintName.contains(User.EMAIL_CONSTRAINT)) {
+                return new IllegalArgumentException("Email already registered.");
+            }
+        }
+        // Fall back to the Postgres detail, e.g. "Key (email)=(a@b.com) already exists."
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+        if (detail.contains("(username)")) {
+            return new IllegalArgumentException("Username already taken.");
+        }
+        if (detail.contains("(email)")) {
+            return new IllegalArgumentException("Email already registered.");
+        }
+        throw e;
     }
 
     // Helper method to convert User entity to UserProfileResponse DTO
@@ -0,0 +1,102 @@
+package com.vividverse.user.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * Bits live in an AtomicLongArray so concurrent puts never take a lock. Lookups can
+ * return false positives but never false negatives for anything that was put.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    /**
+     * Sizes the filter for the expected number of entries at the desired false-positive rate
+     * @param expectedInsertions how many entries the filter should hold
+     * @param falsePositiveRate the target false-positive probability, e.g. 0.01
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing");
+        }
+        // m = -n ln(p) / (ln 2)^2, k = (m / n) ln 2
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.numBits = (long) words * 64;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            setBit(index(hash1 + i * hash2));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long index = index(hash1 + i * hash2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive rate from the fraction of bits set
+     * @return the probability that an absent value is reported as present
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / numBits, numHashes);
+    }
+
+    public long sizeInBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    private long index(long combinedHash) {
+        return Math.floorMod(combinedHash, numBits);
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return; // Already set
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        bitsSet.incrementAndGet();
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, finished with a murmur3 avalanche step
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
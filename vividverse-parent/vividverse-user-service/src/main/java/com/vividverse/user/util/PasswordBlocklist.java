@@ -0,0 +1,104 @@
+package com.vividverse.user.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Read-only set of breached/common password fingerprints backed by a memory-mapped file.
+ * The file is a 16-byte header followed by sorted 64-bit fingerprints (the first 8 bytes of
+ * the SHA-1 of the password), so opening it needs no parse step, lookups are a binary search
+ * over the mapping, and none of it lives on the Java heap.
+ * Files are produced from plain text lists by {@link PasswordBlocklistBuilder}.
+ */
+public class PasswordBlocklist {
+
+    static final int MAGIC = 0x5656424C; // "VVBL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16; // magic, version, entry count
+
+    private static final PasswordBlocklist EMPTY = new PasswordBlocklist(ByteBuffer.allocate(0), 0);
+
+    private final ByteBuffer entries;
+    private final int size;
+
+    private PasswordBlocklist(ByteBuffer entries, int size) {
+        this.entries = entries;
+        this.size = size;
+    }
+
+    public static PasswordBlocklist empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Maps a blocklist file produced by {@link PasswordBlocklistBuilder}
+     * @param file the blocklist file
+     * @return the mapped blocklist
+     * @throws IOException if the file cannot be read or is not a blocklist
+     */
+    public static PasswordBlocklist open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a password blocklist: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            long count = mapped.getLong(8);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+                    || fileSize != HEADER_BYTES + count * Long.BYTES) {
+                throw new IOException("Not a password blocklist: " + file);
+            }
+            return new PasswordBlocklist(mapped.position(HEADER_BYTES).slice(), (int) count);
+        }
+    }
+
+    /**
+     * Checks whether the exact password appears in the blocklist
+     * @param password the password to check
+     * @return true if the password's fingerprint is listed
+     */
+    public boolean contains(String password) {
+        if (size == 0 || password == null) {
+            return false;
+        }
+        return containsFingerprint(fingerprint(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    boolean containsFingerprint(long fingerprint) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = entries.getLong(mid * Long.BYTES); // Absolute read: safe across threads
+            int cmp = Long.compareUnsigned(value, fingerprint);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // First 8 bytes of SHA-1, matching the prefix of the hex hashes in breach corpora
+    static long fingerprint(byte[] password) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-1").digest(password)).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
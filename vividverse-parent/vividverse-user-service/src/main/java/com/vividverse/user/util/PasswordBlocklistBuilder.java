@@ -0,0 +1,100 @@
+package com.vividverse.user.util;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Converts a plain text password list into the binary format read by {@link PasswordBlocklist}.
+ * Each input line is either a raw password or a SHA-1 hex hash, optionally followed by
+ * ":count" as in the Have I Been Pwned downloads.
+ *
+ * Usage: java -cp vividverse-user-service.jar \
+ *   -Dloader.main=com.vividverse.user.util.PasswordBlocklistBuilder \
+ *   org.springframework.boot.loader.launch.PropertiesLauncher passwords.txt blocklist.bin
+ */
+public class PasswordBlocklistBuilder {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: PasswordBlocklistBuilder <input.txt> <output.bin>");
+            System.exit(1);
+        }
+        int entries = build(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Wrote " + entries + " entries to " + args[1]);
+    }
+
+    /**
+     * Reads every line of the input, fingerprints it, sorts and de-duplicates the result
+     * @param input the plain text list, one entry per line
+     * @param output where to write the binary blocklist
+     * @return the number of distinct entries written
+     * @throws IOException if reading or writing fails
+     */
+    public static int build(Path input, Path output) throws IOException {
+        long[] fingerprints = new long[1024];
+        int count = 0;
+        // InputStreamReader replaces malformed bytes instead of failing on them
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(input), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (count == fingerprints.length) {
+                    fingerprints = Arrays.copyOf(fingerprints, count * 2);
+                }
+                fingerprints[count++] = fingerprintOf(line);
+            }
+        }
+
+        // Sort as unsigned values to match the binary search in PasswordBlocklist
+        for (int i = 0; i < count; i++) {
+            fingerprints[i] ^= Long.MIN_VALUE;
+        }
+        Arrays.sort(fingerprints, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || fingerprints[i] != fingerprints[distinct - 1]) {
+                fingerprints[distinct++] = fingerprints[i];
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            out.writeInt(PasswordBlocklist.MAGIC);
+            out.writeInt(PasswordBlocklist.VERSION);
+            out.writeLong(distinct);
+            for (int i = 0; i < distinct; i++) {
+                out.writeLong(fingerprints[i] ^ Long.MIN_VALUE);
+            }
+        }
+        return distinct;
+    }
+
+    private static long fingerprintOf(String line) {
+        int separator = line.indexOf(':');
+        String candidate = separator == 40 ? line.substring(0, 40) : line;
+        if (candidate.length() == 40 && isHex(candidate)) {
+            // Already a SHA-1 hash; its first 8 bytes are the fingerprint
+            return Long.parseUnsignedLong(candidate.substring(0, 16), 16);
+        }
+        return PasswordBlocklist.fingerprint(line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!HexFormat.isHexDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
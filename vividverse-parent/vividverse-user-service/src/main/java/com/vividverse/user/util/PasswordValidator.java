@@ -1,8 +1,21 @@
 package com.vividverse.user.util;
 
-import java.util.regex.Pattern;
+import java.util.Set;
 
 public class PasswordValidator {
+
+    // Shortest fragment of a username/display name that may not appear in the password
+    private static final int MIN_FRAGMENT_LENGTH = 3;
+
+    // List of common weak passwords
+    private static final Set<String> COMMON_PASSWORDS = Set.of(
+        "password", "123456", "123456789", "qwerty", "abc123",
+        "password123", "admin", "letmein", "welcome", "monkey",
+        "dragon", "master", "hello", "freedom", "whatever",
+        "qwerty123", "trustno1", "jordan", "harley", "ranger",
+        "iwantu", "jennifer", "joshua", "maggie", "password1",
+        "robert", "daniel", "heather", "michelle", "charlie"
+    );
     
     /**
      * Validates password against security requirements
@@ -11,6 +24,17 @@ public class PasswordValidator {
      * @throws IllegalArgumentException if password doesn't meet security requirements
      */
     public static void validatePassword(String password, String username) {
+        validatePassword(password, username, PasswordBlocklist.empty());
+    }
+
+    /**
+     * Validates password against security requirements, also rejecting breached passwords
+     * @param password the password to validate
+     * @param username the username to check against
+     * @param blocklist breached/common passwords to reject in addition to the built-in list
+     * @throws IllegalArgumentException if password doesn't meet security requirements
+     */
+    public static void validatePassword(String password, String username, PasswordBlocklist blocklist) {
         if (password == null || username == null) {
             throw new IllegalArgumentException("Password and username cannot be null");
         }
@@ -24,7 +48,7 @@ public class PasswordValidator {
         // This would be called separately if display name is available
         
         // Additional security checks can be added here
-        validatePasswordStrength(password);
+        validatePasswordStrength(password, blocklist);
     }
     
     /**
@@ -42,14 +66,10 @@ public class PasswordValidator {
             return true;
         }
         
-        // Check if password contains parts of username (substrings of 3 or more characters)
-        for (int i = 0; i <= lowerUsername.length() - 3; i++) {
-            for (int j = i + 3; j <= lowerUsername.length(); j++) {
-                String usernamePart = lowerUsername.substring(i, j);
-                if (lowerPassword.contains(usernamePart)) {
-                    return true;
-                }
-            }
+        // Check if password contains parts of username (substrings of 3 or more characters).
+        // Any such substring starts with a 3-character window, so comparing windows is enough.
+        if (sharesFragment(lowerPassword, lowerUsername)) {
+            return true;
         }
         
         // Check for reversed username
@@ -64,61 +84,65 @@ public class PasswordValidator {
     /**
      * Validates password strength
      * @param password the password to validate
+     * @param blocklist breached/common passwords to reject
      * @throws IllegalArgumentException if password doesn't meet strength requirements
      */
-    private static void validatePasswordStrength(String password) {
+    private static void validatePasswordStrength(String password, PasswordBlocklist blocklist) {
         // Check minimum length (already handled by @Size annotation, but double-check)
         if (password.length() < 8) {
             throw new IllegalArgumentException("Password must be at least 8 characters long");
         }
         
         // Check for common weak patterns
-        if (isCommonWeakPassword(password)) {
+        if (isCommonWeakPassword(password, blocklist)) {
             throw new IllegalArgumentException("Password is too common or weak. Please choose a stronger password");
         }
         
         // Optional: Add more strength requirements
         // For example, require at least one uppercase, one lowercase, one digit
-        if (!Pattern.compile(".*[A-Z].*").matcher(password).find()) {
+        if (!containsCharInRange(password, 'A', 'Z')) {
             throw new IllegalArgumentException("Password must contain at least one uppercase letter");
         }
         
-        if (!Pattern.compile(".*[a-z].*").matcher(password).find()) {
+        if (!containsCharInRange(password, 'a', 'z')) {
             throw new IllegalArgumentException("Password must contain at least one lowercase letter");
         }
         
-        if (!Pattern.compile(".*\\d.*").matcher(password).find()) {
+        if (!containsCharInRange(password, '0', '9')) {
             throw new IllegalArgumentException("Password must contain at least one digit");
         }
     }
     
     /**
-     * Checks if password is a common weak password
+     * Checks if password contains at least one character in the given range
      * @param password the password to check
-     * @return true if password is common/weak
+     * @param from the first character of the range
+     * @param to the last character of the range
+     * @return true if some character of password lies in [from, to]
      */
-    private static boolean isCommonWeakPassword(String password) {
-        String lowerPassword = password.toLowerCase();
-        
-        // List of common weak passwords
-        String[] commonPasswords = {
-            "password", "123456", "123456789", "qwerty", "abc123", 
-            "password123", "admin", "letmein", "welcome", "monkey",
-            "dragon", "master", "hello", "freedom", "whatever",
-            "qwerty123", "trustno1", "jordan", "harley", "ranger",
-            "iwantu", "jennifer", "joshua", "maggie", "password1",
-            "robert", "daniel", "heather", "michelle", "charlie"
-        };
-        
-        for (String common : commonPasswords) {
-            if (lowerPassword.equals(common)) {
+    private static boolean containsCharInRange(String password, char from, char to) {
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= from && c <= to) {
                 return true;
             }
         }
-        
         return false;
     }
     
+    /**
+     * Checks if password is a common weak password
+     * @param password the password to check
+     * @param blocklist breached/common passwords to check in addition to the built-in list
+     * @return true if password is common/weak
+     */
+    private static boolean isCommonWeakPassword(String password, PasswordBlocklist blocklist) {
+        if (COMMON_PASSWORDS.contains(password.toLowerCase())) {
+            return true;
+        }
+        return blocklist != null && blocklist.contains(password);
+    }
+    
     /**
      * Validates password against display name (if available)
      * @param password the password to validate
@@ -152,15 +176,59 @@ public class PasswordValidator {
         }
         
         // Check if password contains parts of display name (substrings of 3 or more characters)
-        for (int i = 0; i <= lowerDisplayName.length() - 3; i++) {
-            for (int j = i + 3; j <= lowerDisplayName.length(); j++) {
-                String displayNamePart = lowerDisplayName.substring(i, j);
-                if (lowerPassword.contains(displayNamePart)) {
+        return sharesFragment(lowerPassword, lowerDisplayName);
+    }
+    
+    /**
+     * Checks if the two strings share any substring of {@link #MIN_FRAGMENT_LENGTH} characters.
+     * Every 3-character window of the password is packed into a long and put in an open-addressing
+     * table, then each window of the other string is probed, so the check is linear in both lengths
+     * and allocates no substrings.
+     * @param lowerPassword the lowercase password
+     * @param lowerOther the lowercase username or display name
+     * @return true if some 3-character window of lowerOther occurs in lowerPassword
+     */
+    private static boolean sharesFragment(String lowerPassword, String lowerOther) {
+        int passwordWindows = lowerPassword.length() - MIN_FRAGMENT_LENGTH + 1;
+        if (passwordWindows <= 0 || lowerOther.length() < MIN_FRAGMENT_LENGTH) {
+            return false;
+        }
+        
+        // Power-of-two capacity at most half full; 0 marks an empty slot
+        long[] table = new long[Integer.highestOneBit(passwordWindows) << 2];
+        int mask = table.length - 1;
+        for (int i = 0; i < passwordWindows; i++) {
+            long window = window(lowerPassword, i);
+            int slot = slot(window, mask);
+            while (table[slot] != 0 && table[slot] != window) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = window;
+        }
+        
+        for (int i = 0; i <= lowerOther.length() - MIN_FRAGMENT_LENGTH; i++) {
+            long window = window(lowerOther, i);
+            int slot = slot(window, mask);
+            while (table[slot] != 0) {
+                if (table[slot] == window) {
                     return true;
                 }
+                slot = (slot + 1) & mask;
             }
         }
-        
         return false;
     }
+    
+    // Packs three UTF-16 chars into one long; the high marker bit keeps it distinct from an empty slot
+    private static long window(String value, int start) {
+        return (1L << 48)
+            | ((long) value.charAt(start) << 32)
+            | ((long) value.charAt(start + 1) << 16)
+            | value.charAt(start + 2);
+    }
+    
+    private static int slot(long window, int mask) {
+        long hash = window * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.vividverse.user.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vividverse.user.dto.UserProfileResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserProfileCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserProfileCache cache;
+    private UUID userId;
+    private UserProfileResponse profile;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserProfileCache(100, Duration.ofMinutes(10), meterRegistry);
+        userId = UUID.randomUUID();
+        profile = new UserProfileResponse();
+        profile.setId(userId);
+        profile.setDisplayName("Test User");
+    }
+
+    @Test
+    void testGetProfile_LoadsOnceThenHits() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getProfile(userId, id -> { loads.incrementAndGet(); return Optional.of(profile); });
+        Optional<UserProfileResponse> result = cache.getProfile(userId, id -> { loads.incrementAndGet(); return Optional.of(profile); });
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userProfiles").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userProfiles").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testGetProfile_MissingUserIsNotCached() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getProfile(userId, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        Optional<UserProfileResponse> result = cache.getProfile(userId, id -> { loads.incrementAndGet(); return Optional.of(profile); });
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetDisplayNames_LoadsOnlyMisses() {
+        // Arrange
+        UUID otherId = UUID.randomUUID();
+        cache.getDisplayNames(Set.of(userId), ids -> Map.of(userId, "Test User"));
+
+        // Act
+        Map<UUID, String> result = cache.getDisplayNames(Set.of(userId, otherId), ids -> {
+            assertEquals(Set.of(otherId), ids);
+            return Map.of(otherId, "Other User");
+        });
+
+        // Assert
+        assertEquals(Map.of(userId, "Test User", otherId, "Other User"), result);
+    }
+
+    @Test
+    void testInvalidate_DropsProfileAndDisplayName() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.getProfile(userId, id -> Optional.of(profile));
+        cache.getDisplayNames(Set.of(userId), ids -> Map.of(userId, "Test User"));
+
+        // Act
+        cache.invalidate(userId);
+        cache.getProfile(userId, id -> { loads.incrementAndGet(); return Optional.of(profile); });
+        Map<UUID, String> names = cache.getDisplayNames(Set.of(userId), ids -> Map.of(userId, "Renamed User"));
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals("Renamed User", names.get(userId));
+    }
+}
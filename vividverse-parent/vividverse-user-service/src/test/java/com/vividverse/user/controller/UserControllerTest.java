@@ -1,9 +1,14 @@
 package com.vividverse.user.controller;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,12 +18,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import com.vividverse.user.dto.UserLoginRequest;
+import com.vividverse.user.dto.UserLoginResponse;
 import com.vividverse.user.dto.UserProfileResponse;
 import com.vividverse.user.dto.UserRegisterRequest;
+import com.vividverse.user.security.LoginThrottledException;
+import com.vividverse.user.security.PasswordHashingBusyException;
+import com.vividverse.user.security.SessionTokenIssuer;
 import com.vividverse.user.service.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +38,9 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private SessionTokenIssuer sessionTokenIssuer;
+
     @InjectMocks
     private UserController userController;
 
@@ -34,10 +48,13 @@ class UserControllerTest {
     private UserLoginRequest validLoginRequest;
     private UserProfileResponse userProfileResponse;
     private UUID testUserId;
+    private MockHttpServletRequest httpRequest;
 
     @BeforeEach
     void setUp() {
         testUserId = UUID.randomUUID();
+        httpRequest = new MockHttpServletRequest();
+        httpRequest.setRemoteAddr("203.0.113.7");
         
         validRegisterRequest = new UserRegisterRequest();
         validRegisterRequest.setUsername("newuser");
@@ -70,9 +87,7 @@ class UserControllerTest {
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getBody() instanceof UserProfileResponse);
-        UserProfileResponse result = (UserProfileResponse) response.getBody();
-        assertEquals(validRegisterRequest.getUsername(), result.getUsername());
-        assertEquals(validRegisterRequest.getEmail(), result.getEmail());
+        assertSame(userProfileResponse, response.getBody());
     }
 
     @Test
@@ -120,10 +135,12 @@ class UserControllerTest {
     @Test
     void testLoginUser_Success() {
         // Arrange
-        when(userService.loginUser(any(UserLoginRequest.class))).thenReturn(Optional.of(userProfileResponse));
+        when(userService.loginUser(any(UserLoginRequest.class), eq("203.0.113.7"))).thenReturn(Optional.of(userProfileResponse));
+        when(sessionTokenIssuer.issue(testUserId, "Test User")).thenReturn("payload.signature");
+        when(sessionTokenIssuer.getTtl()).thenReturn(Duration.ofHours(12));
 
         // Act
-        ResponseEntity<?> response = userController.loginUser(validLoginRequest);
+        ResponseEntity<?> response = userController.loginUser(validLoginRequest, httpRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -131,21 +148,67 @@ class UserControllerTest {
         assertTrue(response.getBody() instanceof UserProfileResponse);
         UserProfileResponse result = (UserProfileResponse) response.getBody();
         assertEquals(validLoginRequest.getUsername(), result.getUsername());
+        UserLoginResponse login = (UserLoginResponse) response.getBody();
+        assertEquals("payload.signature", login.getToken());
+        assertEquals(Duration.ofHours(12).toSeconds(), login.getExpiresIn());
     }
 
     @Test
     void testLoginUser_InvalidCredentials() {
         // Arrange
-        when(userService.loginUser(any(UserLoginRequest.class))).thenReturn(Optional.empty());
+        when(userService.loginUser(any(UserLoginRequest.class), eq("203.0.113.7"))).thenReturn(Optional.empty());
 
         // Act
-        ResponseEntity<?> response = userController.loginUser(validLoginRequest);
+        ResponseEntity<?> response = userController.loginUser(validLoginRequest, httpRequest);
 
         // Assert
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         assertEquals("Invalid username or password", response.getBody());
     }
 
+    @Test
+    void testRegisterUser_HashingSaturated() {
+        // Arrange
+        when(userService.registerUser(any(UserRegisterRequest.class)))
+            .thenThrow(new PasswordHashingBusyException("Server is busy, please try again shortly."));
+
+        // Act
+        ResponseEntity<?> response = userController.registerUser(validRegisterRequest);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testLoginUser_HashingSaturated() {
+        // Arrange
+        when(userService.loginUser(any(UserLoginRequest.class), eq("203.0.113.7")))
+            .thenThrow(new PasswordHashingBusyException("Server is busy, please try again shortly."));
+
+        // Act
+        ResponseEntity<?> response = userController.loginUser(validLoginRequest, httpRequest);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Server is busy, please try again shortly.", response.getBody());
+    }
+
+    @Test
+    void testLoginUser_Throttled() {
+        // Arrange
+        when(userService.loginUser(any(UserLoginRequest.class), eq("203.0.113.7")))
+            .thenThrow(new LoginThrottledException("Too many failed login attempts. Please try again later.", 42));
+
+        // Act
+        ResponseEntity<?> response = userController.loginUser(validLoginRequest, httpRequest);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("42", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too many failed login attempts. Please try again later.", response.getBody());
+    }
+
     @Test
     void testGetUserProfile_Success() {
         // Arrange
@@ -198,7 +261,7 @@ class UserControllerTest {
         // Don't set any values, leaving them null
 
         // Act
-        ResponseEntity<?> response = userController.loginUser(nullRequest);
+        ResponseEntity<?> response = userController.loginUser(nullRequest, httpRequest);
 
         // Assert
         // This should fail validation before reaching the service
@@ -214,4 +277,32 @@ class UserControllerTest {
         // This should handle null UUID gracefully
         assertNotNull(response);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testLookupDisplayNames_Success() {
+        // Arrange
+        List<UUID> ids = List.of(testUserId);
+        when(userService.getDisplayNames(ids)).thenReturn(Map.of(testUserId, "Test User"));
+
+        // Act
+        ResponseEntity<?> response = userController.lookupDisplayNames(ids);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of(testUserId, "Test User"), response.getBody());
+    }
+
+    @Test
+    void testLookupDisplayNames_BatchTooLarge() {
+        // Arrange
+        when(userService.getDisplayNames(any()))
+            .thenThrow(new IllegalArgumentException("Cannot look up more than 500 users at once."));
+
+        // Act
+        ResponseEntity<?> response = userController.lookupDisplayNames(List.of(testUserId));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Cannot look up more than 500 users at once.", response.getBody());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.vividverse.user.migration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.vividverse.user.cache.UserAvailabilityFilter;
+import com.vividverse.user.cache.UserProfileCache;
+import com.vividverse.user.config.PasswordBlocklistConfig;
+import com.vividverse.user.dto.UserRegisterRequest;
+import com.vividverse.user.entity.User;
+import com.vividverse.user.security.LoginAttemptLimiter;
+import com.vividverse.user.security.PasswordHasher;
+import com.vividverse.user.service.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = "vividverse.user.password.bcrypt-cost=4")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Registrations race in their own transactions
+class UserConstraintMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @TestConfiguration
+    @Import({UserConstraintMigration.class, UserService.class, UserProfileCache.class, PasswordHasher.class,
+             UserAvailabilityFilter.class, PasswordBlocklistConfig.class, LoginAttemptLimiter.class})
+    static class RegistrationConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private UserConstraintMigration migration;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserAvailabilityFilter availabilityFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testDropsAutoNamedUniqueConstraintsOnly() {
+        // Arrange: what ddl-auto=update left behind from @Column(unique = true)
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT uk_r43af9ap4edm43mmtq01oddj6 UNIQUE (username)");
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)");
+
+        // Act
+        int dropped = migration.migrate();
+        int droppedAgain = migration.migrate();
+
+        // Assert
+        assertEquals(2, dropped);
+        assertEquals(0, droppedAgain);
+        assertEquals(List.of(User.EMAIL_CONSTRAINT, User.USERNAME_CONSTRAINT), uniqueConstraints());
+    }
+
+    @Test
+    void testConcurrentRegistrationOfSameUsername_ExactlyOneSucceeds() throws Exception {
+        // Arrange: skip the Bloom filter pre-check so every request reaches the INSERT
+        migration.migrate();
+        availabilityFilter.markReady();
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            UserRegisterRequest request = new UserRegisterRequest();
+            request.setUsername("racer");
+            request.setPassword("SecurePass123");
+            request.setEmail("racer" + i + "@example.com");
+            request.setDisplayName("Speedy Gonzales");
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    userService.registerUser(request);
+                    successes.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    assertEquals("Username already taken.", e.getMessage());
+                    duplicates.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(1, successes.get());
+        assertEquals(threads - 1, duplicates.get());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = 'racer'", Integer.class));
+    }
+
+    private List<String> uniqueConstraints() {
+        return jdbcTemplate.queryForList("SELECT conname FROM pg_constraint WHERE conrelid = 'users'::regclass "
+                                         + "AND contype = 'u' ORDER BY conname", String.class);
+    }
+}
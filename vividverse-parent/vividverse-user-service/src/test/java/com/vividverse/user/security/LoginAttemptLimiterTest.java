@@ -0,0 +1,143 @@
+package com.vividverse.user.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LoginAttemptLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+
+    private final AtomicLong now = new AtomicLong(WINDOW.toMillis() * 1_000);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LoginAttemptLimiter limiter = new LoginAttemptLimiter(WINDOW, 5, 20, 1_000, registry, now::get);
+
+    @Test
+    public void testBlocksUsernameAtThreshold() {
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailure("alice", "10.0.0." + i);
+        }
+        assertDoesNotThrow(() -> limiter.checkAllowed("alice", "10.0.0.99"));
+
+        limiter.recordFailure("alice", "10.0.0.4");
+
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+            () -> limiter.checkAllowed("ALICE", "10.0.0.99")); // Case variations share the budget
+        assertTrue(exception.getRetryAfterSeconds() > 0);
+        assertTrue(exception.getRetryAfterSeconds() <= 2 * WINDOW.toSeconds());
+        assertDoesNotThrow(() -> limiter.checkAllowed("bob", "10.0.0.99"));
+        assertEquals(1.0, registry.get("user.login.throttled").tag("scope", "username").counter().count());
+    }
+
+    @Test
+    public void testBlocksClientIpAcrossUsernames() {
+        for (int i = 0; i < 20; i++) {
+            limiter.recordFailure("user" + i, "198.51.100.1");
+        }
+
+        assertThrows(LoginThrottledException.class, () -> limiter.checkAllowed("someone", "198.51.100.1"));
+        assertDoesNotThrow(() -> limiter.checkAllowed("someone", "198.51.100.2"));
+        assertDoesNotThrow(() -> limiter.checkAllowed("someone", null));
+    }
+
+    @Test
+    public void testWindowSlidesAndRetryAfterIsHonoured() {
+        for (int i = 0; i < 5; i++) {
+            limiter.recordFailure("alice", null);
+        }
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+            () -> limiter.checkAllowed("alice", null));
+
+        now.addAndGet(TimeUnit.SECONDS.toMillis(exception.getRetryAfterSeconds()) - 2_000);
+        assertThrows(LoginThrottledException.class, () -> limiter.checkAllowed("alice", null));
+
+        now.addAndGet(2_000);
+        assertDoesNotThrow(() -> limiter.checkAllowed("alice", null));
+    }
+
+    @Test
+    public void testPreviousBucketDecaysAcrossTheWindow() {
+        for (int i = 0; i < 8; i++) {
+            limiter.recordFailure("alice", null);
+        }
+        now.addAndGet(WINDOW.toMillis()); // Start of the next bucket: estimate is still 8
+        assertThrows(LoginThrottledException.class, () -> limiter.checkAllowed("alice", null));
+
+        now.addAndGet(WINDOW.toMillis() / 2); // Half the old bucket has slid out: estimate is 4
+        assertDoesNotThrow(() -> limiter.checkAllowed("alice", null));
+
+        now.addAndGet(WINDOW.toMillis()); // Two buckets later nothing is left
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailure("alice", null);
+        }
+        assertDoesNotThrow(() -> limiter.checkAllowed("alice", null));
+    }
+
+    @Test
+    public void testSuccessResetsUsernameButNotClientIp() {
+        for (int i = 0; i < 5; i++) {
+            limiter.recordFailure("alice", "198.51.100.1");
+        }
+        limiter.recordSuccess("alice");
+
+        assertDoesNotThrow(() -> limiter.checkAllowed("alice", "198.51.100.1"));
+        for (int i = 0; i < 15; i++) {
+            limiter.recordFailure("mallory" + i, "198.51.100.1");
+        }
+        assertThrows(LoginThrottledException.class, () -> limiter.checkAllowed("alice", "198.51.100.1"));
+    }
+
+    @Test
+    public void testOneVerificationPerUsernameAtATime() {
+        limiter.beginVerification("alice");
+
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+            () -> limiter.beginVerification("Alice"));
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> limiter.beginVerification("bob"));
+
+        limiter.endVerification("alice");
+        assertDoesNotThrow(() -> limiter.beginVerification("alice"));
+    }
+
+    @Test
+    public void testConcurrentFailuresAreAllCounted() throws Exception {
+        LoginAttemptLimiter wideLimiter = new LoginAttemptLimiter(WINDOW, 16_000, 16_000, 1_000, registry, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2_000; i++) {
+                    wideLimiter.recordFailure("alice", null);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // 16,000 failures were recorded: exactly at the limit, so lost updates would let this pass
+        assertThrows(LoginThrottledException.class, () -> wideLimiter.checkAllowed("alice", null));
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoginAttemptLimiter(Duration.ZERO, 5, 20, 1_000, registry, now::get));
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoginAttemptLimiter(WINDOW, 0, 20, 1_000, registry, now::get));
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoginAttemptLimiter(WINDOW, 5, 70_000, 1_000, registry, now::get));
+    }
+}
@@ -0,0 +1,72 @@
+package com.vividverse.user.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+    private final PasswordHasher passwordHasher =
+        new PasswordHasher(4, Duration.ofMillis(100), 2, 8, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        // Act
+        String hash = passwordHasher.encode("SecurePass123");
+
+        // Assert
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(passwordHasher.matches("SecurePass123", hash));
+        assertFalse(passwordHasher.matches("WrongPass123", hash));
+    }
+
+    @Test
+    void testMatchesHashWithDifferentCost() {
+        // Arrange
+        String legacyHash = new BCryptPasswordEncoder(5).encode("SecurePass123");
+
+        // Act & Assert
+        assertTrue(passwordHasher.matches("SecurePass123", legacyHash));
+    }
+
+    @Test
+    void testNeedsRehash() {
+        // Arrange
+        PasswordHasher costFiveHasher = new PasswordHasher(5, Duration.ofMillis(100), 1, 8, new SimpleMeterRegistry());
+
+        try {
+            // Act & Assert
+            assertFalse(costFiveHasher.needsRehash(costFiveHasher.encode("SecurePass123")));
+            assertTrue(costFiveHasher.needsRehash(new BCryptPasswordEncoder(4).encode("SecurePass123")));
+            assertFalse(costFiveHasher.needsRehash(new BCryptPasswordEncoder(6).encode("SecurePass123"))); // Never rehashed down
+            assertTrue(costFiveHasher.needsRehash("not-a-bcrypt-hash"));
+            assertTrue(costFiveHasher.needsRehash(null));
+        } finally {
+            costFiveHasher.shutdown();
+        }
+    }
+
+    @Test
+    void testCostOf() {
+        assertEquals(10, PasswordHasher.costOf("$2a$10$abcdefghijklmnopqrstuv"));
+        assertEquals(12, PasswordHasher.costOf("$2b$12$abcdefghijklmnopqrstuv"));
+        assertEquals(-1, PasswordHasher.costOf("plain"));
+    }
+
+    @Test
+    void testCalibrateNeverGoesBelowMinimumCost() {
+        // A zero target can never be met, so calibration falls back to the floor
+        assertEquals(PasswordHasher.MIN_COST, PasswordHasher.calibrate(Duration.ZERO));
+    }
+}
@@ -0,0 +1,68 @@
+package com.vividverse.user.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+public class SessionTokenIssuerTest {
+
+    private static final byte[] KEY = new byte[32];
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SessionTokenIssuer issuer =
+        new SessionTokenIssuer(KEY, Duration.ofHours(12), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void testTokenCarriesIdentityAndExpiry() {
+        UUID userId = UUID.randomUUID();
+
+        String[] parts = issuer.issue(userId, "Zoë Example").split("\\.");
+
+        assertEquals(2, parts.length);
+        ByteBuffer payload = ByteBuffer.wrap(Base64.getUrlDecoder().decode(parts[0]));
+        assertEquals(SessionTokenIssuer.VERSION, payload.get());
+        assertEquals(userId, new UUID(payload.getLong(), payload.getLong()));
+        assertEquals(NOW.plus(Duration.ofHours(12)).getEpochSecond(), payload.getLong());
+        byte[] name = new byte[payload.remaining()];
+        payload.get(name);
+        assertEquals("Zoë Example", new String(name, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSignatureIsHmacOfPayload() throws Exception {
+        String[] parts = issuer.issue(UUID.randomUUID(), "Test User").split("\\.");
+
+        Mac mac = Mac.getInstance(SessionTokenIssuer.ALGORITHM);
+        mac.init(new SecretKeySpec(KEY, SessionTokenIssuer.ALGORITHM));
+        byte[] expected = mac.doFinal(Base64.getUrlDecoder().decode(parts[0]));
+        assertArrayEquals(expected, Base64.getUrlDecoder().decode(parts[1]));
+    }
+
+    @Test
+    public void testLongDisplayNameIsTruncatedOnCharacterBoundary() {
+        String[] parts = issuer.issue(UUID.randomUUID(), "é".repeat(200)).split("\\.");
+
+        byte[] payload = Base64.getUrlDecoder().decode(parts[0]);
+        String name = new String(Arrays.copyOfRange(payload, 25, payload.length), StandardCharsets.UTF_8);
+        assertEquals("é".repeat(128), name);
+    }
+
+    @Test
+    public void testRejectsShortKey() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new SessionTokenIssuer(new byte[16], Duration.ofHours(1), Clock.systemUTC()));
+    }
+}
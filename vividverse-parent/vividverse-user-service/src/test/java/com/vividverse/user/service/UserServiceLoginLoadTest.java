@@ -0,0 +1,152 @@
+package com.vividverse.user.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.vividverse.user.cache.UserAvailabilityFilter;
+import com.vividverse.user.cache.UserProfileCache;
+import com.vividverse.user.dto.UserLoginRequest;
+import com.vividverse.user.entity.User;
+import com.vividverse.user.repository.UserRepository;
+import com.vividverse.user.security.LoginAttemptLimiter;
+import com.vividverse.user.security.LoginThrottledException;
+import com.vividverse.user.security.PasswordHasher;
+import com.vividverse.user.security.PasswordHashingBusyException;
+import com.vividverse.user.util.PasswordBlocklist;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs a credential-stuffing burst against one account while a legitimate user keeps
+ * logging in, and checks the legitimate p99 stays close to its unloaded baseline.
+ */
+class UserServiceLoginLoadTest {
+
+    private static final int BCRYPT_COST = 8;
+    private static final int LEGIT_LOGINS = 40;
+    private static final int ATTACKERS = 8;
+    // Pause between one attacker's attempts. Real attackers reach the service over the network and
+    // cannot spin on its CPU; with no pause, 8 threads busy-looping on a small test machine starve
+    // the hashing pool and measure the scheduler rather than the throttle.
+    private static final long ATTACK_PAUSE_MILLIS = 1;
+
+    @Test
+    void testLegitimateLoginLatencyHoldsDuringAttack() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher passwordHasher = new PasswordHasher(BCRYPT_COST, Duration.ofMillis(100), 2, 64, registry);
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(Duration.ofMinutes(15), 10, 100, 10_000, registry);
+        UserRepository userRepository = mock(UserRepository.class);
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(BCRYPT_COST);
+        User legitimate = user("legit", encoder.encode("LegitPass123"));
+        User victim = user("victim", encoder.encode("VictimPass123"));
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findByUsername("legit")).thenReturn(Optional.of(legitimate));
+        when(userRepository.findByUsername("victim")).thenReturn(Optional.of(victim));
+
+        UserService userService = new UserService(userRepository,
+            new UserProfileCache(100, Duration.ofMinutes(10), registry), passwordHasher,
+            new UserAvailabilityFilter(1_000, 0.01, registry), PasswordBlocklist.empty(), limiter,
+            mock(PlatformTransactionManager.class));
+
+        List<Long> baseline = legitimateLogins(userService);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong attempts = new AtomicLong();
+        AtomicLong throttled = new AtomicLong();
+        ExecutorService attackers = Executors.newFixedThreadPool(ATTACKERS);
+        CountDownLatch started = new CountDownLatch(ATTACKERS);
+        for (int a = 0; a < ATTACKERS; a++) {
+            String attackerIp = "198.51.100." + a;
+            attackers.submit(() -> {
+                started.countDown();
+                int guess = 0;
+                while (running.get()) {
+                    // Alternate between the target account and sprayed usernames
+                    UserLoginRequest request = login(guess % 2 == 0 ? "victim" : "spray" + guess, "Guess" + guess++);
+                    attempts.incrementAndGet();
+                    try {
+                        userService.loginUser(request, attackerIp);
+                    } catch (LoginThrottledException e) {
+                        throttled.incrementAndGet();
+                    } catch (PasswordHashingBusyException e) {
+                        // Pool saturated; the attacker simply retries
+                    }
+                    try {
+                        Thread.sleep(ATTACK_PAUSE_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        started.await();
+        List<Long> underAttack = legitimateLogins(userService);
+        running.set(false);
+        attackers.shutdown();
+        assertTrue(attackers.awaitTermination(10, TimeUnit.SECONDS));
+
+        long baselineP99 = p99(baseline);
+        long attackP99 = p99(underAttack);
+        System.out.printf("Login p99: baseline %.2f ms, under attack %.2f ms; %d/%d attack attempts throttled%n",
+            baselineP99 / 1e6, attackP99 / 1e6, throttled.get(), attempts.get());
+
+        // Victim: 10 failures; each attacker IP: 100 failures before every further attempt is rejected
+        assertTrue(throttled.get() > attempts.get() / 2);
+        assertTrue(attackP99 <= baselineP99 * 3 + TimeUnit.MILLISECONDS.toNanos(50),
+            "p99 under attack " + attackP99 + "ns vs baseline " + baselineP99 + "ns");
+    }
+
+    private static List<Long> legitimateLogins(UserService userService) {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < LEGIT_LOGINS; i++) {
+            long start = System.nanoTime();
+            assertTrue(userService.loginUser(login("legit", "LegitPass123"), "203.0.113.7").isPresent());
+            latencies.add(System.nanoTime() - start);
+        }
+        return latencies;
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    private static UserLoginRequest login(String username, String password) {
+        UserLoginRequest request = new UserLoginRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+
+    private static User user(String username, String passwordHash) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setDisplayName(username);
+        user.setPasswordHash(passwordHash);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}
@@ -2,32 +2,83 @@ package com.vividverse.user.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import com.vividverse.user.cache.UserAvailabilityFilter;
+import com.vividverse.user.cache.UserProfileCache;
 import com.vividverse.user.dto.UserLoginRequest;
 import com.vividverse.user.dto.UserProfileResponse;
 import com.vividverse.user.dto.UserRegisterRequest;
 import com.vividverse.user.entity.User;
 import com.vividverse.user.repository.UserRepository;
+import com.vividverse.user.security.LoginAttemptLimiter;
+import com.vividverse.user.security.LoginThrottledException;
+import com.vividverse.user.security.PasswordHasher;
+import com.vividverse.user.util.PasswordBlocklist;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
 
+    private static final String CLIENT_IP = "203.0.113.7";
+
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserProfileCache userProfileCache =
+        new UserProfileCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+    @Spy
+    private PasswordHasher passwordHasher =
+        new PasswordHasher(5, Duration.ofMillis(100), 2, 16, new SimpleMeterRegistry());
+
+    @Spy
+    private UserAvailabilityFilter availabilityFilter =
+        new UserAvailabilityFilter(1_000, 0.01, new SimpleMeterRegistry());
+
+    @Mock
+    private PasswordBlocklist passwordBlocklist;
+
+    @Spy
+    private LoginAttemptLimiter loginAttemptLimiter =
+        new LoginAttemptLimiter(Duration.ofMinutes(15), 3, 10, 1_000, new SimpleMeterRegistry());
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserService userService;
 
@@ -44,7 +95,7 @@ class UserServiceTest {
         testUser.setUsername("testuser");
         testUser.setEmail("test@example.com");
         testUser.setDisplayName("Test User");
-        testUser.setPasswordHash(new BCryptPasswordEncoder().encode("SecurePass123"));
+        testUser.setPasswordHash(new BCryptPasswordEncoder(5).encode("SecurePass123"));
         testUser.setCreatedAt(LocalDateTime.now());
         testUser.setUpdatedAt(LocalDateTime.now());
 
@@ -64,7 +115,11 @@ class UserServiceTest {
         // Arrange
         when(userRepository.existsByUsername(validRegisterRequest.getUsername())).thenReturn(false);
         when(userRepository.existsByEmail(validRegisterRequest.getEmail())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(testUserId);
+            return saved;
+        });
 
         // Act
         UserProfileResponse result = userService.registerUser(validRegisterRequest);
@@ -79,6 +134,57 @@ class UserServiceTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void testRegisterUser_HashesBetweenTransactions() {
+        // Arrange
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // Act
+        userService.registerUser(validRegisterRequest);
+
+        // Assert: read-only checks commit, then the hash, then a second transaction for the INSERT
+        InOrder inOrder = inOrder(transactionManager, userRepository, passwordHasher);
+        inOrder.verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        inOrder.verify(userRepository).existsByUsername(validRegisterRequest.getUsername());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(passwordHasher).encode(validRegisterRequest.getPassword());
+        inOrder.verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        inOrder.verify(userRepository).save(any(User.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testRegisterUser_BloomFilterSkipsExistenceQueries() {
+        // Arrange
+        availabilityFilter.markReady(); // Loaded, and neither value is present
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // Act
+        UserProfileResponse result = userService.registerUser(validRegisterRequest);
+
+        // Assert
+        assertNotNull(result);
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
+        assertTrue(availabilityFilter.mightContainUsername(testUser.getUsername()));
+        assertTrue(availabilityFilter.mightContainEmail(testUser.getEmail()));
+    }
+
+    @Test
+    void testRegisterUser_BloomFilterHitFallsBackToDatabase() {
+        // Arrange
+        availabilityFilter.add(validRegisterRequest.getUsername(), "someone@example.com");
+        availabilityFilter.markReady();
+        when(userRepository.existsByUsername(validRegisterRequest.getUsername())).thenReturn(true);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.registerUser(validRegisterRequest);
+        });
+        assertEquals("Username already taken.", exception.getMessage());
+        verify(userRepository).existsByUsername(validRegisterRequest.getUsername());
+    }
+
     @Test
     void testRegisterUser_UsernameAlreadyExists() {
         // Arrange
@@ -109,6 +215,91 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void testRegisterUser_UsernameConstraintViolation() {
+        // Arrange
+        availabilityFilter.markReady(); // Definite miss: the insert is attempted directly
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        doThrow(uniqueViolation(User.USERNAME_CONSTRAINT)).when(userRepository).flush();
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.registerUser(validRegisterRequest);
+        });
+        assertEquals("Username already taken.", exception.getMessage());
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
+    }
+
+    @Test
+    void testRegisterUser_EmailConstraintViolation() {
+        // Arrange
+        availabilityFilter.markReady();
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        doThrow(uniqueViolation(User.EMAIL_CONSTRAINT)).when(userRepository).flush();
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.registerUser(validRegisterRequest);
+        });
+        assertEquals("Email already registered.", exception.getMessage());
+    }
+
+    @Test
+    void testRegisterUser_ConcurrentSameUsername_ExactlyOneSucceeds() throws Exception {
+        // Arrange: the mocked repository enforces the username unique constraint like Postgres would
+        availabilityFilter.markReady();
+        java.util.Set<String> takenUsernames = ConcurrentHashMap.newKeySet();
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            if (!takenUsernames.add(user.getUsername())) {
+                throw uniqueViolation(User.USERNAME_CONSTRAINT);
+            }
+            return user;
+        });
+
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Future<?>> futures = new java.util.ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            UserRegisterRequest request = new UserRegisterRequest();
+            request.setUsername("racer");
+            request.setPassword("SecurePass123");
+            request.setEmail("racer" + i + "@example.com");
+            request.setDisplayName("Speedy Gonzales");
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    userService.registerUser(request);
+                    successes.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    assertEquals("Username already taken.", e.getMessage());
+                    duplicates.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(1, successes.get());
+        assertEquals(threads - 1, duplicates.get());
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("duplicate key value violates unique constraint", null, constraintName));
+    }
+
     @Test
     void testRegisterUser_PasswordContainsUsername() {
         // Arrange
@@ -134,7 +325,7 @@ class UserServiceTest {
         // Arrange
         UserRegisterRequest request = new UserRegisterRequest();
         request.setUsername("user123");
-        request.setPassword("doe123");
+        request.setPassword("Doe98765"); // Passes the other rules, so only the display name rejects it
         request.setEmail("user@example.com");
         request.setDisplayName("John Doe");
 
@@ -155,7 +346,7 @@ class UserServiceTest {
         when(userRepository.findByUsername(validLoginRequest.getUsername())).thenReturn(Optional.of(testUser));
 
         // Act
-        Optional<UserProfileResponse> result = userService.loginUser(validLoginRequest);
+        Optional<UserProfileResponse> result = userService.loginUser(validLoginRequest, CLIENT_IP);
 
         // Assert
         assertTrue(result.isPresent());
@@ -164,13 +355,78 @@ class UserServiceTest {
         verify(userRepository).findByUsername(validLoginRequest.getUsername());
     }
 
+    @Test
+    void testLoginUser_RehashesOutdatedCost() {
+        // Arrange
+        testUser.setPasswordHash(new BCryptPasswordEncoder(4).encode("SecurePass123"));
+        when(userRepository.findByUsername(validLoginRequest.getUsername())).thenReturn(Optional.of(testUser));
+
+        // Act
+        Optional<UserProfileResponse> result = userService.loginUser(validLoginRequest, CLIENT_IP);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertTrue(testUser.getPasswordHash().startsWith("$2a$05$"));
+        assertTrue(passwordHasher.matches("SecurePass123", testUser.getPasswordHash()));
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    void testLoginUser_RehashesBetweenTransactions() {
+        // Arrange
+        testUser.setPasswordHash(new BCryptPasswordEncoder(4).encode("SecurePass123"));
+        when(userRepository.findByUsername(validLoginRequest.getUsername())).thenReturn(Optional.of(testUser));
+
+        // Act
+        userService.loginUser(validLoginRequest, CLIENT_IP);
+
+        // Assert: no transaction is open while the password is checked and re-hashed
+        InOrder inOrder = inOrder(transactionManager, userRepository, passwordHasher);
+        inOrder.verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        inOrder.verify(userRepository).findByUsername(validLoginRequest.getUsername());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(passwordHasher).matches(eq("SecurePass123"), anyString());
+        inOrder.verify(passwordHasher).encode("SecurePass123");
+        inOrder.verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        inOrder.verify(userRepository).save(testUser);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testLoginUser_CurrentCostIsNotRehashed() {
+        // Arrange
+        when(userRepository.findByUsername(validLoginRequest.getUsername())).thenReturn(Optional.of(testUser));
+
+        // Act
+        Optional<UserProfileResponse> result = userService.loginUser(validLoginRequest, CLIENT_IP);
+
+        // Assert
+        assertTrue(result.isPresent());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testLoginUser_HigherCostIsNotRehashedDown() {
+        // Arrange: hashed by an instance that calibrated a higher cost
+        testUser.setPasswordHash(new BCryptPasswordEncoder(6).encode("SecurePass123"));
+        when(userRepository.findByUsername(validLoginRequest.getUsername())).thenReturn(Optional.of(testUser));
+
+        // Act
+        Optional<UserProfileResponse> result = userService.loginUser(validLoginRequest, CLIENT_IP);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertTrue(testUser.getPasswordHash().startsWith("$2a$06$"));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void testLoginUser_UserNotFound() {
         // Arrange
         when(userRepository.findByUsername(validLoginRequest.getUsername())).thenReturn(Optional.empty());
 
         // Act
-        Optional<UserProfileResponse> result = userService.loginUser(validLoginRequest);
+        Optional<UserProfileResponse> result = userService.loginUser(validLoginRequest, CLIENT_IP);
 
         // Assert
         assertFalse(result.isPresent());
@@ -187,13 +443,54 @@ class UserServiceTest {
         when(userRepository.findByUsername(wrongPasswordRequest.getUsername())).thenReturn(Optional.of(testUser));
 
         // Act
-        Optional<UserProfileResponse> result = userService.loginUser(wrongPasswordRequest);
+        Optional<UserProfileResponse> result = userService.loginUser(wrongPasswordRequest, CLIENT_IP);
 
         // Assert
         assertFalse(result.isPresent());
         verify(userRepository).findByUsername(wrongPasswordRequest.getUsername());
     }
 
+    @Test
+    void testLoginUser_ThrottledAfterRepeatedFailures() {
+        // Arrange
+        UserLoginRequest wrongPasswordRequest = new UserLoginRequest();
+        wrongPasswordRequest.setUsername("testuser");
+        wrongPasswordRequest.setPassword("WrongPassword123");
+
+        when(userRepository.findByUsername(wrongPasswordRequest.getUsername())).thenReturn(Optional.of(testUser));
+        for (int i = 0; i < 3; i++) {
+            assertFalse(userService.loginUser(wrongPasswordRequest, CLIENT_IP).isPresent());
+        }
+
+        // Act & Assert: even the correct password is rejected without a lookup or BCrypt comparison
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class, () -> {
+            userService.loginUser(validLoginRequest, CLIENT_IP);
+        });
+        assertTrue(exception.getRetryAfterSeconds() > 0);
+        verify(userRepository, times(3)).findByUsername(any());
+        verify(passwordHasher, times(3)).matches(any(), any());
+    }
+
+    @Test
+    void testLoginUser_SuccessClearsUsernameFailures() {
+        // Arrange
+        UserLoginRequest wrongPasswordRequest = new UserLoginRequest();
+        wrongPasswordRequest.setUsername("testuser");
+        wrongPasswordRequest.setPassword("WrongPassword123");
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        userService.loginUser(wrongPasswordRequest, CLIENT_IP);
+        userService.loginUser(wrongPasswordRequest, CLIENT_IP);
+
+        // Act
+        assertTrue(userService.loginUser(validLoginRequest, CLIENT_IP).isPresent());
+
+        // Assert: the failure budget starts over after a successful login
+        userService.loginUser(wrongPasswordRequest, CLIENT_IP);
+        userService.loginUser(wrongPasswordRequest, CLIENT_IP);
+        assertDoesNotThrow(() -> userService.loginUser(validLoginRequest, CLIENT_IP));
+    }
+
     @Test
     void testGetUserProfile_Success() {
         // Arrange
@@ -211,6 +508,21 @@ class UserServiceTest {
         verify(userRepository).findById(testUserId);
     }
 
+    @Test
+    void testGetUserProfile_ServedFromCache() {
+        // Arrange
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+
+        // Act
+        userService.getUserProfile(testUserId);
+        Optional<UserProfileResponse> result = userService.getUserProfile(testUserId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(testUser.getDisplayName(), result.get().getDisplayName());
+        verify(userRepository, times(1)).findById(testUserId);
+    }
+
     @Test
     void testGetUserProfile_UserNotFound() {
         // Arrange
@@ -245,6 +557,21 @@ class UserServiceTest {
         assertTrue(exception.getMessage().contains("too common or weak"));
     }
 
+    @Test
+    void testRegisterUser_BreachedPassword() {
+        // Arrange
+        when(userRepository.existsByUsername(validRegisterRequest.getUsername())).thenReturn(false);
+        when(userRepository.existsByEmail(validRegisterRequest.getEmail())).thenReturn(false);
+        when(passwordBlocklist.contains(validRegisterRequest.getPassword())).thenReturn(true);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.registerUser(validRegisterRequest);
+        });
+        assertTrue(exception.getMessage().contains("too common or weak"));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void testRegisterUser_PasswordTooShort() {
         // Arrange
@@ -270,7 +597,7 @@ class UserServiceTest {
         // Arrange
         UserRegisterRequest noUppercaseRequest = new UserRegisterRequest();
         noUppercaseRequest.setUsername("newuser");
-        noUppercaseRequest.setPassword("password123"); // No uppercase
+        noUppercaseRequest.setPassword("secretpass9"); // No uppercase, and not on the common list
         noUppercaseRequest.setEmail("newuser@example.com");
         noUppercaseRequest.setDisplayName("New User");
 
@@ -284,4 +611,78 @@ class UserServiceTest {
         assertTrue(exception.getMessage().contains("Password validation failed"));
         assertTrue(exception.getMessage().contains("uppercase letter"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetDisplayNames_Success() {
+        // Arrange
+        UUID otherUserId = UUID.randomUUID();
+        UUID unknownUserId = UUID.randomUUID();
+        when(userRepository.findDisplayNamesByIdIn(anyCollection())).thenReturn(List.of(
+            displayNameView(testUserId, "Test User"),
+            displayNameView(otherUserId, "Other User")));
+
+        // Act
+        Map<UUID, String> result = userService.getDisplayNames(
+            List.of(testUserId, otherUserId, testUserId, unknownUserId));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("Test User", result.get(testUserId));
+        assertEquals("Other User", result.get(otherUserId));
+        assertFalse(result.containsKey(unknownUserId));
+        verify(userRepository).findDisplayNamesByIdIn(argThat(ids -> ids.size() == 3)); // De-duplicated
+        verify(userRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void testGetDisplayNames_ServedFromCache() {
+        // Arrange
+        when(userRepository.findDisplayNamesByIdIn(anyCollection()))
+            .thenReturn(List.of(displayNameView(testUserId, "Test User")));
+
+        // Act
+        userService.getDisplayNames(List.of(testUserId));
+        Map<UUID, String> result = userService.getDisplayNames(List.of(testUserId));
+
+        // Assert
+        assertEquals("Test User", result.get(testUserId));
+        verify(userRepository, times(1)).findDisplayNamesByIdIn(anyCollection());
+    }
+
+    @Test
+    void testGetDisplayNames_EmptyInput() {
+        // Act
+        Map<UUID, String> result = userService.getDisplayNames(List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(userRepository, never()).findDisplayNamesByIdIn(anyCollection());
+    }
+
+    @Test
+    void testGetDisplayNames_BatchTooLarge() {
+        // Arrange
+        List<UUID> tooMany = Collections.nCopies(UserService.MAX_LOOKUP_BATCH_SIZE + 1, testUserId);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.getDisplayNames(tooMany);
+        });
+        assertTrue(exception.getMessage().contains("Cannot look up more than"));
+        verify(userRepository, never()).findDisplayNamesByIdIn(anyCollection());
+    }
+
+    private static UserRepository.DisplayNameView displayNameView(UUID id, String displayName) {
+        return new UserRepository.DisplayNameView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getDisplayName() {
+                return displayName;
+            }
+        };
+    }
+}
\ No newline at end of file
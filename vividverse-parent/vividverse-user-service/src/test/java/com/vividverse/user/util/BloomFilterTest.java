@@ -0,0 +1,54 @@
+package com.vividverse.user.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    public void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Allow generous slack around the 1% target
+        assertTrue(falsePositives < 3_000, "Too many false positives: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.03);
+    }
+
+    @Test
+    public void testEmptyFilter() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertFalse(filter.mightContain("anything"));
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+        assertTrue(filter.sizeInBytes() > 0);
+    }
+
+    @Test
+    public void testInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.5));
+    }
+}
@@ -0,0 +1,84 @@
+package com.vividverse.user.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PasswordBlocklistTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBuildAndLookup() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            lines.add("Breached" + i + "!");
+        }
+        lines.add("Breached0!"); // Duplicate
+        lines.add("");
+        PasswordBlocklist blocklist = buildFrom(lines);
+
+        assertEquals(10_000, blocklist.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(blocklist.contains("Breached" + i + "!"));
+        }
+        assertFalse(blocklist.contains("breached0!")); // Lookups are exact
+        assertFalse(blocklist.contains("SecurePass123"));
+        assertFalse(blocklist.contains(null));
+    }
+
+    @Test
+    public void testAcceptsSha1HashLines() throws Exception {
+        String sha1 = HexFormat.of().withUpperCase().formatHex(
+            MessageDigest.getInstance("SHA-1").digest("Tr0ub4dor&3".getBytes(StandardCharsets.UTF_8)));
+        PasswordBlocklist blocklist = buildFrom(List.of(sha1 + ":42", "CorrectHorse1"));
+
+        assertTrue(blocklist.contains("Tr0ub4dor&3"));
+        assertTrue(blocklist.contains("CorrectHorse1"));
+        assertFalse(blocklist.contains("SecurePass123"));
+    }
+
+    @Test
+    public void testEmptyBlocklist() {
+        assertEquals(0, PasswordBlocklist.empty().size());
+        assertFalse(PasswordBlocklist.empty().contains("password"));
+    }
+
+    @Test
+    public void testRejectsInvalidFile() throws IOException {
+        Path file = tempDir.resolve("not-a-blocklist.bin");
+        Files.write(file, "password\n123456\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> PasswordBlocklist.open(file));
+    }
+
+    @Test
+    public void testValidatorRejectsBlocklistedPassword() throws IOException {
+        PasswordBlocklist blocklist = buildFrom(List.of("Summer2024!"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            PasswordValidator.validatePassword("Summer2024!", "john", blocklist);
+        });
+        assertEquals("Password is too common or weak. Please choose a stronger password", exception.getMessage());
+        assertDoesNotThrow(() -> PasswordValidator.validatePassword("Winter2024!", "john", blocklist));
+    }
+
+    private PasswordBlocklist buildFrom(List<String> lines) throws IOException {
+        Path input = tempDir.resolve("passwords.txt");
+        Path output = tempDir.resolve("blocklist.bin");
+        Files.write(input, lines, StandardCharsets.UTF_8);
+        PasswordBlocklistBuilder.build(input, output);
+        return PasswordBlocklist.open(output);
+    }
+}
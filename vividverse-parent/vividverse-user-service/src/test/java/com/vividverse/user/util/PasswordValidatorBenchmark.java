@@ -0,0 +1,77 @@
+package com.vividverse.user.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of the display name fragment check for a password that shares no fragment with
+ * the name (the worst case: every fragment is tried), against the original all-substrings scan.
+ * Run with: mvn -pl vividverse-user-service test-compile, then execute main() with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordValidatorBenchmark {
+
+    @Param({"16", "100"})
+    public int displayNameLength;
+
+    private String password;
+    private String displayName;
+
+    @Setup
+    public void setUp() {
+        // Disjoint alphabets, so no 3-character fragment of the name occurs in the password
+        password = "Zq7".repeat(36).substring(0, 107);
+        displayName = "abcdefghij klmnop".repeat(7).substring(0, displayNameLength);
+    }
+
+    @Benchmark
+    public boolean windowCheck() {
+        try {
+            PasswordValidator.validatePasswordAgainstDisplayName(password, displayName);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    // Baseline: the substring scan PasswordValidator used before the window check
+    @Benchmark
+    public boolean substringScan() {
+        String lowerPassword = password.toLowerCase();
+        String lowerDisplayName = displayName.toLowerCase();
+        if (lowerPassword.contains(lowerDisplayName)) {
+            return true;
+        }
+        for (int i = 0; i <= lowerDisplayName.length() - 3; i++) {
+            for (int j = i + 3; j <= lowerDisplayName.length(); j++) {
+                if (lowerPassword.contains(lowerDisplayName.substring(i, j))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PasswordValidatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -3,6 +3,8 @@ package com.vividverse.user.util;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Random;
+
 public class PasswordValidatorTest {
 
     @Test
@@ -100,4 +102,72 @@ public class PasswordValidatorTest {
             PasswordValidator.validatePasswordAgainstDisplayName(null, "display");
         });
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testLongDisplayNameFragmentDetected() {
+        // Test that a 3-character fragment deep inside a 100-character display name is found
+        String displayName = "a".repeat(97) + "Zed";
+        assertThrows(IllegalArgumentException.class, () -> {
+            PasswordValidator.validatePasswordAgainstDisplayName("Secure" + "zed" + "Pass1", displayName);
+        });
+        assertDoesNotThrow(() -> {
+            PasswordValidator.validatePasswordAgainstDisplayName("SecurePass123", displayName);
+        });
+    }
+
+    @Test
+    public void testStrengthMessagesUnchanged() {
+        IllegalArgumentException noLower = assertThrows(IllegalArgumentException.class, () -> {
+            PasswordValidator.validatePassword("SECUREPASS123", "john");
+        });
+        assertEquals("Password must contain at least one lowercase letter", noLower.getMessage());
+
+        IllegalArgumentException noDigit = assertThrows(IllegalArgumentException.class, () -> {
+            PasswordValidator.validatePassword("SecurePassword", "john");
+        });
+        assertEquals("Password must contain at least one digit", noDigit.getMessage());
+    }
+
+    @Test
+    public void testFragmentCheckMatchesBruteForce() {
+        // Compare the linear-time window check with the original all-substrings scan
+        Random random = new Random(42);
+        String alphabet = "abcAB1 xyZ";
+        for (int i = 0; i < 20_000; i++) {
+            String password = randomString(random, alphabet, 14);
+            String displayName = randomString(random, alphabet, 10);
+            boolean expected = bruteForceContains(password.toLowerCase(), displayName.toLowerCase());
+            boolean actual;
+            try {
+                PasswordValidator.validatePasswordAgainstDisplayName(password, displayName);
+                actual = false;
+            } catch (IllegalArgumentException e) {
+                actual = true;
+            }
+            assertEquals(expected, actual, "password=" + password + ", displayName=" + displayName);
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(maxLength);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static boolean bruteForceContains(String lowerPassword, String lowerOther) {
+        if (lowerPassword.contains(lowerOther)) {
+            return true;
+        }
+        for (int i = 0; i <= lowerOther.length() - 3; i++) {
+            for (int j = i + 3; j <= lowerOther.length(); j++) {
+                if (lowerPassword.contains(lowerOther.substring(i, j))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file